@@ -1,12 +1,13 @@
 //******************************************************************************
-// Copyright (C) 2019-2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2019-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Sun Mar  1 18:41:48 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:15 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
 // 20190203 [weaver]:	Original file.
 // 20200228 [weaver]:	Added property and save methods.
+// 20261018 [rees0012]:	Dispatched updates only to subscribed panes.
 //
 //******************************************************************************
 //
@@ -16,7 +17,7 @@ package edu.ou.cs.hci.assignment.prototypee;
 
 //import java.lang.*;
 import java.io.File;
-import java.util.ArrayList;
+import java.util.*;
 
 //******************************************************************************
 
@@ -38,6 +39,13 @@ public final class Controller
 	// Where the data is shown; can be in multiple places.
 	private final ArrayList<View>	views;
 
+	// Who receives updates for which keys, in the order they subscribed
+	private final LinkedHashMap<Subscriber, String[]>	subscriptions;
+
+	// Subscribers for each key updated so far; cleared when subscriptions
+	// change, then refilled as keys are updated again
+	private final HashMap<String, Subscriber[]>		dispatch;
+
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
@@ -45,6 +53,9 @@ public final class Controller
 	public Controller()
 	{
 		this.views = new ArrayList<View>();
+
+		subscriptions = new LinkedHashMap<Subscriber, String[]>();
+		dispatch = new HashMap<String, Subscriber[]>();
 	}
 
 	//**********************************************************************
@@ -56,23 +67,42 @@ public final class Controller
 		this.model = model;
 	}
 
-	// Pass updates from the model on to all the views.
+	// Pass updates from the model on to the subscribers to the key.
 	public void	update(String key, Object value)
 	{
 		//System.out.println("controller: update " + key + " to " + value);
 
-		for (View v : views)
-			v.update(key, value);
+		for (Subscriber s : getSubscribers(key))
+			s.update(key, value);
 	}
 
-	// Pass updates from the model on to all the views.
+	// Pass updates from the model on to the subscribers to the key.
 	public void	updateProperty(String key, Object newValue, Object oldValue)
 	{
 		//System.out.println("controller: update " + key + " to " + newValue +
 		//				   " from " + oldValue);
 
-		for (View v : views)
-			v.updateProperty(key, newValue, oldValue);
+		for (Subscriber s : getSubscribers(key))
+			s.updateProperty(key, newValue, oldValue);
+	}
+
+	//**********************************************************************
+	// Public Methods (Subscribers)
+	//**********************************************************************
+
+	// Each topic is a key ("movie"), a prefix of keys ("movie.summary.*"
+	// matches "movie.summary.caret" but not "movie.summary"), or all keys
+	// ("*"). Subscribing again replaces the subscriber's topics.
+	public void	subscribe(Subscriber subscriber, String... topics)
+	{
+		subscriptions.put(subscriber, topics.clone());
+		dispatch.clear();
+	}
+
+	public void	unsubscribe(Subscriber subscriber)
+	{
+		subscriptions.remove(subscriber);
+		dispatch.clear();
 	}
 
 	//**********************************************************************
@@ -143,6 +173,49 @@ public final class Controller
 
 		model.save(file);
 	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private Subscriber[]	getSubscribers(String key)
+	{
+		Subscriber[]	subscribers = dispatch.get(key);
+
+		if (subscribers == null)
+		{
+			ArrayList<Subscriber>	list = new ArrayList<Subscriber>();
+
+			for (Map.Entry<Subscriber, String[]> entry :
+					 subscriptions.entrySet())
+				for (String topic : entry.getValue())
+					if (matches(topic, key))
+					{
+						list.add(entry.getKey());
+						break;
+					}
+
+			subscribers = list.toArray(new Subscriber[list.size()]);
+			dispatch.put(key, subscribers);
+		}
+
+		return subscribers;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static boolean	matches(String topic, String key)
+	{
+		if ("*".equals(topic))
+			return true;
+
+		if (topic.endsWith(".*"))
+			return key.startsWith(topic.substring(0, topic.length() - 1));
+
+		return topic.equals(key);
+	}
 }
 
 //******************************************************************************
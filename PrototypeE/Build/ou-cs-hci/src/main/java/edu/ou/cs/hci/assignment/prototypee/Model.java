@@ -1,7 +1,7 @@
 //******************************************************************************
-// Copyright (C) 2019-2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2019-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Fri Feb 14 12:13:47 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:14 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
@@ -9,6 +9,12 @@
 // 20190220 [weaver]:	Adapted from swingmvc to fxmvc.
 // 20200212 [weaver]:	Overhauled for new PrototypeB in Spring 2020.
 // 20200228 [weaver]:	Added observables for new Prototype C in Spring 2020.
+// 20261018 [rees0012]:	Streamed collection files into movies in chunks.
+// 20261018 [rees0012]:	Loaded collection files on a background task.
+// 20261018 [rees0012]:	Read local files through memory-mapped windows.
+// 20261018 [rees0012]:	Loaded and saved binary .mvc collection files.
+// 20261018 [rees0012]:	Kept loaded movies in a MovieStore.
+// 20261018 [rees0012]:	Coalesced updates and dispatched them per pulse.
 //
 //******************************************************************************
 //
@@ -20,11 +26,15 @@ package edu.ou.cs.hci.assignment.prototypee;
 import java.io.*;
 import java.net.MalformedURLException;
 import java.util.*;
+import java.util.concurrent.*;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.beans.property.*;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.*;
+import edu.ou.cs.hci.assignment.prototypee.data.MovieColumnFile;
+import edu.ou.cs.hci.assignment.prototypee.data.MovieLoadTask;
 import edu.ou.cs.hci.resources.Resources;
 
 //******************************************************************************
@@ -37,6 +47,17 @@ import edu.ou.cs.hci.resources.Resources;
  */
 public final class Model
 {
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Time allowed per pulse for adding loaded movies to the collection
+	private static final long	LOAD_BUDGET = 4000000L;	// Nanoseconds
+
+	// Collection files are parsed in the background, one at a time
+	private static final ExecutorService	LOAD_EXECUTOR =
+		Executors.newSingleThreadExecutor(Model::createLoadThread);
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -50,6 +71,15 @@ public final class Model
 	// Add an ObservableMap to store a set of observable objects.
 	private final HashMap<String, Observable>	observables;
 
+	// Adds movies from the collection file being loaded, if any
+	private Loader								loader;
+
+	// Changes waiting to be applied and sent out at the next pulse
+	private final LinkedHashMap<String, Object>	pendingValues;
+	private final ArrayList<PropertyUpdater>	pendingUpdaters;
+	private final Dispatcher					dispatcher;
+	private boolean								dispatching;
+
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
@@ -58,6 +88,10 @@ public final class Model
 	{
 		this.controller = controller;
 
+		pendingValues = new LinkedHashMap<String, Object>();
+		pendingUpdaters = new ArrayList<PropertyUpdater>();
+		dispatcher = new Dispatcher();
+
 		// Create the parameters accessed and/or modified by controls. These are
 		// old properties carried over from the implementation of Prototype B.
 		properties = new HashMap<String, Object>();
@@ -102,6 +136,10 @@ public final class Model
 		properties.put("movie.comments.anchor",		0);
 		properties.put("movie.summary.caret",			0);
 		properties.put("movie.comments.caret",			0);
+
+		// Add parameters that report on loading of the collection file
+		properties.put("load.progress",				1.0);
+		properties.put("load.status",					"");
 	}
 
 	private void	addObservables()
@@ -143,10 +181,11 @@ public final class Model
 		// List of movie objects. Loaded from a CSV file at a fixed resource
 		// path, until the collectionFile property is set to a user-chosen file.
 		List<List<String>>		md = Resources.getCSVData("data/movies.csv");
+		MovieStore				ms = new MovieStore();
 		List<Movie>			ma = new ArrayList<Movie>();
 
 		for (List<String> item : md)
-			ma.add(new Movie(item));
+			ma.add(new Movie(ms, ms.add(item)));
 
 		ObservableList<Movie>		ml = FXCollections.observableArrayList(ma);
 		SimpleListProperty<Movie>	mp = new SimpleListProperty<Movie>(ml);
@@ -168,31 +207,29 @@ public final class Model
 	// Public Methods (Property Change Handlers)
 	//**********************************************************************
 
-	// This method is called whenever the value of the 'file' changes. From the
-	// named file, it loads movie CSV data, creates Movie objects, puts them in
-	// a list, and updates 'movies' and 'movie' so the first Movie is selected.
+	// This method is called whenever the value of the 'file' changes. The
+	// named file is parsed into Movie objects in the background. The first
+	// chunk of them becomes a new 'movies' list (with its first Movie
+	// selected), and later chunks are added to that list on later pulses.
+	// Changing the file again cancels any load that is still in progress.
 	private void	load(ObservableValue<? extends File> observable,
 						 File oldValue, File newValue)
 	{
+		if (loader != null)		// Abandon any collection still loading
+			loader.cancel();
+
 		try
 		{
-			List<List<String>>		md;
+			MovieLoadTask	task;
 
-			if (newValue == null)
-				md = Resources.getCSVData("data/movies.csv");
+			if (newValue == null)	// Mapped read for files, stream otherwise
+				task = new MovieLoadTask(
+					Resources.getResource("data/movies.csv"), "movies.csv");
 			else
-				md = Resources.getCSVData(newValue.toURI().toURL());
-
-			List<Movie>			ma = new ArrayList<Movie>();
+				task = new MovieLoadTask(newValue);
 
-			for (List<String> item : md)
-				ma.add(new Movie(item));
-
-			ObservableList<Movie>	ml = FXCollections.observableArrayList(ma);
-
-			setPropertyValue("movie", null);
-			setPropertyValue("movies", ml);
-			setPropertyValue("movie", ((ml.size() > 0) ? ml.get(0) : null));
+			loader = new Loader(task);
+			loader.start();
 		}
 		catch (SecurityException ex)
 		{
@@ -213,20 +250,51 @@ public final class Model
 
 	// Saves the collection to a file, which becomes the new value of 'file'.
 	// This is an easy but not very safe way to support opening/saving of files.
+	// Files ending in .mvc are saved in the binary column format, others as CSV.
 	@SuppressWarnings("unchecked")
 	public void	save(File file)
 	{
 		List<Movie>		movies = (List<Movie>)getPropertyValue("movies");
-		List<List<String>>	data = new ArrayList<List<String>>();
 
-		for (Movie movie : movies)
-			data.add(movie.getAllAttributesAsStrings());
+		if (MovieColumnFile.isColumnFile(file))
+		{
+			try
+			{
+				MovieColumnFile.write(file, movies);
+			}
+			catch (IOException ex)
+			{
+				System.err.println("***Error saving data to file.***");
+				return;
+			}
+		}
+		else
+		{
+			List<List<String>>	data = new ArrayList<List<String>>();
+
+			for (Movie movie : movies)
+				data.add(movie.getAllAttributesAsStrings());
 
-		Resources.putCSVData(file, data);
+			Resources.putCSVData(file, data);
+		}
 
 		setValue("file", file);
 	}
 
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Loading happens on a daemon thread so it never keeps the app running.
+	private static Thread	createLoadThread(Runnable runnable)
+	{
+		Thread	thread = new Thread(runnable, "Collection Loader");
+
+		thread.setDaemon(true);
+
+		return thread;
+	}
+
 	//**********************************************************************
 	// Public Methods (Controller)
 	//**********************************************************************
@@ -236,16 +304,32 @@ public final class Model
 		return properties.get(key);
 	}
 
+	// Changes are held until the next pulse, keeping only the latest value
+	// for each key. A change that puts a key back to its current value before
+	// then cancels out, so nothing is sent for it.
 	public void	setValue(String key, Object value)
 	{
-		if (properties.containsKey(key) &&
-			properties.get(key).equals(value))
+		synchronized (pendingValues)
 		{
-			System.out.println("  model: value not changed");
-			return;
-		}
+			boolean	pending = pendingValues.containsKey(key);
+			Object		current = (pending ? pendingValues.get(key) :
+								   properties.get(key));
+
+			if ((pending || properties.containsKey(key)) &&
+				Objects.equals(current, value))
+			{
+				System.out.println("  model: value not changed");
+				return;
+			}
+
+			if (properties.containsKey(key) &&
+				Objects.equals(properties.get(key), value))
+				pendingValues.remove(key);
+			else
+				pendingValues.put(key, value);
 
-		Platform.runLater(new Updater(key, value));
+			schedule();
+		}
 	}
 
 	public void	trigger(String name)
@@ -262,43 +346,220 @@ public final class Model
 		return ((Property)observables.get(key)).getValue();
 	}
 
+	// Changes are held until the next pulse and sent out in order. Only
+	// repeated changes to the same key in a row are merged, because the order
+	// of changes to different keys matters (such as 'movie' and 'movies').
 	public void	setPropertyValue(String key, Object newValue)
 	{
 		if (!observables.containsKey(key))
 			return;
 
-		Object	oldValue = ((Property)observables.get(key)).getValue();
-
-		// Ignore when newValue == oldValue (including when both are null).
-		if ((oldValue == null) ? (newValue == null) : oldValue.equals(newValue))
+		synchronized (pendingValues)
 		{
-			System.out.println("  model: property value not changed");
-			return;
+			PropertyUpdater	last = null;
+			Object				oldValue =
+				((Property)observables.get(key)).getValue();
+
+			for (PropertyUpdater updater : pendingUpdaters)
+				if (updater.key.equals(key))
+					oldValue = updater.newValue;
+
+			if (!pendingUpdaters.isEmpty())
+				last = pendingUpdaters.get(pendingUpdaters.size() - 1);
+
+			// Ignore when newValue == oldValue (including when both are null).
+			if (Objects.equals(oldValue, newValue))
+			{
+				System.out.println("  model: property value not changed");
+				return;
+			}
+
+			if ((last != null) && last.key.equals(key))
+			{
+				if (Objects.equals(last.oldValue, newValue))
+					pendingUpdaters.remove(pendingUpdaters.size() - 1);
+				else
+					last.newValue = newValue;
+			}
+			else
+			{
+				pendingUpdaters.add(new PropertyUpdater(key, newValue,
+														oldValue));
+			}
+
+			schedule();
 		}
+	}
+
+	//**********************************************************************
+	// Private Methods (Updates)
+	//**********************************************************************
+
+	// Makes sure the dispatcher runs at the next pulse. Call while holding
+	// the lock on pendingValues.
+	private void	schedule()
+	{
+		if (dispatching)
+			return;
 
-		Platform.runLater(new PropertyUpdater(key, newValue, oldValue));
+		dispatching = true;
+
+		if (Platform.isFxApplicationThread())
+			dispatcher.start();
+		else
+			Platform.runLater(dispatcher::start);
 	}
 
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
 
-	private class Updater
-		implements Runnable
+	// Adds the movies parsed by a MovieLoadTask to the collection for up to
+	// LOAD_BUDGET in each pulse. The task does all of the reading and parsing
+	// on the load thread, so the application thread only publishes results.
+	private final class Loader
+		extends AnimationTimer
 	{
-		private final String	key;
-		private final Object	value;
+		private final MovieLoadTask			task;
+		private ObservableList<Movie>			movies;
 
-		public Updater(String key, Object value)
+		public Loader(MovieLoadTask task)
 		{
-			this.key = key;
-			this.value = value;
+			this.task = task;
+
+			task.progressProperty().addListener(this::changeProgress);
+			task.messageProperty().addListener(this::changeMessage);
+
+			LOAD_EXECUTOR.execute(task);
 		}
 
-		public void	run()
+		public void	handle(long now)
+		{
+			long			deadline = System.nanoTime() + LOAD_BUDGET;
+			boolean		done = task.isDone();	// Check before draining
+			List<Movie>	chunk = task.pollChunk();
+
+			while (chunk != null)
+			{
+				publish(chunk);
+
+				if (System.nanoTime() > deadline)
+					return;
+
+				chunk = task.pollChunk();
+			}
+
+			if (done)
+				finish();
+		}
+
+		public void	cancel()
+		{
+			task.cancel();
+			stop();
+			release();
+		}
+
+		private void	publish(List<Movie> chunk)
+		{
+			if (movies == null)		// First chunk replaces the collection
+			{
+				movies = FXCollections.observableArrayList(chunk);
+
+				setPropertyValue("movie", null);
+				setPropertyValue("movies", movies);
+				setPropertyValue("movie", ((movies.size() > 0) ?
+										   movies.get(0) : null));
+			}
+			else						// Later chunks add to the collection
+			{
+				movies.addAll(chunk);
+			}
+		}
+
+		private void	finish()
 		{
-			properties.put(key, value);
-			controller.update(key, value);
+			stop();
+			release();
+
+			try
+			{
+				task.get();			// Done, so rethrows any failure at once
+			}
+			catch (Exception ex)
+			{
+				System.err.println("***Error loading data from file.***");
+				setValue("load.status", "Error loading " + task.getName());
+				return;
+			}
+
+			if (movies == null)		// Empty file, so empty collection
+				publish(new ArrayList<Movie>());
+
+			setValue("load.progress", 1.0);
+			setValue("load.status", "Loaded " + movies.size() +
+					 " movies from " + task.getName());
+		}
+
+		private void	release()
+		{
+			if (loader == this)
+				loader = null;
+		}
+
+		// Reports progress, but only while this is still the current load.
+		private void	changeProgress(ObservableValue<? extends Number> observable,
+									   Number oldValue, Number newValue)
+		{
+			if (loader == this)
+				setValue("load.progress", newValue.doubleValue());
+		}
+
+		// Reports status, but only while this is still the current load.
+		private void	changeMessage(ObservableValue<? extends String> observable,
+									  String oldValue, String newValue)
+		{
+			if (loader == this)
+				setValue("load.status", newValue);
+		}
+	}
+
+	// Applies the changes made since the last pulse in one batch. All of the
+	// simple values are stored before any of them are sent to the controller,
+	// then the property changes are applied and sent in order. Changes made
+	// while sending wait for the next pulse. The dispatcher stops after a
+	// pulse with nothing to do, until the next change starts it again.
+	private final class Dispatcher
+		extends AnimationTimer
+	{
+		public void	handle(long now)
+		{
+			LinkedHashMap<String, Object>	values;
+			ArrayList<PropertyUpdater>		updaters;
+
+			synchronized (pendingValues)
+			{
+				if (pendingValues.isEmpty() && pendingUpdaters.isEmpty())
+				{
+					dispatching = false;
+					stop();
+					return;
+				}
+
+				values = new LinkedHashMap<String, Object>(pendingValues);
+				updaters = new ArrayList<PropertyUpdater>(pendingUpdaters);
+
+				pendingValues.clear();
+				pendingUpdaters.clear();
+			}
+
+			properties.putAll(values);
+
+			for (Map.Entry<String, Object> entry : values.entrySet())
+				controller.update(entry.getKey(), entry.getValue());
+
+			for (PropertyUpdater updater : updaters)
+				updater.run();
 		}
 	}
 
@@ -306,7 +567,7 @@ public final class Model
 		implements Runnable
 	{
 		private final String	key;
-		private final Object	newValue;
+		private Object			newValue;
 		private final Object	oldValue;
 
 		public PropertyUpdater(String key, Object newValue, Object oldValue)
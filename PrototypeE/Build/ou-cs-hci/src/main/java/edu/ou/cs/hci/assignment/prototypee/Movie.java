@@ -1,12 +1,17 @@
 //******************************************************************************
-// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2020-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Sun Mar  1 18:20:44 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:29 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
 // 20200212 [weaver]:	Original file.
 // 20200228 [weaver]:	Added alternative access methods.
+// 20261018 [rees0012]:	Added creating movies from mapped records.
+// 20261018 [rees0012]:	Added creating movies from decoded values.
+// 20261018 [rees0012]:	Made movies views of rows in a MovieStore.
+// 20261018 [rees0012]:	Created properties one at a time on first use.
+// 20261018 [rees0012]:	Shared poster images through a PosterCache.
 //
 //******************************************************************************
 //
@@ -15,18 +20,28 @@
 package edu.ou.cs.hci.assignment.prototypee;
 
 //import java.lang.*;
+import java.lang.ref.*;
 import java.util.*;
+import java.util.function.*;
 import javafx.beans.property.*;
 import javafx.scene.image.Image;
 
 //******************************************************************************
 
 /**
- * The <CODE>Movie</CODE> class manages the attributes of a movie as a set of
- * properties. The properties are created in the constructor. This differs from
- * the lazy creation of properties described in the TableView API (in the Person
- * class example), because we also use the properties to store the results of
- * parsing the inputs when the application starts.
+ * The <CODE>Movie</CODE> class is a view of the attributes of one movie, kept
+ * in a row of a MovieStore. Each attribute has a matching property of the
+ * corresponding type for use with TableViews and editors. Properties are
+ * created lazily, as described in the TableView API (in the Person class
+ * example). Each one is created the first time its xxxProperty() method is
+ * called, starting with the value in the store, and it writes changes through
+ * to the store. Until then the getters and setters work on the store directly.
+ * Most movies are only ever looked at through their getters, and only the
+ * selected movie has all of its properties observed, by the editors.
+ *
+ * Several movies can view the same row, such as the ones sorters make for a
+ * moment to read it. Once a movie has properties it listens to its store, so
+ * that its properties also hear about changes made through any other view.
  *
  * @author  Chris Weaver
  * @version %I%, %G%
@@ -34,254 +49,278 @@ import javafx.scene.image.Image;
 public final class Movie
 {
 	//**********************************************************************
-	// Private Members
+	// Private Class Members
 	//**********************************************************************
 
-	// Each attribute has a matching property of the corresponding type.
-
-	private final SimpleStringProperty		title;
-	private final SimpleStringProperty		image;
-
-	private final SimpleIntegerProperty	year;
-	private final SimpleStringProperty		rating;
-	private final SimpleIntegerProperty	runtime;
+	// Movies with properties, by store
+	private static final WeakHashMap<MovieStore, Views>	VIEWS =
+		new WeakHashMap<MovieStore, Views>();
 
-	private final SimpleBooleanProperty	awardPicture;
-	private final SimpleBooleanProperty	awardDirecting;
-	private final SimpleBooleanProperty	awardCinematography;
-	private final SimpleBooleanProperty	awardActing;
-
-	private final SimpleDoubleProperty		averageReviewScore;
-	private final SimpleIntegerProperty	numberOfReviews;
-	private final SimpleIntegerProperty	genre;
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
 
-	private final SimpleStringProperty		director;
-	private final SimpleBooleanProperty	isAnimated;
-	private final SimpleBooleanProperty	isColor;
+	private final MovieStore	store;		// Where attribute values are kept
+	private final int			row;		// Row of this movie in the store
 
-	private final SimpleStringProperty		summary;
-	private final SimpleStringProperty		comments;
+	// Properties of the attributes that have been asked for, by column number
+	// in the store. Null until the first one is asked for.
+	private Property<?>[]		properties;
 
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
 
-	public Movie(List<String> item)
+	public Movie(MovieStore store, int row)
 	{
-		// Each attribute value must be calculated from its string.
-
-		title = new SimpleStringProperty(item.get(0));
-		image = new SimpleStringProperty(item.get(1));
-
-		// DONE #1: Create properties for the other attributes. For non-string
-		// types, look for methods in the Boolean, Integer, and Double classes.
-
-		year = new SimpleIntegerProperty(Integer.parseInt(item.get(2)));
-		rating = new SimpleStringProperty(item.get(3));
-		runtime = new SimpleIntegerProperty(Integer.parseInt(item.get(4)));
-
-		awardPicture = new SimpleBooleanProperty(
-										Boolean.parseBoolean(item.get(5)));
-		awardDirecting = new SimpleBooleanProperty(
-										Boolean.parseBoolean(item.get(6)));
-		awardCinematography = new SimpleBooleanProperty(
-										Boolean.parseBoolean(item.get(7)));
-		awardActing = new SimpleBooleanProperty(
-										Boolean.parseBoolean(item.get(8)));
-
-		averageReviewScore = new SimpleDoubleProperty(
-										Double.parseDouble(item.get(9)));
-		numberOfReviews = new SimpleIntegerProperty(
-										Integer.parseInt(item.get(10)));
-		genre = new SimpleIntegerProperty(Integer.parseInt(item.get(11)));
-
-		director = new SimpleStringProperty(item.get(12));
-		isAnimated = new SimpleBooleanProperty(
-										Boolean.parseBoolean(item.get(13)));
-		isColor = new SimpleBooleanProperty(
-										Boolean.parseBoolean(item.get(14)));
-
-		summary = new SimpleStringProperty(item.get(15));
-		comments = new SimpleStringProperty(item.get(16));
+		this.store = store;
+		this.row = row;
+	}
 
-		// Hint for genres: An integer can be treated as a collection of
-		// independently set bits. See genre code in EditorPane for examples.
+	// Creates a movie in a new row of a store, from the strings in a CSV
+	// record.
+	public Movie(MovieStore store, List<String> item)
+	{
+		this(store, store.add(item));
 	}
 
 	//**********************************************************************
 	// Public Methods (Getters and Setters)
 	//**********************************************************************
 
-	// Each attribute has methods to access and modify its value.
+	public MovieStore	getStore()
+	{
+		return store;
+	}
+
+	public int	getRow()
+	{
+		return row;
+	}
+
+	// Each attribute has methods to access and modify its value. Values are
+	// read from the store. Changes go through the attribute's property if it
+	// has been created, so that anything observing it hears about them.
 
 	public String	getTitle()
 	{
-		return title.get();
+		return store.getTitle(row);
 	}
 
 	public void	setTitle(String v)
 	{
-		title.set(v);
+		if (hasProperty(MovieStore.TITLE))
+			titleProperty().set(v);
+		else
+			store.setTitle(row, v);
 	}
 
 	public String	getImage()
 	{
-		return image.get();
+		return store.getImage(row);
 	}
 
 	public void	setImage(String v)
 	{
-		image.set(v);
+		if (hasProperty(MovieStore.IMAGE))
+			imageProperty().set(v);
+		else
+			store.setImage(row, v);
 	}
 
 	public int	getYear()
 	{
-		return year.get();
+		return store.getYear(row);
 	}
 
 	public void	setYear(int v)
 	{
-		year.set(v);
+		if (hasProperty(MovieStore.YEAR))
+			yearProperty().set(v);
+		else
+			store.setYear(row, v);
 	}
 
 	public String	getRating()
 	{
-		return rating.get();
+		return store.getRating(row);
 	}
 
 	public void	setRating(String v)
 	{
-		rating.set(v);
+		if (hasProperty(MovieStore.RATING))
+			ratingProperty().set(v);
+		else
+			store.setRating(row, v);
 	}
 
 	public int	getRuntime()
 	{
-		return runtime.get();
+		return store.getRuntime(row);
 	}
 
 	public void	setRuntime(int v)
 	{
-		runtime.set(v);
+		if (hasProperty(MovieStore.RUNTIME))
+			runtimeProperty().set(v);
+		else
+			store.setRuntime(row, v);
 	}
 
 	public boolean	getAwardPicture()
 	{
-		return awardPicture.get();
+		return store.getAwardPicture(row);
 	}
 
 	public void	setAwardPicture(boolean v)
 	{
-		awardPicture.set(v);
+		if (hasProperty(MovieStore.AWARD_PICTURE))
+			awardPictureProperty().set(v);
+		else
+			store.setAwardPicture(row, v);
 	}
 
 	public boolean	getAwardDirecting()
 	{
-		return awardDirecting.get();
+		return store.getAwardDirecting(row);
 	}
 
 	public void	setAwardDirecting(boolean v)
 	{
-		awardDirecting.set(v);
+		if (hasProperty(MovieStore.AWARD_DIRECTING))
+			awardDirectingProperty().set(v);
+		else
+			store.setAwardDirecting(row, v);
 	}
 
 	public boolean	getAwardCinematography()
 	{
-		return awardCinematography.get();
+		return store.getAwardCinematography(row);
 	}
 
 	public void	setAwardCinematography(boolean v)
 	{
-		awardCinematography.set(v);
+		if (hasProperty(MovieStore.AWARD_CINEMATOGRAPHY))
+			awardCinematographyProperty().set(v);
+		else
+			store.setAwardCinematography(row, v);
 	}
 
 	public boolean	getAwardActing()
 	{
-		return awardActing.get();
+		return store.getAwardActing(row);
 	}
 
 	public void	setAwardActing(boolean v)
 	{
-		awardActing.set(v);
+		if (hasProperty(MovieStore.AWARD_ACTING))
+			awardActingProperty().set(v);
+		else
+			store.setAwardActing(row, v);
 	}
 
 	public double	getAverageReviewScore()
 	{
-		return averageReviewScore.get();
+		return store.getAverageReviewScore(row);
 	}
 
 	public void	setAverageReviewScore(double v)
 	{
-		averageReviewScore.set(v);
+		if (hasProperty(MovieStore.AVERAGE_REVIEW_SCORE))
+			averageReviewScoreProperty().set(v);
+		else
+			store.setAverageReviewScore(row, v);
 	}
 
 	public int	getNumberOfReviews()
 	{
-		return numberOfReviews.get();
+		return store.getNumberOfReviews(row);
 	}
 
 	public void	setNumberOfReviews(int v)
 	{
-		numberOfReviews.set(v);
+		if (hasProperty(MovieStore.NUMBER_OF_REVIEWS))
+			numberOfReviewsProperty().set(v);
+		else
+			store.setNumberOfReviews(row, v);
 	}
 
 	public int	getGenre()
 	{
-		return genre.get();
+		return store.getGenre(row);
 	}
 
 	public void	setGenre(int v)
 	{
-		genre.set(v);
+		if (hasProperty(MovieStore.GENRE))
+			genreProperty().set(v);
+		else
+			store.setGenre(row, v);
 	}
 
 	public String	getDirector()
 	{
-		return director.get();
+		return store.getDirector(row);
 	}
 
 	public void	setDirector(String v)
 	{
-		director.set(v);
+		if (hasProperty(MovieStore.DIRECTOR))
+			directorProperty().set(v);
+		else
+			store.setDirector(row, v);
 	}
 
 	public boolean	getIsAnimated()
 	{
-		return isAnimated.get();
+		return store.getIsAnimated(row);
 	}
 
 	public void	setIsAnimated(boolean v)
 	{
-		isAnimated.set(v);
+		if (hasProperty(MovieStore.IS_ANIMATED))
+			isAnimatedProperty().set(v);
+		else
+			store.setIsAnimated(row, v);
 	}
 
 	public boolean	getIsColor()
 	{
-		return isColor.get();
+		return store.getIsColor(row);
 	}
 
 	public void	setIsColor(boolean v)
 	{
-		isColor.set(v);
+		if (hasProperty(MovieStore.IS_COLOR))
+			isColorProperty().set(v);
+		else
+			store.setIsColor(row, v);
 	}
 
 	public String	getSummary()
 	{
-		return summary.get();
+		return store.getSummary(row);
 	}
 
 	public void	setSummary(String v)
 	{
-		summary.set(v);
+		if (hasProperty(MovieStore.SUMMARY))
+			summaryProperty().set(v);
+		else
+			store.setSummary(row, v);
 	}
 
 	public String	getComments()
 	{
-		return comments.get();
+		return store.getComments(row);
 	}
 
 	public void	setComments(String v)
 	{
-		comments.set(v);
+		if (hasProperty(MovieStore.COMMENTS))
+			commentsProperty().set(v);
+		else
+			store.setComments(row, v);
 	}
 
 	//**********************************************************************
@@ -290,87 +329,87 @@ public final class Movie
 
 	public StringProperty	titleProperty()
 	{
-		return title;
+		return (StringProperty)getProperty(MovieStore.TITLE);
 	}
 
 	public StringProperty	imageProperty()
 	{
-		return image;
+		return (StringProperty)getProperty(MovieStore.IMAGE);
 	}
 
 	public IntegerProperty	yearProperty()
 	{
-		return year;
+		return (IntegerProperty)getProperty(MovieStore.YEAR);
 	}
 
 	public StringProperty	ratingProperty()
 	{
-		return rating;
+		return (StringProperty)getProperty(MovieStore.RATING);
 	}
 
 	public IntegerProperty	runtimeProperty()
 	{
-		return runtime;
+		return (IntegerProperty)getProperty(MovieStore.RUNTIME);
 	}
 
 	public BooleanProperty	awardPictureProperty()
 	{
-		return awardPicture;
+		return (BooleanProperty)getProperty(MovieStore.AWARD_PICTURE);
 	}
 
 	public BooleanProperty	awardDirectingProperty()
 	{
-		return awardDirecting;
+		return (BooleanProperty)getProperty(MovieStore.AWARD_DIRECTING);
 	}
 
 	public BooleanProperty	awardCinematographyProperty()
 	{
-		return awardCinematography;
+		return (BooleanProperty)getProperty(MovieStore.AWARD_CINEMATOGRAPHY);
 	}
 
 	public BooleanProperty	awardActingProperty()
 	{
-		return awardActing;
+		return (BooleanProperty)getProperty(MovieStore.AWARD_ACTING);
 	}
 
 	public DoubleProperty	averageReviewScoreProperty()
 	{
-		return averageReviewScore;
+		return (DoubleProperty)getProperty(MovieStore.AVERAGE_REVIEW_SCORE);
 	}
 
 	public IntegerProperty	numberOfReviewsProperty()
 	{
-		return numberOfReviews;
+		return (IntegerProperty)getProperty(MovieStore.NUMBER_OF_REVIEWS);
 	}
 
 	public IntegerProperty	genreProperty()
 	{
-		return genre;
+		return (IntegerProperty)getProperty(MovieStore.GENRE);
 	}
 
 	public StringProperty	directorProperty()
 	{
-		return director;
+		return (StringProperty)getProperty(MovieStore.DIRECTOR);
 	}
 
 	public BooleanProperty	isAnimatedProperty()
 	{
-		return isAnimated;
+		return (BooleanProperty)getProperty(MovieStore.IS_ANIMATED);
 	}
 
 	public BooleanProperty	isColorProperty()
 	{
-		return isColor;
+		return (BooleanProperty)getProperty(MovieStore.IS_COLOR);
 	}
 
 	public StringProperty	summaryProperty()
 	{
-		return summary;
+		return (StringProperty)getProperty(MovieStore.SUMMARY);
 	}
 
 	public StringProperty	commentsProperty()
 	{
-		return comments;
+		return (StringProperty)getProperty(MovieStore.COMMENTS);
 	}
 
 	//**********************************************************************
@@ -380,11 +419,13 @@ public final class Movie
 	// Convenience method for loading and resizing movie poster images. Loads
 	// the image in the file named by the image property value, relative to the
 	// given path, and returns a version resized to the given width and height.
+	// Images are shared through the PosterCache.
 	public Image	getImageAsImage(String path, double width, double height)
 	{
 		try
 		{
-			return new Image(path + getImage(), width, height, false, true);
+			return PosterCache.getInstance().getImage(path + getImage(),
+													 width, height);
 		}
 		catch (Exception ex)
 		{
@@ -441,6 +482,297 @@ public final class Movie
 
 		return list;
 	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private boolean	hasProperty(int column)
+	{
+		return ((properties != null) && (properties[column] != null));
+	}
+
+	private Property<?>	getProperty(int column)
+	{
+		if (properties == null)
+		{
+			properties = new Property<?>[MovieStore.COLUMNS];
+			watch();
+		}
+
+		if (properties[column] == null)
+			properties[column] = createProperty(column);
+
+		return properties[column];
+	}
+
+	// Registers this movie to hear about changes to its row in its store.
+	private void	watch()
+	{
+		synchronized (VIEWS)
+		{
+			Views	views = VIEWS.get(store);
+
+			if (views == null)
+			{
+				views = new Views();
+				VIEWS.put(store, views);
+				store.addListener(views);
+			}
+
+			views.add(this);
+		}
+	}
+
+	// Updates the property for a column, if there is one, to the value in
+	// the store. The property writes the value back, which does nothing,
+	// since it is the same.
+	@SuppressWarnings("unchecked")
+	private void	update(int column)
+	{
+		if (hasProperty(column))
+			((Property<Object>)properties[column]).setValue(getValue(column));
+	}
+
+	private Object	getValue(int column)
+	{
+		switch (column)
+		{
+			case MovieStore.TITLE:					return getTitle();
+			case MovieStore.IMAGE:					return getImage();
+			case MovieStore.YEAR:					return getYear();
+			case MovieStore.RATING:				return getRating();
+			case MovieStore.RUNTIME:				return getRuntime();
+			case MovieStore.AWARD_PICTURE:			return getAwardPicture();
+			case MovieStore.AWARD_DIRECTING:		return getAwardDirecting();
+			case MovieStore.AWARD_CINEMATOGRAPHY:	return getAwardCinematography();
+			case MovieStore.AWARD_ACTING:			return getAwardActing();
+			case MovieStore.AVERAGE_REVIEW_SCORE:	return getAverageReviewScore();
+			case MovieStore.NUMBER_OF_REVIEWS:		return getNumberOfReviews();
+			case MovieStore.GENRE:					return getGenre();
+			case MovieStore.DIRECTOR:				return getDirector();
+			case MovieStore.IS_ANIMATED:			return getIsAnimated();
+			case MovieStore.IS_COLOR:				return getIsColor();
+			case MovieStore.SUMMARY:				return getSummary();
+			case MovieStore.COMMENTS:				return getComments();
+
+			default:
+				throw new IllegalArgumentException("No column " + column);
+		}
+	}
+
+	// Creates the property for a column, starting with the value in the
+	// store. Changes to the property are written back to the store.
+	private Property<?>	createProperty(int column)
+	{
+		switch (column)
+		{
+			case MovieStore.TITLE:
+				return createStringProperty("title", store.getTitle(row),
+					v -> store.setTitle(row, v));
+
+			case MovieStore.IMAGE:
+				return createStringProperty("image", store.getImage(row),
+					v -> store.setImage(row, v));
+
+			case MovieStore.YEAR:
+				return createIntegerProperty("year", store.getYear(row),
+					v -> store.setYear(row, v));
+
+			case MovieStore.RATING:
+				return createStringProperty("rating", store.getRating(row),
+					v -> store.setRating(row, v));
+
+			case MovieStore.RUNTIME:
+				return createIntegerProperty("runtime", store.getRuntime(row),
+					v -> store.setRuntime(row, v));
+
+			case MovieStore.AWARD_PICTURE:
+				return createBooleanProperty("awardPicture",
+					store.getAwardPicture(row),
+					v -> store.setAwardPicture(row, v));
+
+			case MovieStore.AWARD_DIRECTING:
+				return createBooleanProperty("awardDirecting",
+					store.getAwardDirecting(row),
+					v -> store.setAwardDirecting(row, v));
+
+			case MovieStore.AWARD_CINEMATOGRAPHY:
+				return createBooleanProperty("awardCinematography",
+					store.getAwardCinematography(row),
+					v -> store.setAwardCinematography(row, v));
+
+			case MovieStore.AWARD_ACTING:
+				return createBooleanProperty("awardActing",
+					store.getAwardActing(row),
+					v -> store.setAwardActing(row, v));
+
+			case MovieStore.AVERAGE_REVIEW_SCORE:
+				return createDoubleProperty("averageReviewScore",
+					store.getAverageReviewScore(row),
+					v -> store.setAverageReviewScore(row, v));
+
+			case MovieStore.NUMBER_OF_REVIEWS:
+				return createIntegerProperty("numberOfReviews",
+					store.getNumberOfReviews(row),
+					v -> store.setNumberOfReviews(row, v));
+
+			case MovieStore.GENRE:
+				return createIntegerProperty("genre", store.getGenre(row),
+					v -> store.setGenre(row, v));
+
+			case MovieStore.DIRECTOR:
+				return createStringProperty("director", store.getDirector(row),
+					v -> store.setDirector(row, v));
+
+			case MovieStore.IS_ANIMATED:
+				return createBooleanProperty("isAnimated",
+					store.getIsAnimated(row),
+					v -> store.setIsAnimated(row, v));
+
+			case MovieStore.IS_COLOR:
+				return createBooleanProperty("isColor", store.getIsColor(row),
+					v -> store.setIsColor(row, v));
+
+			case MovieStore.SUMMARY:
+				return createStringProperty("summary", store.getSummary(row),
+					v -> store.setSummary(row, v));
+
+			case MovieStore.COMMENTS:
+				return createStringProperty("comments", store.getComments(row),
+					v -> store.setComments(row, v));
+
+			default:
+				throw new IllegalArgumentException("No column " + column);
+		}
+	}
+
+	private StringProperty	createStringProperty(String name, String value,
+												 Consumer<String> setter)
+	{
+		SimpleStringProperty	property =
+			new SimpleStringProperty(this, name, value);
+
+		property.addListener((o, ov, nv) -> setter.accept(nv));
+
+		return property;
+	}
+
+	private IntegerProperty	createIntegerProperty(String name, int value,
+												  IntConsumer setter)
+	{
+		SimpleIntegerProperty	property =
+			new SimpleIntegerProperty(this, name, value);
+
+		property.addListener((o, ov, nv) -> setter.accept(nv.intValue()));
+
+		return property;
+	}
+
+	private DoubleProperty	createDoubleProperty(String name, double value,
+												 DoubleConsumer setter)
+	{
+		SimpleDoubleProperty	property =
+			new SimpleDoubleProperty(this, name, value);
+
+		property.addListener((o, ov, nv) -> setter.accept(nv.doubleValue()));
+
+		return property;
+	}
+
+	private BooleanProperty	createBooleanProperty(String name, boolean value,
+												  Consumer<Boolean> setter)
+	{
+		SimpleBooleanProperty	property =
+			new SimpleBooleanProperty(this, name, value);
+
+		property.addListener((o, ov, nv) -> setter.accept(nv));
+
+		return property;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The movies with properties that view the rows of a store. Tells them
+	// about each change to their row, however it was made. Movies are held
+	// weakly, and forgotten once they have been collected.
+	private static final class Views
+		implements MovieStore.Listener
+	{
+		private final HashMap<Integer, ArrayList<View>>	rows =
+			new HashMap<Integer, ArrayList<View>>();
+		private final ReferenceQueue<Movie>				queue =
+			new ReferenceQueue<Movie>();
+
+		public void	add(Movie movie)
+		{
+			expunge();
+
+			ArrayList<View>	list = rows.get(movie.row);
+
+			if (list == null)
+			{
+				list = new ArrayList<View>(1);
+				rows.put(movie.row, list);
+			}
+
+			list.add(new View(movie, queue));
+		}
+
+		public void	changed(MovieStore store, int row, int column,
+							Object oldValue)
+		{
+			ArrayList<Movie>	movies = new ArrayList<Movie>();
+
+			synchronized (VIEWS)
+			{
+				expunge();
+
+				ArrayList<View>	list = rows.get(row);
+
+				if (list != null)
+					for (View view : list)
+						if (view.get() != null)
+							movies.add(view.get());
+			}
+
+			for (Movie movie : movies)
+				movie.update(column);
+		}
+
+		private void	expunge()
+		{
+			for (Reference<? extends Movie> r; (r = queue.poll()) != null; )
+			{
+				View			view = (View)r;
+				ArrayList<View>	list = rows.get(view.row);
+
+				if (list != null)
+				{
+					list.remove(view);
+
+					if (list.isEmpty())
+						rows.remove(view.row);
+				}
+			}
+		}
+	}
+
+	// A weak reference to a movie that remembers its row.
+	private static final class View
+		extends WeakReference<Movie>
+	{
+		private final int	row;
+
+		public View(Movie movie, ReferenceQueue<Movie> queue)
+		{
+			super(movie, queue);
+
+			row = movie.row;
+		}
+	}
 }
 
 //******************************************************************************
@@ -0,0 +1,1098 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:19 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+//import java.lang.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import edu.ou.cs.hci.assignment.prototypee.data.MappedCSVReader;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MovieStore</CODE> class keeps the attributes of a collection of
+ * movies in columns of primitive values, one row per movie. Numbers are kept
+ * in int and double arrays, the six flags in bitsets, ratings and directors as
+ * codes into a pool of their distinct values, and other text as UTF-8 bytes.
+ * Each Movie is a small view of one row.
+ *
+ * Columns are split into pages that are allocated whole and never move or
+ * grow, and the tables of pages are replaced rather than changed when a page
+ * is added. Rows are published by the row count, which is written after the
+ * rest of a row, so rows can be appended by a loading thread while the JavaFX
+ * application thread reads rows below the count it has seen. Appends and
+ * changes are synchronized; reads are not, and a read that races with a
+ * change sees either the old value or the new one. Listeners hear about
+ * changes to rows, but not about appends, and hear about them after the
+ * store's lock has been released.
+ *
+ * Text that is changed is appended to the pool again. The old bytes stay put
+ * until the store is discarded, which is fine for the few edits people make.
+ *
+ * @version %I%, %G%
+ */
+public final class MovieStore
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Column numbers, in the order of the fields in collection CSV files
+	public static final int	TITLE = 0;
+	public static final int	IMAGE = 1;
+	public static final int	YEAR = 2;
+	public static final int	RATING = 3;
+	public static final int	RUNTIME = 4;
+	public static final int	AWARD_PICTURE = 5;
+	public static final int	AWARD_DIRECTING = 6;
+	public static final int	AWARD_CINEMATOGRAPHY = 7;
+	public static final int	AWARD_ACTING = 8;
+	public static final int	AVERAGE_REVIEW_SCORE = 9;
+	public static final int	NUMBER_OF_REVIEWS = 10;
+	public static final int	GENRE = 11;
+	public static final int	DIRECTOR = 12;
+	public static final int	IS_ANIMATED = 13;
+	public static final int	IS_COLOR = 14;
+	public static final int	SUMMARY = 15;
+	public static final int	COMMENTS = 16;
+
+	public static final int	COLUMNS = 17;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	SHIFT = 12;				// Rows per page
+	private static final int	PAGE = 1 << SHIFT;
+	private static final int	MASK = PAGE - 1;
+	private static final int	FIRST = 16;				// Pooled values at first
+
+	private static final int	TEXT_SHIFT = 20;		// Bytes per text page...
+	private static final int	TEXT_PAGE = 1 << TEXT_SHIFT;
+	private static final int	TEXT_MASK = TEXT_PAGE - 1;
+	private static final int	TEXT_FIRST = 256;		// ...at first
+	private static final int	TEXT_PAGES = 1 << (32 - TEXT_SHIFT);
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final TextColumn		title;
+	private final TextColumn		image;
+
+	private final IntColumn		year;
+	private final CodeColumn		rating;
+	private final IntColumn		runtime;
+
+	private final FlagColumn		awardPicture;
+	private final FlagColumn		awardDirecting;
+	private final FlagColumn		awardCinematography;
+	private final FlagColumn		awardActing;
+
+	private final DoubleColumn		averageReviewScore;
+	private final IntColumn		numberOfReviews;
+	private final IntColumn		genre;
+
+	private final CodeColumn		director;
+	private final FlagColumn		isAnimated;
+	private final FlagColumn		isColor;
+
+	private final TextColumn		summary;
+	private final TextColumn		comments;
+
+	private volatile ArrayList<Listener>	listeners;
+	private volatile int					size;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public MovieStore()
+	{
+		title = new TextColumn();
+		image = new TextColumn();
+
+		year = new IntColumn();
+		rating = new CodeColumn();
+		runtime = new IntColumn();
+
+		awardPicture = new FlagColumn();
+		awardDirecting = new FlagColumn();
+		awardCinematography = new FlagColumn();
+		awardActing = new FlagColumn();
+
+		averageReviewScore = new DoubleColumn();
+		numberOfReviews = new IntColumn();
+		genre = new IntColumn();
+
+		director = new CodeColumn();
+		isAnimated = new FlagColumn();
+		isColor = new FlagColumn();
+
+		summary = new TextColumn();
+		comments = new TextColumn();
+
+		listeners = new ArrayList<Listener>();
+	}
+
+	//**********************************************************************
+	// Public Methods (Rows)
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	// Appends a row from the string values of the fields in a CSV record.
+	// Returns the number of the new row.
+	public synchronized int	add(List<String> item)
+	{
+		return add(item.get(0), item.get(1),
+				   Integer.parseInt(item.get(2)),
+				   item.get(3),
+				   Integer.parseInt(item.get(4)),
+				   Boolean.parseBoolean(item.get(5)),
+				   Boolean.parseBoolean(item.get(6)),
+				   Boolean.parseBoolean(item.get(7)),
+				   Boolean.parseBoolean(item.get(8)),
+				   Double.parseDouble(item.get(9)),
+				   Integer.parseInt(item.get(10)),
+				   Integer.parseInt(item.get(11)),
+				   item.get(12),
+				   Boolean.parseBoolean(item.get(13)),
+				   Boolean.parseBoolean(item.get(14)),
+				   item.get(15), item.get(16));
+	}
+
+	// Appends a row from the current record of a mapped file. Non-string
+	// values are parsed straight from the file's bytes.
+	public synchronized int	add(MappedCSVReader item)
+	{
+		return add(item.getString(0), item.getString(1),
+				   item.getInt(2),
+				   item.getString(3),
+				   item.getInt(4),
+				   item.getBoolean(5),
+				   item.getBoolean(6),
+				   item.getBoolean(7),
+				   item.getBoolean(8),
+				   item.getDouble(9),
+				   item.getInt(10),
+				   item.getInt(11),
+				   item.getString(12),
+				   item.getBoolean(13),
+				   item.getBoolean(14),
+				   item.getString(15), item.getString(16));
+	}
+
+	// Appends a row from values that have already been decoded.
+	public synchronized int	add(String title, String image, int year,
+									String rating, int runtime,
+									boolean awardPicture,
+									boolean awardDirecting,
+									boolean awardCinematography,
+									boolean awardActing,
+									double averageReviewScore,
+									int numberOfReviews, int genre,
+									String director, boolean isAnimated,
+									boolean isColor, String summary,
+									String comments)
+	{
+		int	row = size;
+
+		this.title.add(row, title);
+		this.image.add(row, image);
+
+		this.year.add(row, year);
+		this.rating.add(row, rating);
+		this.runtime.add(row, runtime);
+
+		this.awardPicture.add(row, awardPicture);
+		this.awardDirecting.add(row, awardDirecting);
+		this.awardCinematography.add(row, awardCinematography);
+		this.awardActing.add(row, awardActing);
+
+		this.averageReviewScore.add(row, averageReviewScore);
+		this.numberOfReviews.add(row, numberOfReviews);
+		this.genre.add(row, genre);
+
+		this.director.add(row, director);
+		this.isAnimated.add(row, isAnimated);
+		this.isColor.add(row, isColor);
+
+		this.summary.add(row, summary);
+		this.comments.add(row, comments);
+
+		size = row + 1;
+
+		return row;
+	}
+
+	// Appends all the rows of another store, such as one filled by a
+	// worker thread with one segment of a file. Columns are copied a page at
+	// a time, and text as the bytes in its pool, so nothing is decoded. Only
+	// the rows the other store had when this started are appended.
+	public synchronized void	addAll(MovieStore other)
+	{
+		int	row = size;
+		int	n = other.size();					// Before reading columns
+
+		title.addAll(row, other.title, n);
+		image.addAll(row, other.image, n);
+
+		year.addAll(row, other.year, n);
+		rating.addAll(row, other.rating, n);
+		runtime.addAll(row, other.runtime, n);
+
+		awardPicture.addAll(row, other.awardPicture, n);
+		awardDirecting.addAll(row, other.awardDirecting, n);
+		awardCinematography.addAll(row, other.awardCinematography, n);
+		awardActing.addAll(row, other.awardActing, n);
+
+		averageReviewScore.addAll(row, other.averageReviewScore, n);
+		numberOfReviews.addAll(row, other.numberOfReviews, n);
+		genre.addAll(row, other.genre, n);
+
+		director.addAll(row, other.director, n);
+		isAnimated.addAll(row, other.isAnimated, n);
+		isColor.addAll(row, other.isColor, n);
+
+		summary.addAll(row, other.summary, n);
+		comments.addAll(row, other.comments, n);
+
+		size = row + n;
+	}
+
+	//**********************************************************************
+	// Public Methods (Listeners)
+	//**********************************************************************
+
+	// The list of listeners is replaced rather than changed, so that changes
+	// can be fired from a copy without holding the store's lock.
+	public synchronized void	addListener(Listener listener)
+	{
+		ArrayList<Listener>	list = new ArrayList<Listener>(listeners);
+
+		list.add(listener);
+		listeners = list;
+	}
+
+	public synchronized void	removeListener(Listener listener)
+	{
+		ArrayList<Listener>	list = new ArrayList<Listener>(listeners);
+
+		list.remove(listener);
+		listeners = list;
+	}
+
+	//**********************************************************************
+	// Public Methods (Getters and Setters)
+	//**********************************************************************
+
+	public String	getTitle(int row)
+	{
+		return title.get(row);
+	}
+
+	// Returns true if the title of a row contains a string, given as UTF-8
+	// bytes. Compares bytes in place, so titles aren't decoded to check them.
+	public boolean	titleContains(int row, byte[] s)
+	{
+		return title.contains(row, s);
+	}
+
+	public void	setTitle(int row, String v)
+	{
+		String	old;
+
+		synchronized (this)
+		{
+			old = title.get(row);
+
+			if (Objects.equals(old, v))
+				return;
+
+			title.set(row, v);
+		}
+
+		fireChanged(row, TITLE, old);
+	}
+
+	public String	getImage(int row)
+	{
+		return image.get(row);
+	}
+
+	public void	setImage(int row, String v)
+	{
+		String	old;
+
+		synchronized (this)
+		{
+			old = image.get(row);
+
+			if (Objects.equals(old, v))
+				return;
+
+			image.set(row, v);
+		}
+
+		fireChanged(row, IMAGE, old);
+	}
+
+	public int	getYear(int row)
+	{
+		return year.get(row);
+	}
+
+	public void	setYear(int row, int v)
+	{
+		int	old;
+
+		synchronized (this)
+		{
+			old = year.get(row);
+
+			if (old == v)
+				return;
+
+			year.set(row, v);
+		}
+
+		fireChanged(row, YEAR, old);
+	}
+
+	public String	getRating(int row)
+	{
+		return rating.get(row);
+	}
+
+	// Returns the code for the rating of a row. Rows with the same rating
+	// have the same code, so filters can compare codes instead of strings.
+	public int	getRatingCode(int row)
+	{
+		return rating.code(row);
+	}
+
+	// Returns the code for a rating, or -1 if no row has ever had it.
+	public synchronized int	getRatingCode(String v)
+	{
+		return rating.find(v);
+	}
+
+	public void	setRating(int row, String v)
+	{
+		String	old;
+
+		synchronized (this)
+		{
+			old = rating.get(row);
+
+			if (Objects.equals(old, v))
+				return;
+
+			rating.set(row, v);
+		}
+
+		fireChanged(row, RATING, old);
+	}
+
+	public int	getRuntime(int row)
+	{
+		return runtime.get(row);
+	}
+
+	public void	setRuntime(int row, int v)
+	{
+		int	old;
+
+		synchronized (this)
+		{
+			old = runtime.get(row);
+
+			if (old == v)
+				return;
+
+			runtime.set(row, v);
+		}
+
+		fireChanged(row, RUNTIME, old);
+	}
+
+	public boolean	getAwardPicture(int row)
+	{
+		return awardPicture.get(row);
+	}
+
+	public void	setAwardPicture(int row, boolean v)
+	{
+		setFlag(awardPicture, row, AWARD_PICTURE, v);
+	}
+
+	public boolean	getAwardDirecting(int row)
+	{
+		return awardDirecting.get(row);
+	}
+
+	public void	setAwardDirecting(int row, boolean v)
+	{
+		setFlag(awardDirecting, row, AWARD_DIRECTING, v);
+	}
+
+	public boolean	getAwardCinematography(int row)
+	{
+		return awardCinematography.get(row);
+	}
+
+	public void	setAwardCinematography(int row, boolean v)
+	{
+		setFlag(awardCinematography, row, AWARD_CINEMATOGRAPHY, v);
+	}
+
+	public boolean	getAwardActing(int row)
+	{
+		return awardActing.get(row);
+	}
+
+	public void	setAwardActing(int row, boolean v)
+	{
+		setFlag(awardActing, row, AWARD_ACTING, v);
+	}
+
+	public double	getAverageReviewScore(int row)
+	{
+		return averageReviewScore.get(row);
+	}
+
+	public void	setAverageReviewScore(int row, double v)
+	{
+		double	old;
+
+		synchronized (this)
+		{
+			old = averageReviewScore.get(row);
+
+			if (Double.compare(old, v) == 0)
+				return;
+
+			averageReviewScore.set(row, v);
+		}
+
+		fireChanged(row, AVERAGE_REVIEW_SCORE, old);
+	}
+
+	public int	getNumberOfReviews(int row)
+	{
+		return numberOfReviews.get(row);
+	}
+
+	public void	setNumberOfReviews(int row, int v)
+	{
+		int	old;
+
+		synchronized (this)
+		{
+			old = numberOfReviews.get(row);
+
+			if (old == v)
+				return;
+
+			numberOfReviews.set(row, v);
+		}
+
+		fireChanged(row, NUMBER_OF_REVIEWS, old);
+	}
+
+	public int	getGenre(int row)
+	{
+		return genre.get(row);
+	}
+
+	public void	setGenre(int row, int v)
+	{
+		int	old;
+
+		synchronized (this)
+		{
+			old = genre.get(row);
+
+			if (old == v)
+				return;
+
+			genre.set(row, v);
+		}
+
+		fireChanged(row, GENRE, old);
+	}
+
+	public String	getDirector(int row)
+	{
+		return director.get(row);
+	}
+
+	public void	setDirector(int row, String v)
+	{
+		String	old;
+
+		synchronized (this)
+		{
+			old = director.get(row);
+
+			if (Objects.equals(old, v))
+				return;
+
+			director.set(row, v);
+		}
+
+		fireChanged(row, DIRECTOR, old);
+	}
+
+	public boolean	getIsAnimated(int row)
+	{
+		return isAnimated.get(row);
+	}
+
+	public void	setIsAnimated(int row, boolean v)
+	{
+		setFlag(isAnimated, row, IS_ANIMATED, v);
+	}
+
+	public boolean	getIsColor(int row)
+	{
+		return isColor.get(row);
+	}
+
+	public void	setIsColor(int row, boolean v)
+	{
+		setFlag(isColor, row, IS_COLOR, v);
+	}
+
+	public String	getSummary(int row)
+	{
+		return summary.get(row);
+	}
+
+	public void	setSummary(int row, String v)
+	{
+		String	old;
+
+		synchronized (this)
+		{
+			old = summary.get(row);
+
+			if (Objects.equals(old, v))
+				return;
+
+			summary.set(row, v);
+		}
+
+		fireChanged(row, SUMMARY, old);
+	}
+
+	public String	getComments(int row)
+	{
+		return comments.get(row);
+	}
+
+	public void	setComments(int row, String v)
+	{
+		String	old;
+
+		synchronized (this)
+		{
+			old = comments.get(row);
+
+			if (Objects.equals(old, v))
+				return;
+
+			comments.set(row, v);
+		}
+
+		fireChanged(row, COMMENTS, old);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	setFlag(FlagColumn flags, int row, int column, boolean v)
+	{
+		boolean	old;
+
+		synchronized (this)
+		{
+			old = flags.get(row);
+
+			if (old == v)
+				return;
+
+			flags.set(row, v);
+		}
+
+		fireChanged(row, column, old);
+	}
+
+	// Tells listeners about a change after the store's lock is released, so
+	// that a listener can take its own locks, or call back into the store,
+	// without holding up appends and other changes.
+	private void	fireChanged(int row, int column, Object oldValue)
+	{
+		for (Listener listener : listeners)
+			listener.changed(this, row, column, oldValue);
+	}
+
+	//**********************************************************************
+	// Inner Interfaces
+	//**********************************************************************
+
+	// Hears about changes to the value in a row of a column of a store.
+	public interface Listener
+	{
+		public void	changed(MovieStore store, int row, int column,
+							Object oldValue);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Column of ints, in whole pages. A page never moves once it is made, and
+	// the table of pages is replaced rather than changed when a page is added,
+	// so readers always see a table whose pages hold every published row.
+	private static final class IntColumn
+	{
+		private volatile int[][]	pages = new int[0][];
+
+		public int	get(int row)
+		{
+			return pages[row >>> SHIFT][row & MASK];
+		}
+
+		public void	set(int row, int v)
+		{
+			pages[row >>> SHIFT][row & MASK] = v;
+		}
+
+		public void	add(int row, int v)
+		{
+			getPage(row >>> SHIFT)[row & MASK] = v;
+		}
+
+		// Appends the first n values of another column from a row on, in
+		// runs that don't cross a page in either column.
+		public void	addAll(int row, IntColumn other, int n)
+		{
+			int[][]	from = other.pages;
+
+			for (int k=0; k<n; )
+			{
+				int	r = row + k;
+				int	length = Math.min(n - k, PAGE - Math.max(r & MASK,
+															 k & MASK));
+
+				System.arraycopy(from[k >>> SHIFT], k & MASK,
+								 getPage(r >>> SHIFT), r & MASK, length);
+				k += length;
+			}
+		}
+
+		// Returns a page, adding it if it is the next one.
+		private int[]	getPage(int p)
+		{
+			int[][]	table = pages;
+
+			if (p == table.length)
+			{
+				table = Arrays.copyOf(table, p + 1);
+				table[p] = new int[PAGE];
+				pages = table;
+			}
+
+			return table[p];
+		}
+	}
+
+	// Column of doubles, paged the same way as IntColumn.
+	private static final class DoubleColumn
+	{
+		private volatile double[][]	pages = new double[0][];
+
+		public double	get(int row)
+		{
+			return pages[row >>> SHIFT][row & MASK];
+		}
+
+		public void	set(int row, double v)
+		{
+			pages[row >>> SHIFT][row & MASK] = v;
+		}
+
+		public void	add(int row, double v)
+		{
+			getPage(row >>> SHIFT)[row & MASK] = v;
+		}
+
+		public void	addAll(int row, DoubleColumn other, int n)
+		{
+			double[][]	from = other.pages;
+
+			for (int k=0; k<n; )
+			{
+				int	r = row + k;
+				int	length = Math.min(n - k, PAGE - Math.max(r & MASK,
+															 k & MASK));
+
+				System.arraycopy(from[k >>> SHIFT], k & MASK,
+								 getPage(r >>> SHIFT), r & MASK, length);
+				k += length;
+			}
+		}
+
+		private double[]	getPage(int p)
+		{
+			double[][]	table = pages;
+
+			if (p == table.length)
+			{
+				table = Arrays.copyOf(table, p + 1);
+				table[p] = new double[PAGE];
+				pages = table;
+			}
+
+			return table[p];
+		}
+	}
+
+	// Column of booleans, as pages of bitset words, paged the same way as
+	// IntColumn.
+	private static final class FlagColumn
+	{
+		private volatile long[][]	pages = new long[0][];
+
+		public boolean	get(int row)
+		{
+			return ((pages[row >>> SHIFT][(row & MASK) >>> 6] &
+					 (1L << row)) != 0L);
+		}
+
+		public void	set(int row, boolean v)
+		{
+			long[]	page = pages[row >>> SHIFT];
+			int	w = (row & MASK) >>> 6;
+
+			if (v)
+				page[w] |= (1L << row);
+			else
+				page[w] &= ~(1L << row);
+		}
+
+		public void	add(int row, boolean v)
+		{
+			long[][]	table = pages;
+			int			p = row >>> SHIFT;
+
+			if (p == table.length)
+			{
+				table = Arrays.copyOf(table, p + 1);
+				table[p] = new long[PAGE >>> 6];
+				pages = table;
+			}
+
+			set(row, v);
+		}
+
+		// Appends the first n flags of another column from a row on. Rows
+		// rarely line up with words, so flags are copied one at a time.
+		public void	addAll(int row, FlagColumn other, int n)
+		{
+			for (int k=0; k<n; k++)
+				add(row + k, other.get(k));
+		}
+	}
+
+	// Column of strings with few distinct values, kept as codes into a pool
+	// of those values. The pool is copied to a bigger array when it fills,
+	// and values are only ever added to the end of it, so readers see every
+	// value that a published row refers to. The index of the pool is only
+	// used while holding the store's lock.
+	private static final class CodeColumn
+	{
+		private final IntColumn					codes = new IntColumn();
+		private volatile String[]				values = new String[FIRST];
+		private int								count;	// Values in pool
+		private final HashMap<String, Integer>	index =
+			new HashMap<String, Integer>();
+
+		// Reads the pool after the code, since the pool is written first.
+		public String	get(int row)
+		{
+			int	code = codes.get(row);
+
+			return values[code];
+		}
+
+		public int	code(int row)
+		{
+			return codes.get(row);
+		}
+
+		public int	find(String v)
+		{
+			Integer	code = index.get(v);
+
+			return ((code != null) ? code : -1);
+		}
+
+		public void	set(int row, String v)
+		{
+			codes.set(row, encode(v));
+		}
+
+		public void	add(int row, String v)
+		{
+			codes.add(row, encode(v));
+		}
+
+		// Appends the first n values of another column from a row on, by
+		// pooling each of its values once and mapping its codes to ours.
+		public void	addAll(int row, CodeColumn other, int n)
+		{
+			String[]	pool = other.values;
+			int[]		map = new int[other.count];
+
+			for (int c=0; c<map.length; c++)
+				map[c] = encode(pool[c]);
+
+			for (int k=0; k<n; k++)
+				codes.add(row + k, map[other.codes.get(k)]);
+		}
+
+		private int	encode(String v)
+		{
+			Integer	code = index.get(v);
+
+			if (code == null)
+			{
+				String[]	pool = values;
+
+				if (count == pool.length)
+					pool = Arrays.copyOf(pool, 2 * count);
+
+				code = count++;
+				pool[code] = v;
+				values = pool;
+				index.put(v, code);
+			}
+
+			return code;
+		}
+	}
+
+	// Column of strings, kept as UTF-8 bytes in pages of a pool. Each row
+	// refers to a spot in the pool, given as a page number in its top bits
+	// and an offset in the page in its bottom bits. A string's bytes follow
+	// its length in the pool. Pages double in size up to a most, so a column
+	// with only a few strings stays small, and are never resized; a string
+	// that doesn't fit in the last page starts a new one. Strings too big for
+	// a page get their own page.
+	private static final class TextColumn
+	{
+		private final IntColumn		refs = new IntColumn();
+		private volatile byte[][]	pages = new byte[0][];
+		private int					used;		// Bytes used in last page
+
+		public String	get(int row)
+		{
+			int	ref = refs.get(row);
+
+			if (ref == -1)
+				return null;
+
+			byte[]	page = pages[ref >>> TEXT_SHIFT];
+			int	p = ref & TEXT_MASK;
+			int	length = 0;
+			int	shift = 0;
+			byte	b;
+
+			do
+			{
+				b = page[p++];
+				length |= (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while (b < 0);
+
+			return new String(page, p, length, StandardCharsets.UTF_8);
+		}
+
+		// UTF-8 never starts one character in the middle of another, so a
+		// match of the bytes is a match of the characters.
+		public boolean	contains(int row, byte[] s)
+		{
+			int	ref = refs.get(row);
+
+			if (ref == -1)
+				return false;
+
+			byte[]	page = pages[ref >>> TEXT_SHIFT];
+			int	p = ref & TEXT_MASK;
+			int	length = 0;
+			int	shift = 0;
+			byte	b;
+
+			do
+			{
+				b = page[p++];
+				length |= (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while (b < 0);
+
+			if (s.length == 0)
+				return true;
+
+			byte	first = s[0];
+			int	last = p + length - s.length;
+
+			for (int i=p; i<=last; i++)
+			{
+				if (page[i] != first)
+					continue;
+
+				int	j = 1;
+
+				while ((j < s.length) && (page[i + j] == s[j]))
+					j++;
+
+				if (j == s.length)
+					return true;
+			}
+
+			return false;
+		}
+
+		public void	set(int row, String v)
+		{
+			refs.set(row, encode(v));
+		}
+
+		public void	add(int row, String v)
+		{
+			refs.add(row, encode(v));
+		}
+
+		// Appends the strings of the first n rows of another column from a
+		// row on. Each of the other column's pages is copied whole into the
+		// last page of this one, or a new page if it doesn't fit, and the
+		// rows' spots are moved by where their page went. Strings never
+		// cross pages, so they stay whole.
+		public void	addAll(int row, TextColumn other, int n)
+		{
+			byte[][]	from = other.pages;
+			int[]		moved = new int[from.length];	// Spot of each page
+			byte[][]	table = pages;
+
+			for (int s=0; s<from.length; s++)
+			{
+				int	length = ((s == from.length - 1) ? other.used :
+							  from[s].length);
+
+				table = reserve(table, length);
+
+				int	count = table.length;
+
+				System.arraycopy(from[s], 0, table[count - 1], used, length);
+				moved[s] = ((count - 1) << TEXT_SHIFT) | used;
+				used += length;
+			}
+
+			// Publish the table after the bytes
+			pages = table;
+
+			for (int k=0; k<n; k++)
+			{
+				int	ref = other.refs.get(k);
+
+				if (ref != -1)
+					ref = moved[ref >>> TEXT_SHIFT] + (ref & TEXT_MASK);
+
+				refs.add(row + k, ref);
+			}
+		}
+
+		private int	encode(String v)
+		{
+			if (v == null)
+				return -1;
+
+			byte[]	bytes = v.getBytes(StandardCharsets.UTF_8);
+			int	need = bytes.length + 1;
+
+			for (int k=bytes.length>>>7; k>0; k>>>=7)
+				need++;
+
+			byte[][]	table = reserve(pages, need);
+			int			count = table.length;
+			byte[]		page = table[count - 1];
+			int			ref = ((count - 1) << TEXT_SHIFT) | used;
+			int			p = used;
+
+			for (int k=bytes.length; ; k>>>=7)
+			{
+				if (k < 0x80)
+				{
+					page[p++] = (byte)k;
+					break;
+				}
+
+				page[p++] = (byte)((k & 0x7F) | 0x80);
+			}
+
+			System.arraycopy(bytes, 0, page, p, bytes.length);
+
+			used += need;
+
+			// Publish the table after the bytes, even when it hasn't changed
+			pages = table;
+
+			return ref;
+		}
+
+		// Returns a table with room for a number of bytes after those used in
+		// its last page, which is the same table unless a page is added. A
+		// new page starts with none used.
+		private byte[][]	reserve(byte[][] table, int need)
+		{
+			int	count = table.length;
+
+			if ((count > 0) && (used + need <= table[count - 1].length))
+				return table;
+
+			if (count == TEXT_PAGES)
+				throw new IllegalStateException("Text column is full");
+
+			int	length = ((count == 0) ? TEXT_FIRST :
+						  Math.min(TEXT_PAGE, 2 * table[count - 1].length));
+
+			table = Arrays.copyOf(table, count + 1);
+			table[count] = new byte[Math.max(length, need)];
+			used = 0;
+
+			return table;
+		}
+	}
+}
+
+//******************************************************************************
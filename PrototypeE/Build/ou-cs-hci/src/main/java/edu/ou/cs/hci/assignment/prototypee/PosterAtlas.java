@@ -0,0 +1,289 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:32 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+//import java.lang.*;
+import java.nio.IntBuffer;
+import java.util.*;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PosterAtlas</CODE> class packs small posters of one size into a
+ * few large pages, so that thousands of table cells and cover flow items
+ * draw from a handful of textures instead of one each. Each poster gets a
+ * tile in a page, and an ImageView shows it by viewing that page through
+ * the tile's rectangle.
+ *
+ * Posters are written into their tile as they are decoded, so only the
+ * changed tile is uploaded again, such as when a movie's image changes.
+ * When all of the pages are full, the least recently shown poster's tile
+ * is given to the next one.
+ *
+ * Atlases are only used on the FX thread.
+ *
+ * @version %I%, %G%
+ */
+public final class PosterAtlas
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	PAGE = 1024;		// Page width and height
+	private static final int	PAGES = 8;			// Pages at most
+	private static final int	GUTTER = 1;			// Pixels between tiles
+
+	private static final WritablePixelFormat<IntBuffer>	FORMAT =
+		PixelFormat.getIntArgbPreInstance();
+
+	// Shared atlases, by size
+	private static final HashMap<String, PosterAtlas>	SHARED =
+		new HashMap<String, PosterAtlas>();
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int							width;		// Tile width
+	private final int							height;		// Tile height
+	private final int							columns;	// Tiles per row
+	private final int							capacity;	// Tiles per page
+
+	private final ArrayList<WritableImage>		pages;
+
+	// Tiles by poster, least to most recently shown, and tiles never used
+	private final LinkedHashMap<String, Tile>	tiles;
+	private int								next;
+
+	// The tile each view is showing
+	private final WeakHashMap<ImageView, Tile>	views;
+
+	// Reused for copying posters into tiles
+	private final int[]						buffer;
+
+	// Shown for posters that can't be decoded, so that a view is only ever
+	// empty when it has been hidden or has lost its tile
+	private final WritableImage				missing;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PosterAtlas(int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+
+		columns = PAGE / (width + GUTTER);
+		capacity = columns * (PAGE / (height + GUTTER));
+
+		pages = new ArrayList<WritableImage>();
+		tiles = new LinkedHashMap<String, Tile>(64, 0.75f, true);
+		views = new WeakHashMap<ImageView, Tile>();
+
+		buffer = new int[width * height];
+		missing = new WritableImage(width, height);
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns the atlas shared by all panes in all windows for a size.
+	public static PosterAtlas	getInstance(double width, double height)
+	{
+		int			w = (int)Math.round(width);
+		int			h = (int)Math.round(height);
+		String		key = w + "x" + h;
+		PosterAtlas	atlas = SHARED.get(key);
+
+		if (atlas == null)
+		{
+			atlas = new PosterAtlas(w, h);
+			SHARED.put(key, atlas);
+		}
+
+		return atlas;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getPageCount()
+	{
+		return pages.size();
+	}
+
+	public int	getTileCount()
+	{
+		return tiles.size();
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Shows the poster in a file in a view, at the atlas's size. If the atlas
+	// doesn't have it, the view shows a placeholder while the poster is
+	// decoded, and the returned request can be cancelled to stop waiting.
+	// If it can't be decoded, the view shows a transparent image instead.
+	public PosterLoader.Request	show(ImageView view, String url,
+									 int priority)
+	{
+		Tile	tile = tiles.get(url);
+
+		if (tile != null)
+		{
+			bind(view, tile);
+
+			return null;
+		}
+
+		PosterLoader	loader = PosterLoader.getInstance();
+		Image			placeholder = loader.getPlaceholder(width, height);
+
+		return loader.load(url, width, height, priority,
+						   image -> receive(view, url, image, placeholder));
+	}
+
+	// Stops showing a poster in a view.
+	public void	hide(ImageView view)
+	{
+		views.remove(view);
+
+		view.setImage(null);
+		view.setViewport(null);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	receive(ImageView view, String url, Image image,
+							Image placeholder)
+	{
+		if ((image == null) || (image == placeholder) || image.isError())
+		{
+			views.remove(view);
+
+			view.setImage((image == placeholder) ? placeholder : missing);
+			view.setViewport(null);
+		}
+		else
+		{
+			bind(view, put(url, image));
+		}
+	}
+
+	private void	bind(ImageView view, Tile tile)
+	{
+		views.put(view, tile);
+
+		view.setImage(pages.get(tile.page));
+		view.setViewport(tile.viewport);
+	}
+
+	// Copies a poster into a tile, taking the least recently shown poster's
+	// tile if all of the pages are full. Views showing that poster are
+	// cleared, and cells and items show it again when they find their view
+	// empty the next time they are updated. Views that were given a poster
+	// aren't emptied any other way.
+	private Tile	put(String url, Image image)
+	{
+		Tile	tile = tiles.get(url);
+
+		if (tile != null)
+			return tile;
+
+		if (next < PAGES * capacity)
+		{
+			tile = createTile(next++);
+		}
+		else
+		{
+			Iterator<Tile>	i = tiles.values().iterator();
+
+			tile = i.next();
+			i.remove();
+
+			for (Iterator<Map.Entry<ImageView, Tile>> j =
+					views.entrySet().iterator(); j.hasNext(); )
+			{
+				Map.Entry<ImageView, Tile>	entry = j.next();
+
+				if (entry.getValue() == tile)
+				{
+					entry.getKey().setImage(null);
+					entry.getKey().setViewport(null);
+					j.remove();
+				}
+			}
+		}
+
+		int	w = Math.min(width, (int)image.getWidth());
+		int	h = Math.min(height, (int)image.getHeight());
+
+		Arrays.fill(buffer, 0);
+		image.getPixelReader().getPixels(0, 0, w, h, FORMAT,
+										 buffer, 0, width);
+		pages.get(tile.page).getPixelWriter().setPixels(tile.x, tile.y,
+														width, height, FORMAT,
+														buffer, 0, width);
+
+		tiles.put(url, tile);
+
+		return tile;
+	}
+
+	private Tile	createTile(int index)
+	{
+		int	page = index / capacity;
+		int	cell = index % capacity;
+
+		if (page == pages.size())
+			pages.add(new WritableImage(PAGE, PAGE));
+
+		int	x = (cell % columns) * (width + GUTTER);
+		int	y = (cell / columns) * (height + GUTTER);
+
+		return new Tile(page, x, y, new Rectangle2D(x, y, width, height));
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Where a poster is in the pages.
+	private static final class Tile
+	{
+		private final int			page;
+		private final int			x;
+		private final int			y;
+		private final Rectangle2D	viewport;
+
+		public Tile(int page, int x, int y, Rectangle2D viewport)
+		{
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.viewport = viewport;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,271 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:31 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+//import java.lang.*;
+import java.util.*;
+import javafx.scene.image.Image;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PosterCache</CODE> class keeps decoded poster images, keyed by
+ * the file they come from and the size they were scaled to, so that tables,
+ * cover flows, editors, and every window showing the same poster at the same
+ * size share one Image instead of each decoding the file again. The least
+ * recently used images are dropped when their pixels take more than a budget
+ * of bytes.
+ *
+ * Images are decoded from the closest precomputed thumbnail if there is
+ * one, and from the file itself if not.
+ *
+ * Images that fail to decode are never kept, so the cache only ever hands
+ * out images with pixels.
+ *
+ * Images are decoded outside the cache's lock, so lookups from other
+ * threads don't wait for a decode. Two threads that miss the same image at
+ * once may both decode it; the second one's image is kept.
+ *
+ * @version %I%, %G%
+ */
+public final class PosterCache
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Bytes of pixels to keep for the shared cache
+	public static final long	BUDGET = 64L << 20;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final PosterCache	SHARED =
+		new PosterCache(BUDGET, PosterThumbnails.getInstance());
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final long						budget;
+	private final PosterThumbnails			thumbnails;	// Null if none
+	private final LinkedHashMap<Key, Image>	images;
+	private long							bytes;
+
+	// Lookups that found an image, and those that decoded one
+	private long							hits;
+	private long							misses;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PosterCache(long budget)
+	{
+		this(budget, null);
+	}
+
+	public PosterCache(long budget, PosterThumbnails thumbnails)
+	{
+		this.budget = budget;
+		this.thumbnails = thumbnails;
+
+		// Iterate from least to most recently used
+		images = new LinkedHashMap<Key, Image>(64, 0.75f, true);
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns the cache shared by all panes in all windows.
+	public static PosterCache	getInstance()
+	{
+		return SHARED;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public long	getBudget()
+	{
+		return budget;
+	}
+
+	public synchronized int	size()
+	{
+		return images.size();
+	}
+
+	// Returns the bytes taken by the pixels of the images.
+	public synchronized long	getBytes()
+	{
+		return bytes;
+	}
+
+	public synchronized long	getHits()
+	{
+		return hits;
+	}
+
+	public synchronized long	getMisses()
+	{
+		return misses;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns the image in a file, scaled smoothly to a width and height,
+	// decoding it only if the cache doesn't have it. Throws the exceptions
+	// of the Image constructor if the file can't be found. Images that fail
+	// to decode are returned but not kept, so a file that is fixed or shows
+	// up later is decoded the next time it's asked for.
+	public Image	getImage(String url, double width, double height)
+	{
+		Key	key = new Key(url, width, height);
+
+		synchronized (this)
+		{
+			Image	image = images.get(key);
+
+			if (image != null)
+			{
+				hits++;
+
+				return image;
+			}
+
+			misses++;
+		}
+
+		Image	image = decode(url, width, height);
+
+		if (!image.isError())
+			put(key, image);
+
+		return image;
+	}
+
+	// Returns the image in a file at a width and height if the cache has
+	// it, or null without decoding it if not.
+	public synchronized Image	getCachedImage(String url, double width,
+											   double height)
+	{
+		Image	image = images.get(new Key(url, width, height));
+
+		if (image != null)
+			hits++;
+
+		return image;
+	}
+
+	// Drops all of the images.
+	public synchronized void	clear()
+	{
+		images.clear();
+		bytes = 0L;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Decodes the image in a file, from the closest thumbnail if there is
+	// one, since it is smaller and already scaled most of the way.
+	private Image	decode(String url, double width, double height)
+	{
+		String	thumbnail = null;
+
+		if (thumbnails != null)
+			thumbnail = thumbnails.getURL(url, width, height);
+
+		if (thumbnail != null)
+		{
+			Image	image = new Image(thumbnail, width, height, false, true);
+
+			if (!image.isError())
+				return image;
+		}
+
+		return new Image(url, width, height, false, true);
+	}
+
+	// Keeps an image, then drops the least recently used images until the
+	// rest fit the budget, keeping the new one regardless.
+	private synchronized void	put(Key key, Image image)
+	{
+		Image	old = images.put(key, image);
+
+		if (old != null)
+			bytes -= getBytes(old);
+
+		bytes += getBytes(image);
+
+		Iterator<Image>	i = images.values().iterator();
+
+		while ((bytes > budget) && (images.size() > 1))
+		{
+			bytes -= getBytes(i.next());
+			i.remove();
+		}
+	}
+
+	// Returns the bytes taken by the pixels of an image, four per pixel.
+	private static long	getBytes(Image image)
+	{
+		return 4L * (long)image.getWidth() * (long)image.getHeight();
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The file and size of an image.
+	private static final class Key
+	{
+		private final String	url;
+		private final double	width;
+		private final double	height;
+
+		public Key(String url, double width, double height)
+		{
+			this.url = url;
+			this.width = width;
+			this.height = height;
+		}
+
+		public boolean	equals(Object object)
+		{
+			if (!(object instanceof Key))
+				return false;
+
+			Key	other = (Key)object;
+
+			return (url.equals(other.url) && (width == other.width) &&
+					(height == other.height));
+		}
+
+		public int	hashCode()
+		{
+			return ((url.hashCode() * 31 + Double.hashCode(width)) * 31 +
+					Double.hashCode(height));
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,257 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:33 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+//import java.lang.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.scene.image.*;
+import javafx.scene.paint.Color;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PosterLoader</CODE> class decodes poster images on a small pool
+ * of background threads, so that table cells and cover flow items don't
+ * decode on the FX thread. Until a poster arrives, a placeholder of the
+ * same size is shown in its place.
+ *
+ * Waiting requests are decoded in order of priority, with the focused
+ * cover flow item ahead of visible cells, visible cells ahead of posters
+ * that are only expected to be shown soon, and the newest requests ahead of
+ * older ones, since those are what's on screen while a table scrolls.
+ * Cells cancel their request whenever they are given a different poster,
+ * which takes it out of the queue before it is decoded.
+ *
+ * Requests are made and cancelled on the FX thread, and images are
+ * delivered on it.
+ *
+ * @version %I%, %G%
+ */
+public final class PosterLoader
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Request priorities, lower first
+	public static final int	FOCUSED = 0;
+	public static final int	VISIBLE = 1;
+	public static final int	PREFETCH = 2;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Leave a core for the FX thread, but don't take more than a few
+	private static final int	THREADS =
+		Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	private static final Color	PLACEHOLDER = Color.gray(0.5, 0.35);
+
+	private static final PosterLoader	SHARED =
+		new PosterLoader(PosterCache.getInstance());
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final PosterCache				cache;
+	private final ThreadPoolExecutor		executor;
+
+	// Placeholders by size, and a count that orders requests by age
+	private final HashMap<String, Image>	placeholders;
+	private long							sequence;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PosterLoader(PosterCache cache)
+	{
+		this.cache = cache;
+
+		executor = new ThreadPoolExecutor(THREADS, THREADS,
+										  10L, TimeUnit.SECONDS,
+										  new PriorityBlockingQueue<Runnable>(),
+										  PosterLoader::createDecodeThread);
+		executor.allowCoreThreadTimeOut(true);
+
+		placeholders = new HashMap<String, Image>();
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns the loader shared by all panes in all windows.
+	public static PosterLoader	getInstance()
+	{
+		return SHARED;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static Thread	createDecodeThread(Runnable runnable)
+	{
+		Thread	thread = new Thread(runnable, "Poster Decode");
+
+		thread.setDaemon(true);
+
+		return thread;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Gives the image in a file, scaled to a width and height, to a consumer.
+	// If the cache has it, the consumer gets it right away and null is
+	// returned. If not, the consumer gets a placeholder right away and the
+	// image (or null, if it can't be decoded) once it has been, unless the
+	// returned request is cancelled first.
+	public Request	load(String url, double width, double height, int priority,
+						 Consumer<Image> consumer)
+	{
+		Image	image = cache.getCachedImage(url, width, height);
+
+		if (image != null)
+		{
+			consumer.accept(image);
+
+			return null;
+		}
+
+		Request	request = new Request(url, width, height, priority,
+									  sequence++, consumer);
+
+		consumer.accept(getPlaceholder(width, height));
+		executor.execute(request);
+
+		return request;
+	}
+
+	// Returns a placeholder image with a width and height. Placeholders are
+	// kept, since there are only a few sizes.
+	public Image	getPlaceholder(double width, double height)
+	{
+		String	key = width + "x" + height;
+		Image	image = placeholders.get(key);
+
+		if (image == null)
+		{
+			int				w = Math.max(1, (int)Math.round(width));
+			int				h = Math.max(1, (int)Math.round(height));
+			WritableImage	placeholder = new WritableImage(w, h);
+			PixelWriter		writer = placeholder.getPixelWriter();
+
+			for (int y=0; y<h; y++)
+				for (int x=0; x<w; x++)
+					writer.setColor(x, y, PLACEHOLDER);
+
+			image = placeholder;
+			placeholders.put(key, image);
+		}
+
+		return image;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// A poster waiting to be decoded for a consumer.
+	public final class Request
+		implements Runnable, Comparable<Request>
+	{
+		private final String			url;
+		private final double			width;
+		private final double			height;
+		private final int				priority;
+		private final long				sequence;
+		private final Consumer<Image>	consumer;
+
+		private volatile boolean		cancelled;
+
+		private Request(String url, double width, double height, int priority,
+						long sequence, Consumer<Image> consumer)
+		{
+			this.url = url;
+			this.width = width;
+			this.height = height;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.consumer = consumer;
+		}
+
+		public boolean	isCancelled()
+		{
+			return cancelled;
+		}
+
+		// Keeps the consumer from getting the image, and takes the request
+		// out of the queue if it hasn't been decoded yet.
+		public void	cancel()
+		{
+			cancelled = true;
+
+			executor.remove(this);
+		}
+
+		public int	compareTo(Request other)
+		{
+			if (priority != other.priority)
+				return Integer.compare(priority, other.priority);
+
+			return Long.compare(other.sequence, sequence);
+		}
+
+		public void	run()
+		{
+			if (cancelled)
+				return;
+
+			Image	image;
+
+			try
+			{
+				image = cache.getImage(url, width, height);
+
+				if (image.isError())
+					image = null;
+			}
+			catch (Exception ex)
+			{
+				image = null;
+			}
+
+			Image	result = image;
+
+			if (!cancelled)
+				Platform.runLater(() -> deliver(result));
+		}
+
+		private void	deliver(Image image)
+		{
+			if (!cancelled)
+				consumer.accept(image);
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,209 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:33 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+//import java.lang.*;
+import java.util.*;
+import java.util.function.Consumer;
+import javafx.scene.image.Image;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PosterPrefetcher</CODE> class decodes the posters of the movies
+ * just past the ones being shown, in the direction the view is moving, so
+ * that they are in the PosterCache by the time their cells or items are
+ * built. Views tell it which movies they are showing whenever that changes,
+ * such as when a table scrolls or a cover flow's selection moves.
+ *
+ * It follows how fast the view is moving, and decodes enough posters to
+ * cover a fraction of a second of movement ahead, but at least a minimum
+ * count, and no more than fit in a budget of bytes. Prefetches are decoded
+ * after any posters that are already on screen, and those still waiting
+ * are cancelled when the view moves again.
+ *
+ * Prefetchers are only used on the FX thread.
+ *
+ * @version %I%, %G%
+ */
+public final class PosterPrefetcher
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Bytes of posters to decode ahead, and movies ahead at least
+	public static final long	BUDGET = 8L << 20;
+	public static final int	COUNT = 8;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Seconds of movement to decode ahead
+	private static final double	LOOKAHEAD = 0.5;
+
+	// Seconds without movement after which the speed starts over
+	private static final double	PAUSE = 1.0;
+
+	private static final Consumer<Image>	IGNORE = image -> {};
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final String		path;		// Prepended to image file names
+	private final double		width;
+	private final double		height;
+
+	private long				budget;
+	private int				count;
+
+	// Where the view was, which way and how fast it was moving, and when
+	private int				index;
+	private int				direction;
+	private double				velocity;	// Movies per second
+	private long				time;
+
+	// Prefetches that may still be waiting
+	private final ArrayList<PosterLoader.Request>	requests;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PosterPrefetcher(String path, double width, double height)
+	{
+		this.path = path;
+		this.width = width;
+		this.height = height;
+
+		budget = BUDGET;
+		count = COUNT;
+
+		index = -1;
+		direction = 1;
+
+		requests = new ArrayList<PosterLoader.Request>();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public long	getBudget()
+	{
+		return budget;
+	}
+
+	public void	setBudget(long budget)
+	{
+		this.budget = budget;
+	}
+
+	public int	getCount()
+	{
+		return count;
+	}
+
+	public void	setCount(int count)
+	{
+		this.count = count;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Tells the prefetcher that a view is showing a number of movies from
+	// an index on, so that it can decode the posters of those coming next.
+	public void	move(List<Movie> movies, int first, int visible)
+	{
+		long	now = System.nanoTime();
+
+		if (index >= 0)
+		{
+			int		delta = first - index;
+			double	seconds = (now - time) * 1.0e-9;
+
+			if (delta == 0)				// Same place, nothing new ahead
+				return;
+
+			double	rate = Math.abs(delta) / Math.max(seconds, 1.0e-3);
+
+			if ((seconds > PAUSE) || (Integer.signum(delta) != direction))
+				velocity = rate;
+			else						// Smooth out uneven steps
+				velocity = 0.5 * (velocity + rate);
+
+			direction = Integer.signum(delta);
+		}
+
+		index = first;
+		time = now;
+
+		prefetch(movies, ((direction > 0) ? (first + visible) : (first - 1)));
+	}
+
+	// Stops decoding the posters that haven't been decoded yet.
+	public void	cancel()
+	{
+		for (PosterLoader.Request request : requests)
+			request.cancel();
+
+		requests.clear();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Decodes the posters of movies from an index on in the direction of
+	// movement, skipping any already cached or repeated.
+	private void	prefetch(List<Movie> movies, int start)
+	{
+		cancel();
+
+		int		n = Math.max(count, (int)Math.ceil(velocity * LOOKAHEAD));
+		int		limit = (int)(budget / (4.0 * width * height));
+
+		LinkedHashSet<String>	urls = new LinkedHashSet<String>();
+
+		for (int i=start; (i >= 0) && (i < movies.size()) && (n > 0) &&
+				 (urls.size() < limit); i+=direction, n--)
+		{
+			String	image = movies.get(i).getImage();
+
+			if (image != null)
+				urls.add(path + image);
+		}
+
+		// The loader decodes the newest requests first, so make them
+		// farthest to nearest
+		ArrayList<String>	order = new ArrayList<String>(urls);
+		PosterLoader		loader = PosterLoader.getInstance();
+
+		for (int i=order.size()-1; i>=0; i--)
+		{
+			PosterLoader.Request	request =
+				loader.load(order.get(i), width, height,
+							PosterLoader.PREFETCH, IGNORE);
+
+			if (request != null)
+				requests.add(request);
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,454 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:31 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.*;
+//import java.lang.*;
+import java.net.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.imageio.ImageIO;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PosterThumbnails</CODE> class keeps posters scaled to each of the
+ * sizes the panes show them at, in a directory on disk, so that they don't
+ * have to decode and scale the whole poster each time the application runs.
+ *
+ * Thumbnails are named by a hash of the poster's contents, and an index
+ * remembers the hash of each poster along with its modification time, so a
+ * poster is only read again after it changes. The first time a poster is
+ * asked for, its thumbnails are made on a background thread, all at once
+ * from a single decode. The index is written out when the thread runs out of
+ * posters to do, instead of after each one. Posters that can't be read or
+ * decoded are remembered in the index too, so they aren't tried again until
+ * they change.
+ *
+ * @version %I%, %G%
+ */
+public final class PosterThumbnails
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Width and height of the table, cover flow, summary, and editor posters
+	public static final int[][]	SIZES = { {  32,  48 }, {  50,  75 },
+										  { 150, 225 }, { 280, 420 }, };
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final File		DIRECTORY =
+		new File(System.getProperty("user.home"),
+				 ".prototypee" + File.separator + "thumbnails");
+
+	private static final String		INDEX = "index.properties";
+
+	// Hash in the index for posters that can't be read or decoded
+	private static final String		UNREADABLE = "-";
+
+	private static final PosterThumbnails	SHARED =
+		new PosterThumbnails(DIRECTORY);
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final File					directory;
+	private final ThreadPoolExecutor	executor;
+
+	// Modification time and content hash of each poster, by url, and
+	// whether it has changed since it was last written out
+	private final Properties			index;
+	private boolean					loaded;
+	private boolean					changed;
+
+	// Posters with thumbnails being made
+	private final HashSet<String>		pending;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PosterThumbnails(File directory)
+	{
+		this.directory = directory;
+
+		executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+							new LinkedBlockingQueue<Runnable>(),
+							PosterThumbnails::createThumbnailThread);
+
+		index = new Properties();
+		pending = new HashSet<String>();
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns the thumbnails shared by all panes in all windows.
+	public static PosterThumbnails	getInstance()
+	{
+		return SHARED;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static Thread	createThumbnailThread(Runnable runnable)
+	{
+		Thread	thread = new Thread(runnable, "Poster Thumbnails");
+
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+
+		return thread;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns the url of the thumbnail of a poster that is closest to a width
+	// and height, being the smallest that is at least as big, or the biggest
+	// if none are. Returns null if the poster doesn't have thumbnails yet,
+	// and starts making them in the background.
+	public String	getURL(String url, double width, double height)
+	{
+		URL	resource = getResource(url);
+
+		if (resource == null)
+			return null;
+
+		long	modified = getModified(resource);
+		String	hash = getHash(url, modified);
+
+		if (UNREADABLE.equals(hash))			// Decode it directly
+			return null;
+
+		if (hash != null)
+		{
+			File	file = getFile(hash, getSize(width, height));
+
+			if (file.isFile())
+				return file.toURI().toString();
+		}
+
+		synchronized (this)
+		{
+			if (pending.add(url))
+				executor.execute(() -> create(url, resource, modified));
+		}
+
+		return null;
+	}
+
+	//**********************************************************************
+	// Private Methods (Index)
+	//**********************************************************************
+
+	// Returns the content hash of a poster if it hasn't been modified since
+	// its thumbnails were made, or null if not.
+	private synchronized String	getHash(String url, long modified)
+	{
+		if (!loaded)
+		{
+			loaded = true;
+
+			try (InputStream in = new FileInputStream(new File(directory,
+																INDEX)))
+			{
+				index.load(in);
+			}
+			catch (IOException ex)
+			{
+				// No thumbnails made yet
+			}
+		}
+
+		String	entry = index.getProperty(url);
+
+		if (entry == null)
+			return null;
+
+		int	space = entry.indexOf(' ');
+
+		if ((space < 0) || !entry.substring(0, space).equals(
+				Long.toString(modified)))
+			return null;
+
+		return entry.substring(space + 1);
+	}
+
+	// Remembers the content hash of a poster, to be written out later.
+	private synchronized void	putHash(String url, long modified, String hash)
+	{
+		index.setProperty(url, modified + " " + hash);
+		changed = true;
+	}
+
+	// Writes out the index if it has changed.
+	private synchronized void	writeIndex()
+		throws IOException
+	{
+		if (!changed)
+			return;
+
+		File	file = new File(directory, INDEX);
+		File	temp = new File(directory, INDEX + ".tmp");
+
+		directory.mkdirs();
+
+		try (OutputStream out = new FileOutputStream(temp))
+		{
+			index.store(out, "Poster thumbnails");
+		}
+
+		move(temp, file);
+		changed = false;
+	}
+
+	//**********************************************************************
+	// Private Methods (Thumbnails)
+	//**********************************************************************
+
+	// Reads a poster, then writes any of its thumbnails that aren't already
+	// on disk from another poster with the same contents. Writes out the
+	// index if no other posters are waiting.
+	private void	create(String url, URL resource, long modified)
+	{
+		try
+		{
+			byte[]	bytes = read(resource);
+
+			if (bytes == null)
+			{
+				putHash(url, modified, UNREADABLE);
+				return;
+			}
+
+			String	hash = hash(bytes);
+
+			directory.mkdirs();
+
+			BufferedImage	source = null;
+
+			for (int[] size : SIZES)
+			{
+				File	file = getFile(hash, size);
+
+				if (file.isFile())
+					continue;
+
+				if (source == null)
+					source = decode(bytes);
+
+				if (source == null)		// Not an image ImageIO can read
+				{
+					putHash(url, modified, UNREADABLE);
+					return;
+				}
+
+				File	temp = new File(directory, file.getName() + ".tmp");
+
+				ImageIO.write(scale(source, size[0], size[1]), "png", temp);
+				move(temp, file);
+			}
+
+			putHash(url, modified, hash);
+		}
+		catch (Exception ex)
+		{
+			// Leave the poster to be decoded directly
+		}
+		finally
+		{
+			synchronized (this)
+			{
+				pending.remove(url);
+			}
+
+			if (executor.getQueue().isEmpty())
+			{
+				try
+				{
+					writeIndex();
+				}
+				catch (IOException ex)
+				{
+					// Try again after the next poster
+				}
+			}
+		}
+	}
+
+	private File	getFile(String hash, int[] size)
+	{
+		return new File(directory, hash + "-" + size[0] + "x" + size[1] +
+						".png");
+	}
+
+	//**********************************************************************
+	// Private Class Methods (Thumbnails)
+	//**********************************************************************
+
+	private static int[]	getSize(double width, double height)
+	{
+		for (int[] size : SIZES)
+			if ((size[0] >= width) && (size[1] >= height))
+				return size;
+
+		return SIZES[SIZES.length - 1];
+	}
+
+	// Scales an image to a width and height, halving it first while it is
+	// more than twice as big, so that each pixel of the result blends all
+	// of the source pixels under it instead of just the nearest few.
+	private static BufferedImage	scale(BufferedImage image, int width,
+										  int height)
+	{
+		int	w = image.getWidth();
+		int	h = image.getHeight();
+
+		do
+		{
+			w = Math.max(width, ((w > 2 * width) ? (w / 2) : width));
+			h = Math.max(height, ((h > 2 * height) ? (h / 2) : height));
+
+			BufferedImage	scaled = new BufferedImage(w, h,
+											BufferedImage.TYPE_INT_ARGB);
+			Graphics2D		g = scaled.createGraphics();
+
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+							   RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.drawImage(image, 0, 0, w, h, null);
+			g.dispose();
+
+			image = scaled;
+		}
+		while ((w != width) || (h != height));
+
+		return image;
+	}
+
+	// Resolves a url the way Image does, as a classpath resource if it
+	// doesn't name a protocol.
+	private static URL	getResource(String url)
+	{
+		try
+		{
+			return new URL(url);
+		}
+		catch (MalformedURLException ex)
+		{
+			ClassLoader	loader = Thread.currentThread().getContextClassLoader();
+
+			if (loader == null)
+				loader = PosterThumbnails.class.getClassLoader();
+
+			return loader.getResource(url.startsWith("/") ? url.substring(1)
+														   : url);
+		}
+	}
+
+	private static long	getModified(URL resource)
+	{
+		try
+		{
+			if ("file".equals(resource.getProtocol()))
+				return new File(resource.toURI()).lastModified();
+			else
+				return resource.openConnection().getLastModified();
+		}
+		catch (Exception ex)
+		{
+			return 0L;
+		}
+	}
+
+	// Returns the bytes of a poster, or null if it can't be read, such as
+	// when the file is missing.
+	private static byte[]	read(URL resource)
+	{
+		ByteArrayOutputStream	out = new ByteArrayOutputStream();
+		byte[]					buffer = new byte[8192];
+
+		try (InputStream in = resource.openStream())
+		{
+			for (int n; (n = in.read(buffer)) >= 0; )
+				out.write(buffer, 0, n);
+		}
+		catch (IOException ex)
+		{
+			return null;
+		}
+
+		return out.toByteArray();
+	}
+
+	// Returns the image in a poster's bytes, or null if it isn't one that
+	// ImageIO can read.
+	private static BufferedImage	decode(byte[] bytes)
+	{
+		try
+		{
+			return ImageIO.read(new ByteArrayInputStream(bytes));
+		}
+		catch (IOException ex)
+		{
+			return null;
+		}
+	}
+
+	private static String	hash(byte[] bytes)
+		throws NoSuchAlgorithmException
+	{
+		byte[]			digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+		StringBuilder	sb = new StringBuilder();
+
+		for (byte b : digest)
+			sb.append(String.format("%02x", b));
+
+		return sb.toString();
+	}
+
+	// Replaces a file with a finished temporary one, so that a thumbnail or
+	// index is never read half written.
+	private static void	move(File from, File to)
+		throws IOException
+	{
+		try
+		{
+			Files.move(from.toPath(), to.toPath(),
+					   StandardCopyOption.ATOMIC_MOVE,
+					   StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException ex)
+		{
+			Files.move(from.toPath(), to.toPath(),
+					   StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,34 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:15 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Subscriber</CODE> interface is for objects that receive updates
+ * from the controller about changes in the model. Subscribers only receive
+ * updates for the keys they subscribe to (see Controller.subscribe()).
+ *
+ * @version %I%, %G%
+ */
+public interface Subscriber
+{
+	// The controller calls this method whenever a subscribed value changes.
+	public void	update(String key, Object value);
+
+	// The controller calls this method whenever a subscribed property changes.
+	public void	updateProperty(String key, Object newValue, Object oldValue);
+}
+
+//******************************************************************************
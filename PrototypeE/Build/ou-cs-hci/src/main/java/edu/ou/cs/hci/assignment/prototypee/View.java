@@ -1,7 +1,7 @@
 //******************************************************************************
-// Copyright (C) 2019-2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2019-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Sun Mar  1 12:41:45 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:17 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
@@ -9,6 +9,10 @@
 // 20190220 [weaver]:	Adapted from swingmvc to fxmvc.
 // 20200212 [weaver]:	Updated for new PrototypeB in Spring 2020.
 // 20200228 [weaver]:	Added menu code for new PrototypeC in Spring 2020.
+// 20261018 [rees0012]:	Added a status bar for collection loading.
+// 20261018 [rees0012]:	Added .mvc files to the file choosers.
+// 20261018 [rees0012]:	Subscribed panes to the controller's updates.
+// 20261018 [rees0012]:	Told panes whether they can be seen.
 //
 //******************************************************************************
 //
@@ -20,6 +24,8 @@ package edu.ou.cs.hci.assignment.prototypee;
 import java.io.File;
 import java.util.*;
 import java.net.URL;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.event.*;
 import javafx.geometry.*;
 import javafx.scene.*;
@@ -41,6 +47,7 @@ import edu.ou.cs.hci.assignment.prototypee.pane.*;
  * @version %I%, %G%
  */
 public final class View
+	implements Subscriber
 {
 	//**********************************************************************
 	// Private Class Members (Layout)
@@ -68,10 +75,16 @@ public final class View
 	// Handlers
 	private final ActionHandler			actionHandler;
 	private final WindowHandler			windowHandler;
+	private final ShowingHandler			showingHandler;
 
 	// Layout
 	private final Stage					stage;
 	private final ArrayList<AbstractPane>	panes;
+	private TabPane						tabPane;
+
+	// Status Bar
+	private Label							statusLabel;
+	private ProgressBar					statusProgress;
 
 	// About Stage
 	private Stage							aboutStage;
@@ -92,6 +105,9 @@ public final class View
 		// Create a listener to handle WINDOW_CLOSE_REQUESTs
 		windowHandler = new WindowHandler();
 
+		// Create a listener to track which panes can currently be seen
+		showingHandler = new ShowingHandler();
+
 		// Create a set of panes to include
 		panes = new ArrayList<AbstractPane>();
 
@@ -128,7 +144,18 @@ public final class View
 	public void	initialize()
 	{
 		for (AbstractPane pane : panes)
+		{
 			pane.initialize();
+			controller.subscribe(pane, pane.getTopics());
+		}
+
+		controller.subscribe(this, "load.*");
+
+		// Only the pane in the selected tab of an unminimized window is shown
+		tabPane.getSelectionModel().selectedItemProperty()
+			.addListener(showingHandler);
+		stage.iconifiedProperty().addListener(showingHandler);
+		updateShowing();
 
 		// Initialize your menus/items here...
 		aboutStageCloseButton.setOnAction(actionHandler);
@@ -136,14 +163,26 @@ public final class View
 		appAboutMenuItem.setOnAction(actionHandler);
 		fileOpenMenuItem.setOnAction(actionHandler);
 		fileSaveMenuItem.setOnAction(actionHandler);
+
+		updateStatus("load.status", controller.get("load.status"));
+		updateStatus("load.progress", controller.get("load.progress"));
 	}
 
 	// The controller calls this method when it removes a view.
 	// Unregister event and property listeners for the nodes in the view.
 	public void	terminate()
 	{
+		controller.unsubscribe(this);
+
+		tabPane.getSelectionModel().selectedItemProperty()
+			.removeListener(showingHandler);
+		stage.iconifiedProperty().removeListener(showingHandler);
+
 		for (AbstractPane pane : panes)
+		{
+			controller.unsubscribe(pane);
 			pane.terminate();
+		}
 
 		// Terminate your menus/items here...
 		aboutStageCloseButton.setOnAction(null);
@@ -154,22 +193,18 @@ public final class View
 	}
 
 	// The controller calls this method whenever something changes in the model.
-	// Update the nodes in the view to reflect the change.
+	// Update the nodes in the view to reflect the change. Panes subscribe to
+	// the controller for their own updates, so only the status bar is here.
 	public void	update(String key, Object value)
 	{
-		for (AbstractPane pane : panes)
-			pane.update(key, value);
-
 		// Update your menus/items as needed here... (mine need no updating)
+		updateStatus(key, value);
 	}
 
 	// The controller calls this method whenever something changes in the model.
 	// Update the nodes in the view to reflect the change.
 	public void	updateProperty(String key, Object newValue, Object oldValue)
 	{
-		for (AbstractPane pane : panes)
-			pane.updateProperty(key, newValue, oldValue);
-
 		// Update your menus/items as needed here...(mine need no updating)
 	}
 
@@ -214,14 +249,67 @@ public final class View
 		panes.add(new EditorPane2(controller));
 
 		// Create a tab pane with tabs for the set of included panes
-		TabPane	tabPane = new TabPane();
+		tabPane = new TabPane();
 
 		for (AbstractPane pane : panes)
 			tabPane.getTabs().add(pane.createTab());
 
 		MenuBar	menuBar = buildMenuBar();
+		Pane		statusBar = buildStatusBar();
+
+		return new BorderPane(tabPane, menuBar, null, statusBar, null);
+	}
+
+	// Tell each pane whether it can be seen, so that hidden panes can defer
+	// their updates until their tab is selected or the window is restored.
+	private void	updateShowing()
+	{
+		Tab		selected = tabPane.getSelectionModel().getSelectedItem();
+		boolean	visible = !stage.isIconified();
+
+		for (int i=0; i<panes.size(); i++)
+		{
+			Tab	tab = tabPane.getTabs().get(i);
+
+			panes.get(i).setShowing(visible && (tab == selected));
+		}
+	}
+
+	//**********************************************************************
+	// Private Methods (Status Bar)
+	//**********************************************************************
+
+	// Shows the status and progress of loading the collection file.
+	private Pane	buildStatusBar()
+	{
+		statusLabel = new Label();
+		statusLabel.setMaxWidth(Double.MAX_VALUE);
+
+		statusProgress = new ProgressBar(0.0);
+		statusProgress.setPrefWidth(160);
+
+		HBox	hbox = new HBox(8.0, statusLabel, statusProgress);
 
-		return new BorderPane(tabPane, menuBar, null, null, null);
+		HBox.setHgrow(statusLabel, Priority.ALWAYS);
+		hbox.setAlignment(Pos.CENTER_LEFT);
+		hbox.setPadding(new Insets(2.0, 8.0, 2.0, 8.0));
+
+		return hbox;
+	}
+
+	private void	updateStatus(String key, Object value)
+	{
+		if ("load.status".equals(key))
+		{
+			statusLabel.setText((String)value);
+		}
+		else if ("load.progress".equals(key))
+		{
+			double	progress = (Double)value;
+
+			statusProgress.setProgress(progress);
+			statusProgress.setVisible(progress != 1.0);
+		}
 	}
 
 	//**********************************************************************
@@ -325,7 +413,10 @@ public final class View
 
 		chooser.setTitle("Open Movie Collection File");
 		chooser.getExtensionFilters().addAll(
-			new FileChooser.ExtensionFilter("Collection Files", "*.csv"));
+			new FileChooser.ExtensionFilter("Collection Files",
+											"*.csv", "*.mvc"),
+			new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+			new FileChooser.ExtensionFilter("Binary Collection Files", "*.mvc"));
 
 		File	file = chooser.showOpenDialog(stage);
 
@@ -339,7 +430,8 @@ public final class View
 
 		chooser.setTitle("Save Movie Collection File");
 		chooser.getExtensionFilters().addAll(
-			new FileChooser.ExtensionFilter("Collection Files", "*.csv"));
+			new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+			new FileChooser.ExtensionFilter("Binary Collection Files", "*.mvc"));
 
 		File	file = chooser.showSaveDialog(stage);
 
@@ -380,6 +472,15 @@ public final class View
 				controller.removeView(View.this);
 		}
 	}
+
+	private final class ShowingHandler
+		implements InvalidationListener
+	{
+		public void	invalidated(Observable observable)
+		{
+			updateShowing();
+		}
+	}
 }
 
 //******************************************************************************
@@ -0,0 +1,130 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:12 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.data;
+
+//import java.lang.*;
+import java.io.*;
+import java.net.URL;
+import java.util.*;
+import edu.ou.cs.hci.assignment.prototypee.MovieStore;
+import edu.ou.cs.hci.resources.Resources;
+
+//******************************************************************************
+
+/**
+ * The <CODE>CSVBenchmark</CODE> class compares the time taken to load movies
+ * from a large collection file using the single-threaded CSV parser and the
+ * parallel CSV parser in Resources. The collection file is made by repeating
+ * the records in the example collection. Run it with an optional number of
+ * records (default 1000000) and number of rounds (default 5).
+ *
+ * @version %I%, %G%
+ */
+public final class CSVBenchmark
+{
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+		throws IOException
+	{
+		int	records = ((args.length > 0) ? Integer.parseInt(args[0]) : 1000000);
+		int	rounds = ((args.length > 1) ? Integer.parseInt(args[1]) : 5);
+		File	file = createFile(records);
+		URL	url = file.toURI().toURL();
+
+		System.out.println("Collection: " + records + " records, " +
+						   (file.length() >> 20) + " MB, " +
+						   Runtime.getRuntime().availableProcessors() +
+						   " processors");
+
+		for (int i=0; i<rounds; i++)
+		{
+			long		t0 = System.nanoTime();
+			int		n0 = loadSerial(url).size();
+			long		t1 = System.nanoTime();
+			int		n1 = loadParallel(url).size();
+			long		t2 = System.nanoTime();
+
+			if (n0 != n1)
+				System.err.println("***Record counts differ: " + n0 +
+								   " vs " + n1 + "***");
+
+			report("serial  ", n0, t1 - t0);
+			report("parallel", n1, t2 - t1);
+		}
+
+		file.delete();
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// The current way of loading: slurp the records, then add the rows.
+	private static MovieStore	loadSerial(URL url)
+	{
+		List<List<String>>		md = Resources.getCSVData(url);
+		MovieStore				ms = new MovieStore();
+
+		for (List<String> item : md)
+			ms.add(item);
+
+		return ms;
+	}
+
+	// Parses the records in parallel, then adds the rows.
+	private static MovieStore	loadParallel(URL url)
+		throws IOException
+	{
+		List<List<String>>		md =
+			Resources.getCSVDataParallel(url, item -> item);
+		MovieStore				ms = new MovieStore();
+
+		for (List<String> item : md)
+			ms.add(item);
+
+		return ms;
+	}
+
+	private static void	report(String label, int n, long ns)
+	{
+		double	ms = ns / 1.0e6;
+
+		System.out.printf("%s %9.1f ms %12.0f records/s%n", label, ms,
+						  n / (ms / 1000.0));
+	}
+
+	// Writes a temporary collection file by repeating the example records.
+	private static File	createFile(int records)
+		throws IOException
+	{
+		List<List<String>>	md = Resources.getCSVData("data/movies.csv");
+		File				file = File.createTempFile("movies", ".csv");
+
+		file.deleteOnExit();
+
+		List<List<String>>	data = new ArrayList<List<String>>(records);
+
+		for (int i=0; i<records; i++)
+			data.add(md.get(i % md.size()));
+
+		Resources.putCSVData(file, data);
+
+		return file;
+	}
+}
+
+//******************************************************************************
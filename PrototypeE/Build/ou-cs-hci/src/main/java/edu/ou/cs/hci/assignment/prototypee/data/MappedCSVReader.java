@@ -0,0 +1,559 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:10 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.data;
+
+//import java.lang.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MappedCSVReader</CODE> class reads comma separated values (CSV)
+ * from a local file through memory-mapped windows of the file. Records are
+ * scanned in place. Scanning a record only notes where each of its fields
+ * starts and ends. A field is decoded from the mapped bytes only when one of
+ * the get methods asks for it. Numbers and booleans are parsed straight from
+ * the bytes without making strings, and fields nobody asks for are never
+ * copied at all. Files can be larger than a single mapping allows, since the
+ * window moves along the file as records are read.
+ *
+ * The format is the same as the one used by Resources: no header, fields
+ * optionally in double quotes, doubled quotes inside quoted fields, and empty
+ * lines skipped. UTF-8 encoding is assumed.
+ *
+ * @version %I%, %G%
+ */
+public final class MappedCSVReader
+	implements Closeable
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final long	WINDOW = 64L << 20;	// Bytes mapped at once
+	private static final int	FIELDS = 64;			// Most fields per record
+
+	private static final byte	PLAIN = 0;				// Unquoted field
+	private static final byte	QUOTED = 1;			// Quoted field
+	private static final byte	ESCAPED = 2;			// ...with doubled quotes
+
+	// Powers of ten that are exact as doubles, for parsing decimals
+	private static final double[]	POWERS = new double[23];
+
+	static
+	{
+		POWERS[0] = 1.0;
+
+		for (int i=1; i<POWERS.length; i++)
+			POWERS[i] = POWERS[i - 1] * 10.0;
+	}
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final FileChannel		channel;
+	private final boolean			owner;		// Close channel when done?
+	private final long				to;			// End of bytes to read
+
+	// Window
+	private MappedByteBuffer		buffer;		// Current mapped window
+	private ByteBuffer				view;		// For bulk copies from it
+	private long					base;		// File position of window
+	private int					limit;		// Bytes in window
+	private int					next;		// Window offset of next record
+
+	// Current record
+	private final int[]			starts;		// Window offsets of fields
+	private final int[]			ends;
+	private final byte[]			kinds;
+	private int					count;		// Number of fields
+
+	// Decoding
+	private byte[]					scratch;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Reads all records in the file.
+	public MappedCSVReader(File file)
+		throws IOException
+	{
+		this(FileChannel.open(file.toPath(), StandardOpenOption.READ), true,
+			 0L, -1L);
+	}
+
+	// Reads the records between two positions in a file that is already open,
+	// such as the segments found by split(). Leaves the channel open.
+	public MappedCSVReader(FileChannel channel, long from, long to)
+		throws IOException
+	{
+		this(channel, false, from, to);
+	}
+
+	private MappedCSVReader(FileChannel channel, boolean owner, long from,
+							long to)
+		throws IOException
+	{
+		this.channel = channel;
+		this.owner = owner;
+		this.to = ((to < 0L) ? channel.size() : to);
+
+		starts = new int[FIELDS];
+		ends = new int[FIELDS];
+		kinds = new byte[FIELDS];
+		scratch = new byte[256];
+
+		map(from);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Position in the file of the next record, for reporting progress.
+	public long	getPosition()
+	{
+		return base + next;
+	}
+
+	// Moves on to the next record. Returns false when there are no more.
+	public boolean	next()
+		throws IOException
+	{
+		while (base + next < to)
+		{
+			int	end = scan(next);
+
+			if (end < 0)				// Record runs past end of window
+			{
+				if (next == 0)
+					throw new IOException("Record longer than " + WINDOW +
+										  " bytes at " + base);
+
+				map(base + next);
+				continue;
+			}
+
+			next = end;
+
+			if ((count == 1) && (kinds[0] == PLAIN) && (starts[0] == ends[0]))
+				continue;				// Skip empty lines
+
+			return true;
+		}
+
+		return false;
+	}
+
+	// Number of fields in the current record.
+	public int	getFieldCount()
+	{
+		return count;
+	}
+
+	public String	getString(int i)
+	{
+		check(i);
+
+		int	n = copy(i);
+
+		if (kinds[i] == ESCAPED)		// Collapse doubled quotes
+		{
+			int	k = 0;
+
+			for (int j=0; j<n; j++, k++)
+			{
+				scratch[k] = scratch[j];
+
+				if ((scratch[j] == '"') && (j + 1 < n) &&
+					(scratch[j + 1] == '"'))
+					j++;
+			}
+
+			n = k;
+		}
+
+		return new String(scratch, 0, n, StandardCharsets.UTF_8);
+	}
+
+	public int	getInt(int i)
+	{
+		check(i);
+
+		int		p = starts[i];
+		int		e = ends[i];
+		boolean	negative = false;
+
+		if ((p < e) && ((buffer.get(p) == '-') || (buffer.get(p) == '+')))
+			negative = (buffer.get(p++) == '-');
+
+		if (p == e)
+			throw new NumberFormatException(getString(i));
+
+		long	value = 0L;
+
+		for (; p<e; p++)
+		{
+			int	d = buffer.get(p) - '0';
+
+			if ((d < 0) || (d > 9) || (value > Integer.MAX_VALUE + 1L))
+				throw new NumberFormatException(getString(i));
+
+			value = value * 10L + d;
+		}
+
+		value = (negative ? -value : value);
+
+		if ((value < Integer.MIN_VALUE) || (value > Integer.MAX_VALUE))
+			throw new NumberFormatException(getString(i));
+
+		return (int)value;
+	}
+
+	// Parses plain decimals like -12.345 from the bytes. The result is exact
+	// when there are at most 15 digits. Anything else is left to the JDK.
+	public double	getDouble(int i)
+	{
+		check(i);
+
+		int		p = starts[i];
+		int		e = ends[i];
+		boolean	negative = false;
+		long		mantissa = 0L;
+		int		digits = 0;
+		int		decimals = -1;
+
+		if ((p < e) && ((buffer.get(p) == '-') || (buffer.get(p) == '+')))
+			negative = (buffer.get(p++) == '-');
+
+		for (; p<e; p++)
+		{
+			byte	b = buffer.get(p);
+
+			if ((b == '.') && (decimals < 0))
+			{
+				decimals = 0;
+			}
+			else if ((b >= '0') && (b <= '9') && (digits < 15))
+			{
+				mantissa = mantissa * 10L + (b - '0');
+				digits++;
+
+				if (decimals >= 0)
+					decimals++;
+			}
+			else
+			{
+				return Double.parseDouble(getString(i));
+			}
+		}
+
+		if (digits == 0)
+			return Double.parseDouble(getString(i));
+
+		double	value = mantissa / POWERS[Math.max(0, decimals)];
+
+		return (negative ? -value : value);
+	}
+
+	// Same as Boolean.parseBoolean(): true if "true", ignoring case.
+	public boolean	getBoolean(int i)
+	{
+		check(i);
+
+		int	p = starts[i];
+
+		return ((ends[i] - p == 4) &&
+				((buffer.get(p) | 0x20) == 't') &&
+				((buffer.get(p + 1) | 0x20) == 'r') &&
+				((buffer.get(p + 2) | 0x20) == 'u') &&
+				((buffer.get(p + 3) | 0x20) == 'e'));
+	}
+
+	//**********************************************************************
+	// Override Methods (Closeable)
+	//**********************************************************************
+
+	public void	close()
+		throws IOException
+	{
+		buffer = null;
+		view = null;
+
+		if (owner)
+			channel.close();
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Splits a file into about count segments that each start at a record
+	// boundary. Returns the start position of each segment, followed by the
+	// size of the file. The stretches of the file are scanned in parallel,
+	// first to count quotes, which tells whether each stretch starts inside
+	// quotes, then to find the first newline outside quotes in each stretch.
+	public static long[]	split(FileChannel channel, int count)
+		throws IOException
+	{
+		long		size = channel.size();
+		long		step = Math.min(WINDOW, Math.max(1L,
+										(size + count - 1L) / count));
+		int		n = (int)((size + step - 1L) / step);
+		int[]		quotes = new int[n];
+		long[]		starts = new long[n + 1];
+
+		try
+		{
+			IntStream.range(0, n).parallel().forEach(i ->
+				quotes[i] = countQuotes(channel, i * step,
+										Math.min(size, (i + 1) * step)));
+
+			boolean[]	quoted = new boolean[n];
+			boolean	inside = false;
+
+			for (int i=0; i<n; i++)
+			{
+				quoted[i] = inside;
+				inside ^= ((quotes[i] & 1) != 0);
+			}
+
+			IntStream.range(1, n).parallel().forEach(i ->
+				starts[i] = findRecordStart(channel, i * step, size,
+											quoted[i]));
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+
+		starts[n] = size;
+
+		// Drop empty segments, such as when a quoted field spans a stretch
+		long[]		bounds = new long[n + 2];
+		int		k = 0;
+
+		bounds[k++] = 0L;
+
+		for (int i=1; i<=n; i++)
+			if (starts[i] > bounds[k - 1])
+				bounds[k++] = starts[i];
+
+		if (bounds[k - 1] != size)
+			bounds[k++] = size;
+
+		long[]		result = new long[k];
+
+		System.arraycopy(bounds, 0, result, 0, k);
+
+		return result;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static int	countQuotes(FileChannel channel, long from, long to)
+	{
+		try
+		{
+			MappedByteBuffer	mb = channel.map(FileChannel.MapMode.READ_ONLY,
+												 from, to - from);
+			int				count = 0;
+
+			for (int i=0, n=(int)(to - from); i<n; i++)
+				if (mb.get(i) == '"')
+					count++;
+
+			return count;
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	// Returns the position after the first newline outside quotes at or after
+	// from, or the size of the file if there isn't one.
+	private static long	findRecordStart(FileChannel channel, long from,
+											long size, boolean quoted)
+	{
+		try
+		{
+			for (long position=from; position<size; position+=WINDOW)
+			{
+				long				n = Math.min(WINDOW, size - position);
+				MappedByteBuffer	mb = channel.map(
+					FileChannel.MapMode.READ_ONLY, position, n);
+
+				for (int i=0; i<n; i++)
+				{
+					byte	b = mb.get(i);
+
+					if (b == '"')
+						quoted = !quoted;
+					else if ((b == '\n') && !quoted)
+						return position + i + 1;
+				}
+			}
+
+			return size;
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static boolean	isDelimiter(byte b)
+	{
+		return ((b == ',') || (b == '\n') || (b == '\r'));
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	map(long position)
+		throws IOException
+	{
+		long	n = Math.min(WINDOW, to - position);
+
+		buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, n);
+		view = buffer.duplicate();
+		base = position;
+		limit = (int)n;
+		next = 0;
+	}
+
+	// Notes where the fields of the record starting at p are. Returns the
+	// offset of the next record, or -1 if the record runs past the window.
+	private int	scan(int p)
+	{
+		boolean	last = (base + limit >= to);	// Is window at the end?
+
+		count = 0;
+
+		while (true)
+		{
+			if (count == FIELDS)
+				throw new IllegalStateException("More than " + FIELDS +
+												" fields at " + (base + p));
+
+			byte	kind = PLAIN;
+			int	s = p;
+			int	e;
+
+			if ((p < limit) && (buffer.get(p) == '"'))
+			{
+				kind = QUOTED;
+				s = ++p;
+
+				while (true)
+				{
+					if (p >= limit)
+					{
+						if (!last)
+							return -1;
+
+						e = p;
+						break;
+					}
+
+					if (buffer.get(p) == '"')
+					{
+						if ((p + 1 >= limit) && !last)
+							return -1;
+
+						if ((p + 1 < limit) && (buffer.get(p + 1) == '"'))
+						{
+							kind = ESCAPED;
+							p += 2;
+							continue;
+						}
+
+						e = p++;
+						break;
+					}
+
+					p++;
+				}
+
+				while ((p < limit) && !isDelimiter(buffer.get(p)))
+					p++;
+			}
+			else
+			{
+				while ((p < limit) && !isDelimiter(buffer.get(p)))
+					p++;
+
+				e = p;
+			}
+
+			starts[count] = s;
+			ends[count] = e;
+			kinds[count] = kind;
+			count++;
+
+			if (p >= limit)
+				return (last ? p : -1);
+
+			byte	b = buffer.get(p++);
+
+			if (b == ',')
+				continue;
+
+			if (b == '\r')
+			{
+				if (p >= limit)
+					return (last ? p : -1);
+
+				if (buffer.get(p) == '\n')
+					p++;
+			}
+
+			return p;
+		}
+	}
+
+	private void	check(int i)
+	{
+		if ((i < 0) || (i >= count))
+			throw new IndexOutOfBoundsException("Field " + i + " of " + count);
+	}
+
+	// Copies the bytes of a field into the scratch array.
+	private int	copy(int i)
+	{
+		int	n = ends[i] - starts[i];
+
+		if (scratch.length < n)
+			scratch = new byte[Math.max(n, 2 * scratch.length)];
+
+		view.clear();
+		view.position(starts[i]);
+		view.get(scratch, 0, n);
+
+		return n;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,819 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:12 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.data;
+
+//import java.lang.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.zip.*;
+import edu.ou.cs.hci.assignment.prototypee.Movie;
+import edu.ou.cs.hci.assignment.prototypee.MovieStore;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MovieColumnFile</CODE> class reads and writes movie collections in
+ * a compact binary format (.mvc files). Each attribute is stored as its own
+ * column, in this order after a short header (magic, version, movie count):
+ *
+ *   year, runtime, numberOfReviews, genre		int arrays
+ *   averageReviewScore							double array
+ *   awards, isAnimated, isColor					bitset, six bits per movie
+ *   rating, director								dictionary, then codes
+ *   title, image, summary, comments				deflated text blocks
+ *
+ * Numeric columns are moved to and from the file in bulk through a buffer, so
+ * reading them costs little more than the I/O itself. Dictionary codes take
+ * one byte per movie when there are at most 256 distinct values. Text columns
+ * are split into blocks of length-prefixed UTF-8 strings, and each block is
+ * deflated on its own, since free text makes up most of a collection. Missing
+ * text is saved as empty strings. When reading, the text columns are inflated
+ * a block at a time and rows are added to the store as they go, so only a
+ * few blocks of text are ever held outside of it.
+ *
+ * @version %I%, %G%
+ */
+public final class MovieColumnFile
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final String		EXTENSION = ".mvc";
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		MAGIC = 0x4D564331;		// "MVC1"
+	private static final int		VERSION = 1;
+	private static final int		BUFFER = 1 << 20;		// I/O buffer size
+	private static final int		BLOCK = 1 << 20;		// Text block size
+
+	// Bits of each movie in the flag column
+	private static final int		FLAGS = 6;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private MovieColumnFile()
+	{
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	public static boolean	isColumnFile(File file)
+	{
+		return file.getName().toLowerCase().endsWith(EXTENSION);
+	}
+
+	// Writes the movies to a file next to the target, then moves it over the
+	// target, so that a failed save leaves the old file as it was.
+	public static void	write(File file, List<Movie> movies)
+		throws IOException
+	{
+		int		n = movies.size();
+		int[]		year = new int[n];
+		int[]		runtime = new int[n];
+		int[]		numberOfReviews = new int[n];
+		int[]		genre = new int[n];
+		double[]	averageReviewScore = new double[n];
+		BitSet		flags = new BitSet(n * FLAGS);
+
+		for (int i=0; i<n; i++)
+		{
+			Movie	movie = movies.get(i);
+			int	b = i * FLAGS;
+
+			year[i] = movie.getYear();
+			runtime[i] = movie.getRuntime();
+			numberOfReviews[i] = movie.getNumberOfReviews();
+			genre[i] = movie.getGenre();
+			averageReviewScore[i] = movie.getAverageReviewScore();
+
+			flags.set(b, movie.getAwardPicture());
+			flags.set(b + 1, movie.getAwardDirecting());
+			flags.set(b + 2, movie.getAwardCinematography());
+			flags.set(b + 3, movie.getAwardActing());
+			flags.set(b + 4, movie.getIsAnimated());
+			flags.set(b + 5, movie.getIsColor());
+		}
+
+		File	temp = new File(file.getAbsoluteFile().getParentFile(),
+								file.getName() + ".tmp");
+
+		try (Output out = new Output(temp))
+		{
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(n);
+
+			out.putInts(year);
+			out.putInts(runtime);
+			out.putInts(numberOfReviews);
+			out.putInts(genre);
+			out.putDoubles(averageReviewScore);
+
+			long[]	words = flags.toLongArray();
+
+			out.putInt(words.length);
+			out.putLongs(words);
+
+			putDictionary(out, movies, Movie::getRating);
+			putDictionary(out, movies, Movie::getDirector);
+
+			putText(out, movies, Movie::getTitle);
+			putText(out, movies, Movie::getImage);
+			putText(out, movies, Movie::getSummary);
+			putText(out, movies, Movie::getComments);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			temp.delete();
+			throw ex;
+		}
+
+		move(temp, file);
+	}
+
+	// Reads the movies in a file into new rows at the end of a store.
+	public static void	read(File file, MovieStore store)
+		throws IOException
+	{
+		read(file, store, (count, total) -> true);
+	}
+
+	// Reads the movies in a file into new rows at the end of a store, as
+	// their text is inflated. The text columns are read side by side, each
+	// from its own place in the file, and rows are added as far as all of
+	// their current blocks go. After each run of rows, the consumer is given
+	// the number of movies read so far and in all, and can return false to
+	// stop reading.
+	public static void	read(File file, MovieStore store,
+								 BiPredicate<Integer, Integer> consumer)
+		throws IOException
+	{
+		try (Input in = new Input(file))
+		{
+			if (in.getInt() != MAGIC)
+				throw new IOException("Not a movie collection file: " + file);
+
+			if (in.getInt() != VERSION)
+				throw new IOException("Unsupported version in " + file);
+
+			int			n = in.getInt();
+			int[]		year = in.getInts(n);
+			int[]		runtime = in.getInts(n);
+			int[]		numberOfReviews = in.getInts(n);
+			int[]		genre = in.getInts(n);
+			double[]	averageReviewScore = in.getDoubles(n);
+			BitSet		flags = BitSet.valueOf(in.getLongs(in.getInt()));
+			Dictionary	rating = new Dictionary(in, n);
+			Dictionary	director = new Dictionary(in, n);
+
+			FileChannel	channel = in.getChannel();
+			TextReader	title = new TextReader(channel, in.position());
+			TextReader	image = new TextReader(channel, title.getEnd(n));
+			TextReader	summary = new TextReader(channel, image.getEnd(n));
+			TextReader	comments = new TextReader(channel, summary.getEnd(n));
+
+			try
+			{
+				for (int i=0; i<n; )
+				{
+					int	end = i + Math.min(Math.min(title.available(),
+													image.available()),
+											Math.min(summary.available(),
+													comments.available()));
+
+					for (; i<end; i++)
+					{
+						int	b = i * FLAGS;
+
+						store.add(title.next(), image.next(), year[i],
+								  rating.get(i), runtime[i],
+								  flags.get(b), flags.get(b + 1),
+								  flags.get(b + 2), flags.get(b + 3),
+								  averageReviewScore[i], numberOfReviews[i],
+								  genre[i], director.get(i),
+								  flags.get(b + 4), flags.get(b + 5),
+								  summary.next(), comments.next());
+					}
+
+					if (!consumer.test(i, n))
+						return;
+				}
+			}
+			finally
+			{
+				title.close();
+				image.close();
+				summary.close();
+				comments.close();
+			}
+		}
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Writes the distinct values of a string attribute, then the index of
+	// each movie's value among them.
+	private static void	putDictionary(Output out, List<Movie> movies,
+										  Function<Movie, String> attribute)
+		throws IOException
+	{
+		HashMap<String, Integer>	codes = new HashMap<String, Integer>();
+		ArrayList<String>			values = new ArrayList<String>();
+		int[]						index = new int[movies.size()];
+
+		for (int i=0; i<index.length; i++)
+		{
+			String		value = Objects.toString(attribute.apply(movies.get(i)),
+												"");
+			Integer	code = codes.get(value);
+
+			if (code == null)
+			{
+				code = values.size();
+				codes.put(value, code);
+				values.add(value);
+			}
+
+			index[i] = code;
+		}
+
+		out.putInt(values.size());
+
+		for (String value : values)
+			out.putString(value);
+
+		if (values.size() <= 256)
+		{
+			byte[]	bytes = new byte[index.length];
+
+			for (int i=0; i<index.length; i++)
+				bytes[i] = (byte)index[i];
+
+			out.putBytes(bytes, 0, bytes.length);
+		}
+		else
+		{
+			out.putInts(index);
+		}
+	}
+
+	// Writes a text attribute as deflated blocks. Each block starts with its
+	// number of strings, raw size, and deflated size.
+	private static void	putText(Output out, List<Movie> movies,
+									Function<Movie, String> attribute)
+		throws IOException
+	{
+		Deflater	deflater = new Deflater(Deflater.BEST_SPEED);
+		byte[]		block = new byte[BLOCK];
+		byte[]		packed = new byte[BLOCK];
+		int		size = 0;
+		int		count = 0;
+
+		try
+		{
+			for (int i=0; i<=movies.size(); i++)
+			{
+				byte[]	bytes = null;
+
+				if (i < movies.size())
+					bytes = Objects.toString(attribute.apply(movies.get(i)), "")
+						.getBytes(StandardCharsets.UTF_8);
+
+				// Finish the block when full or out of strings
+				if ((count > 0) && ((bytes == null) ||
+									(size + 4 + bytes.length > block.length)))
+				{
+					deflater.reset();
+					deflater.setInput(block, 0, size);
+					deflater.finish();
+
+					int	length = 0;
+
+					while (!deflater.finished())
+					{
+						if (length == packed.length)
+							packed = Arrays.copyOf(packed, 2 * packed.length);
+
+						length += deflater.deflate(packed, length,
+												   packed.length - length);
+					}
+
+					out.putInt(count);
+					out.putInt(size);
+					out.putInt(length);
+					out.putBytes(packed, 0, length);
+
+					size = 0;
+					count = 0;
+				}
+
+				if (bytes == null)
+					break;
+
+				if (4 + bytes.length > block.length)
+					block = new byte[4 + bytes.length];
+
+				ByteBuffer.wrap(block, size, 4).putInt(bytes.length);
+				System.arraycopy(bytes, 0, block, size + 4, bytes.length);
+				size += 4 + bytes.length;
+				count++;
+			}
+		}
+		finally
+		{
+			deflater.end();
+		}
+	}
+
+	private static void	move(File from, File to)
+		throws IOException
+	{
+		try
+		{
+			Files.move(from.toPath(), to.toPath(),
+					   StandardCopyOption.ATOMIC_MOVE,
+					   StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException ex)
+		{
+			Files.move(from.toPath(), to.toPath(),
+					   StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Writes values to a file through a buffer that is flushed when full.
+	private static final class Output
+		implements Closeable
+	{
+		private final FileChannel	channel;
+		private final ByteBuffer	buffer;
+
+		public Output(File file)
+			throws IOException
+		{
+			channel = FileChannel.open(file.toPath(),
+									   StandardOpenOption.CREATE,
+									   StandardOpenOption.WRITE,
+									   StandardOpenOption.TRUNCATE_EXISTING);
+			buffer = ByteBuffer.allocateDirect(BUFFER);
+		}
+
+		public void	putInt(int value)
+			throws IOException
+		{
+			reserve(4);
+			buffer.putInt(value);
+		}
+
+		public void	putInts(int[] values)
+			throws IOException
+		{
+			for (int i=0; i<values.length; )
+			{
+				reserve(4);
+
+				int	k = Math.min(values.length - i, buffer.remaining() / 4);
+
+				buffer.asIntBuffer().put(values, i, k);
+				buffer.position(buffer.position() + 4 * k);
+				i += k;
+			}
+		}
+
+		public void	putLongs(long[] values)
+			throws IOException
+		{
+			for (int i=0; i<values.length; )
+			{
+				reserve(8);
+
+				int	k = Math.min(values.length - i, buffer.remaining() / 8);
+
+				buffer.asLongBuffer().put(values, i, k);
+				buffer.position(buffer.position() + 8 * k);
+				i += k;
+			}
+		}
+
+		public void	putDoubles(double[] values)
+			throws IOException
+		{
+			for (int i=0; i<values.length; )
+			{
+				reserve(8);
+
+				int	k = Math.min(values.length - i, buffer.remaining() / 8);
+
+				buffer.asDoubleBuffer().put(values, i, k);
+				buffer.position(buffer.position() + 8 * k);
+				i += k;
+			}
+		}
+
+		public void	putBytes(byte[] values, int offset, int length)
+			throws IOException
+		{
+			for (int i=0; i<length; )
+			{
+				reserve(1);
+
+				int	k = Math.min(length - i, buffer.remaining());
+
+				buffer.put(values, offset + i, k);
+				i += k;
+			}
+		}
+
+		public void	putString(String value)
+			throws IOException
+		{
+			byte[]	bytes = value.getBytes(StandardCharsets.UTF_8);
+
+			putInt(bytes.length);
+			putBytes(bytes, 0, bytes.length);
+		}
+
+		public void	close()
+			throws IOException
+		{
+			try
+			{
+				flush();
+				channel.force(true);			// Before it replaces the target
+			}
+			finally
+			{
+				channel.close();
+			}
+		}
+
+		private void	reserve(int n)
+			throws IOException
+		{
+			if (buffer.remaining() < n)
+				flush();
+		}
+
+		private void	flush()
+			throws IOException
+		{
+			buffer.flip();
+
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+
+			buffer.clear();
+		}
+	}
+
+	// Reads values from a file through a buffer that is refilled as needed.
+	private static final class Input
+		implements Closeable
+	{
+		private final FileChannel	channel;
+		private final ByteBuffer	buffer;
+
+		public Input(File file)
+			throws IOException
+		{
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			buffer = ByteBuffer.allocateDirect(BUFFER);
+			buffer.flip();
+		}
+
+		public int	getInt()
+			throws IOException
+		{
+			require(4);
+
+			return buffer.getInt();
+		}
+
+		public int[]	getInts(int n)
+			throws IOException
+		{
+			int[]	values = new int[n];
+
+			for (int i=0; i<n; )
+			{
+				require(4);
+
+				int	k = Math.min(n - i, buffer.remaining() / 4);
+
+				buffer.asIntBuffer().get(values, i, k);
+				buffer.position(buffer.position() + 4 * k);
+				i += k;
+			}
+
+			return values;
+		}
+
+		public long[]	getLongs(int n)
+			throws IOException
+		{
+			long[]	values = new long[n];
+
+			for (int i=0; i<n; )
+			{
+				require(8);
+
+				int	k = Math.min(n - i, buffer.remaining() / 8);
+
+				buffer.asLongBuffer().get(values, i, k);
+				buffer.position(buffer.position() + 8 * k);
+				i += k;
+			}
+
+			return values;
+		}
+
+		public double[]	getDoubles(int n)
+			throws IOException
+		{
+			double[]	values = new double[n];
+
+			for (int i=0; i<n; )
+			{
+				require(8);
+
+				int	k = Math.min(n - i, buffer.remaining() / 8);
+
+				buffer.asDoubleBuffer().get(values, i, k);
+				buffer.position(buffer.position() + 8 * k);
+				i += k;
+			}
+
+			return values;
+		}
+
+		public void	getBytes(byte[] values, int offset, int length)
+			throws IOException
+		{
+			for (int i=0; i<length; )
+			{
+				require(1);
+
+				int	k = Math.min(length - i, buffer.remaining());
+
+				buffer.get(values, offset + i, k);
+				i += k;
+			}
+		}
+
+		public String[]	getStrings(int n)
+			throws IOException
+		{
+			String[]	values = new String[n];
+			byte[]		bytes = new byte[256];
+
+			for (int i=0; i<n; i++)
+			{
+				int	length = getInt();
+
+				if (bytes.length < length)
+					bytes = new byte[Math.max(length, 2 * bytes.length)];
+
+				getBytes(bytes, 0, length);
+				values[i] = new String(bytes, 0, length,
+									   StandardCharsets.UTF_8);
+			}
+
+			return values;
+		}
+
+		public FileChannel	getChannel()
+		{
+			return channel;
+		}
+
+		// Returns the place in the file of the next value to be read.
+		public long	position()
+			throws IOException
+		{
+			return channel.position() - buffer.remaining();
+		}
+
+		public void	close()
+			throws IOException
+		{
+			channel.close();
+		}
+
+		// Makes sure at least n bytes are in the buffer, reading more if not.
+		private void	require(int n)
+			throws IOException
+		{
+			if (buffer.remaining() >= n)
+				return;
+
+			buffer.compact();
+
+			while (buffer.position() < n)
+				if (channel.read(buffer) < 0)
+					throw new EOFException();
+
+			buffer.flip();
+		}
+	}
+
+	// The distinct values of a string attribute, and the index of each
+	// movie's value among them, kept as bytes when there are few values.
+	private static final class Dictionary
+	{
+		private final String[]	values;
+		private final byte[]	bytes;
+		private final int[]	index;
+
+		public Dictionary(Input in, int n)
+			throws IOException
+		{
+			values = in.getStrings(in.getInt());
+
+			if (values.length <= 256)
+			{
+				bytes = new byte[n];
+				index = null;
+
+				in.getBytes(bytes, 0, n);
+			}
+			else
+			{
+				bytes = null;
+				index = in.getInts(n);
+			}
+		}
+
+		public String	get(int i)
+		{
+			return values[(bytes != null) ? (bytes[i] & 0xFF) : index[i]];
+		}
+	}
+
+	// Reads the strings of a text attribute a block at a time, from its own
+	// place in the file, so that several attributes can be read side by side.
+	private static final class TextReader
+		implements Closeable
+	{
+		private final FileChannel	channel;
+		private long				position;	// Of the next block
+		private final Inflater		inflater;
+		private final ByteBuffer	header;
+
+		private byte[]				block;
+		private byte[]				packed;
+		private ByteBuffer			strings;	// In the current block
+		private int				left;		// Strings left in it
+
+		public TextReader(FileChannel channel, long position)
+		{
+			this.channel = channel;
+			this.position = position;
+
+			inflater = new Inflater();
+			header = ByteBuffer.allocate(12);
+
+			block = new byte[BLOCK];
+			packed = new byte[BLOCK];
+		}
+
+		// Returns the place in the file just past the blocks that hold the
+		// next number of strings, reading only the blocks' headers.
+		public long	getEnd(int n)
+			throws IOException
+		{
+			long	end = position;
+
+			for (int i=0; i<n; )
+			{
+				header.clear();
+				readFully(channel, header, end);
+
+				i += header.getInt();
+				header.getInt();
+				end += 12 + header.getInt();
+			}
+
+			return end;
+		}
+
+		// Returns the number of strings left in the current block, inflating
+		// the next block if there are none.
+		public int	available()
+			throws IOException
+		{
+			while (left == 0)
+				inflate();
+
+			return left;
+		}
+
+		public String	next()
+			throws IOException
+		{
+			available();
+
+			int		k = strings.getInt();
+			String	s = new String(block, strings.position(), k,
+								   StandardCharsets.UTF_8);
+
+			strings.position(strings.position() + k);
+			left--;
+
+			return s;
+		}
+
+		public void	close()
+		{
+			inflater.end();
+		}
+
+		private void	inflate()
+			throws IOException
+		{
+			header.clear();
+			readFully(channel, header, position);
+
+			int	count = header.getInt();
+			int	size = header.getInt();
+			int	length = header.getInt();
+
+			if (block.length < size)
+				block = new byte[size];
+
+			if (packed.length < length)
+				packed = new byte[length];
+
+			readFully(channel, ByteBuffer.wrap(packed, 0, length),
+					  position + 12);
+			position += 12 + length;
+
+			inflater.reset();
+			inflater.setInput(packed, 0, length);
+
+			try
+			{
+				if (inflater.inflate(block, 0, size) != size)
+					throw new IOException("Truncated text block");
+			}
+			catch (DataFormatException ex)
+			{
+				throw new IOException("Corrupt text block", ex);
+			}
+
+			strings = ByteBuffer.wrap(block, 0, size);
+			left = count;
+		}
+
+		// Fills the rest of a buffer from a place in a file, then flips it for
+		// reading.
+		private static void	readFully(FileChannel channel, ByteBuffer buffer,
+									  long position)
+			throws IOException
+		{
+			while (buffer.hasRemaining())
+			{
+				int	k = channel.read(buffer, position);
+
+				if (k < 0)
+					throw new EOFException();
+
+				position += k;
+			}
+
+			buffer.flip();
+		}
+	}
+}
+
+//******************************************************************************
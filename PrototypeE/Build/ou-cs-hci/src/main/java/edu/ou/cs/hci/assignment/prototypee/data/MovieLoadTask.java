@@ -0,0 +1,462 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:12 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.data;
+
+//import java.lang.*;
+import java.io.*;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import javafx.concurrent.Task;
+import org.apache.commons.csv.*;
+import edu.ou.cs.hci.assignment.prototypee.Movie;
+import edu.ou.cs.hci.assignment.prototypee.MovieStore;
+import edu.ou.cs.hci.resources.Resources;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MovieLoadTask</CODE> class parses a movie collection file into
+ * the rows of a MovieStore on a background thread. Movies that view the new
+ * rows are handed off in chunks through a queue that the JavaFX application
+ * thread drains with pollChunk(). Progress is the fraction of the file's
+ * bytes read so far. The value of the task is the total number of movies
+ * loaded.
+ *
+ * Binary (.mvc) files are read with MovieColumnFile, and handed off a run of
+ * rows at a time as their text is inflated. Other local files are read
+ * through a MappedCSVReader, which decodes fields straight from the mapped
+ * file. Large local files are split into segments that are read in parallel.
+ * Other URLs are read through a stream.
+ *
+ * @version %I%, %G%
+ */
+public final class MovieLoadTask extends Task<Integer>
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	CHUNK = 1024;		// Movies per handoff
+
+	// Files at least this big are parsed in parallel segments
+	private static final long	PARALLEL_THRESHOLD = 32L << 20;
+
+	// Segments of a large local file per fork/join worker
+	private static final int	SEGMENTS_PER_WORKER = 4;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final URL								url;
+	private final File								file;
+	private final String							name;
+	private final MovieStore						store;
+	private final ConcurrentLinkedQueue<List<Movie>>	chunks;
+
+	// Rows of a binary file that have been handed off
+	private int										handed;
+
+	// Set to stop reading segments of a large file once they aren't needed
+	private volatile boolean						stopped;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public MovieLoadTask(URL url, String name)
+	{
+		this(url, null, name);
+	}
+
+	public MovieLoadTask(File file)
+		throws IOException
+	{
+		this(file.toURI().toURL(), file, file.getName());
+	}
+
+	private MovieLoadTask(URL url, File file, String name)
+	{
+		this.url = url;
+		this.file = file;
+		this.name = name;
+
+		store = new MovieStore();
+		chunks = new ConcurrentLinkedQueue<List<Movie>>();
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public String	getName()
+	{
+		return name;
+	}
+
+	// The store that the rows of the collection are added to.
+	public MovieStore	getStore()
+	{
+		return store;
+	}
+
+	// Takes the next chunk of loaded movies, or null if none are ready yet.
+	public List<Movie>	pollChunk()
+	{
+		return chunks.poll();
+	}
+
+	//**********************************************************************
+	// Override Methods (Task)
+	//**********************************************************************
+
+	protected Integer	call()
+		throws Exception
+	{
+		if ((file != null) && MovieColumnFile.isColumnFile(file))
+			return callColumns();
+
+		if (file != null)
+			return callMapped();
+
+		URLConnection		connection = url.openConnection();
+		long				total = connection.getContentLengthLong();
+
+		updateMessage("Loading " + name + "...");
+		updateProgress(-1, 1);
+
+		if (total >= PARALLEL_THRESHOLD)
+		{
+			connection.getInputStream().close();
+
+			return callParallel();
+		}
+
+		CountingInputStream	is =
+			new CountingInputStream(connection.getInputStream());
+		int					count = 0;
+
+		try (CSVParser parser = Resources.getCSVParser(is))
+		{
+			for (CSVRecord item : parser)
+			{
+				if (isCancelled())
+					return count;
+
+				store.add(item.toList());
+				count++;
+
+				if (count % CHUNK == 0)
+				{
+					handOff(count - CHUNK, count);
+
+					if (total > 0)
+						updateProgress(is.getCount(), total);
+
+					updateMessage("Loading " + name + "... " + count +
+								  " movies");
+				}
+			}
+
+			handOff(count - count % CHUNK, count);
+		}
+
+		updateProgress(1, 1);
+		updateMessage("Loaded " + count + " movies from " + name);
+
+		return count;
+	}
+
+	// Reads a binary file, handing off the movies as their text is inflated.
+	private Integer	callColumns()
+		throws IOException
+	{
+		updateMessage("Loading " + name + "...");
+		updateProgress(-1, 1);
+
+		MovieColumnFile.read(file, store, this::addColumns);
+
+		int	count = store.size();
+
+		if (isCancelled())
+			return count;
+
+		updateProgress(1, 1);
+		updateMessage("Loaded " + count + " movies from " + name);
+
+		return count;
+	}
+
+	// Reads a local file through mapped windows. Large files are split into
+	// segments that are read in parallel, and handed off in order.
+	private Integer	callMapped()
+		throws IOException
+	{
+		updateMessage("Loading " + name + "...");
+		updateProgress(-1, 1);
+
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+													StandardOpenOption.READ))
+		{
+			long	total = channel.size();
+			int	count;
+
+			if (total >= PARALLEL_THRESHOLD)
+				count = callMappedParallel(channel, total);
+			else
+				count = callMappedSerial(channel, total);
+
+			if (isCancelled())
+				return count;
+
+			updateProgress(1, 1);
+			updateMessage("Loaded " + count + " movies from " + name);
+
+			return count;
+		}
+	}
+
+	private int	callMappedSerial(FileChannel channel, long total)
+		throws IOException
+	{
+		int	count = 0;
+
+		try (MappedCSVReader reader = new MappedCSVReader(channel, 0L, total))
+		{
+			while (reader.next())
+			{
+				if (isCancelled())
+					return count;
+
+				store.add(reader);
+				count++;
+
+				if (count % CHUNK == 0)
+				{
+					handOff(count - CHUNK, count);
+
+					updateProgress(reader.getPosition(), total);
+					updateMessage("Loading " + name + "... " + count +
+								  " movies");
+				}
+			}
+
+			handOff(count - count % CHUNK, count);
+		}
+
+		return count;
+	}
+
+	// Reads the segments of a large file on fork/join workers, and adds them
+	// to the store in order. Only a few segments past the one being added
+	// are read ahead, so that the segments waiting to be added don't hold a
+	// second copy of the collection. If any segment fails, or the task is
+	// cancelled, the others are stopped.
+	private int	callMappedParallel(FileChannel channel, long total)
+		throws IOException
+	{
+		int		parallelism = ForkJoinPool.getCommonPoolParallelism();
+		long[]		bounds = MappedCSVReader.split(channel,
+							parallelism * SEGMENTS_PER_WORKER);
+		int		n = bounds.length - 1;
+		int		ahead = parallelism + 1;	// Segments read at once
+		ArrayList<ForkJoinTask<MovieStore>>	parts =
+			new ArrayList<ForkJoinTask<MovieStore>>();
+
+		try
+		{
+			for (int i=0; i<n; i++)
+			{
+				while ((parts.size() < n) && (parts.size() < i + ahead))
+				{
+					long	from = bounds[parts.size()];
+					long	to = bounds[parts.size() + 1];
+
+					parts.add(ForkJoinPool.commonPool().submit(() ->
+										readSegment(channel, from, to)));
+				}
+
+				if (isCancelled())
+					return store.size();
+
+				int	from = store.size();
+
+				store.addAll(parts.get(i).join());
+				parts.set(i, null);					// Let the segment go
+				handOff(from, store.size());
+
+				updateProgress(bounds[i + 1], total);
+				updateMessage("Loading " + name + "... " + store.size() +
+							  " movies");
+			}
+		}
+		finally
+		{
+			stopped = true;
+
+			for (ForkJoinTask<MovieStore> part : parts)
+				if (part != null)
+					part.cancel(false);
+		}
+
+		return store.size();
+	}
+
+	// Reads the rows in one segment of a file into a store of their own, on
+	// a fork/join worker. The rows are added to the collection's store later.
+	private MovieStore	readSegment(FileChannel channel, long from, long to)
+	{
+		MovieStore	part = new MovieStore();
+
+		try (MappedCSVReader reader = new MappedCSVReader(channel, from, to))
+		{
+			while (reader.next() && !isCancelled() && !stopped)
+				part.add(reader);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+
+		return part;
+	}
+
+	// Parses the file on the fork/join pool. The rows of each segment are
+	// added and handed off as soon as it and those before it are parsed.
+	private Integer	callParallel()
+		throws IOException
+	{
+		Resources.getCSVDataParallel(url, item -> item, this::addSegment);
+
+		int	count = store.size();
+
+		if (isCancelled())
+			return count;
+
+		updateProgress(1, 1);
+		updateMessage("Loaded " + count + " movies from " + name);
+
+		return count;
+	}
+
+	// Adds and hands off the rows parsed from one segment of the file.
+	// Returns false to stop parsing if the task has been cancelled.
+	private boolean	addSegment(List<List<String>> part, Double fraction)
+	{
+		if (isCancelled())
+			return false;
+
+		int	from = store.size();
+
+		for (List<String> item : part)
+			store.add(item);
+
+		handOff(from, store.size());
+
+		updateProgress(fraction, 1.0);
+		updateMessage("Loading " + name + "... " + store.size() + " movies");
+
+		return true;
+	}
+
+	// Hands off the rows read so far from a binary file that haven't been
+	// yet. Returns false to stop reading if the task has been cancelled.
+	private boolean	addColumns(Integer count, Integer total)
+	{
+		if (isCancelled())
+			return false;
+
+		handOff(handed, count);
+		handed = count;
+
+		updateProgress(count, total);
+		updateMessage("Loading " + name + "... " + count + " movies");
+
+		return true;
+	}
+
+	// Hands off movies for the rows in a range of the store, in chunks.
+	private void	handOff(int from, int to)
+	{
+		for (int i=from; i<to; i+=CHUNK)
+		{
+			int				n = Math.min(to, i + CHUNK);
+			ArrayList<Movie>	chunk = new ArrayList<Movie>(n - i);
+
+			for (int row=i; row<n; row++)
+				chunk.add(new Movie(store, row));
+
+			chunks.add(chunk);
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Keeps track of how many bytes have been read from the wrapped stream.
+	private static final class CountingInputStream
+		extends FilterInputStream
+	{
+		private volatile long	count;
+
+		public CountingInputStream(InputStream in)
+		{
+			super(in);
+		}
+
+		public long	getCount()
+		{
+			return count;
+		}
+
+		public int	read()
+			throws IOException
+		{
+			int	b = super.read();
+
+			if (b >= 0)
+				count++;
+
+			return b;
+		}
+
+		public int	read(byte[] b, int off, int len)
+			throws IOException
+		{
+			int	n = super.read(b, off, len);
+
+			if (n > 0)
+				count += n;
+
+			return n;
+		}
+
+		public long	skip(long n)
+			throws IOException
+		{
+			long	k = super.skip(n);
+
+			count += k;
+
+			return k;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,179 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:18 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Bitmap</CODE> class keeps one bit per movie in a collection, in
+ * 64-bit words. Unlike BitSet, it has a fixed size and exposes its words, so
+ * that filters can combine and compare bitmaps a word at a time.
+ *
+ * @version %I%, %G%
+ */
+public final class Bitmap
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private long[]		words = new long[0];
+	private int		size;					// Bits
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Bitmap()
+	{
+	}
+
+	public Bitmap(int size)
+	{
+		setSize(size);
+	}
+
+	//**********************************************************************
+	// Public Methods (Size)
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	// Grows or shrinks the bitmap. Bits added at the end are clear.
+	public void	setSize(int size)
+	{
+		int	n = wordCount(size);
+
+		if (n > words.length)
+			words = Arrays.copyOf(words, Math.max(n, 2 * words.length));
+
+		if (size < this.size)
+		{
+			Arrays.fill(words, n, wordCount(this.size), 0L);
+
+			if ((size & 63) != 0)
+				words[n - 1] &= (1L << size) - 1L;
+		}
+
+		this.size = size;
+	}
+
+	//**********************************************************************
+	// Public Methods (Bits)
+	//**********************************************************************
+
+	public boolean	get(int i)
+	{
+		return ((words[i >>> 6] & (1L << i)) != 0L);
+	}
+
+	public void	set(int i)
+	{
+		words[i >>> 6] |= (1L << i);
+	}
+
+	public void	clear(int i)
+	{
+		words[i >>> 6] &= ~(1L << i);
+	}
+
+	public void	set(int i, boolean v)
+	{
+		if (v)
+			set(i);
+		else
+			clear(i);
+	}
+
+	// Returns the index of the first set bit at or after i, or -1 if none.
+	public int	nextSetBit(int i)
+	{
+		if (i >= size)
+			return -1;
+
+		int		w = i >>> 6;
+		long	word = words[w] & (-1L << i);
+
+		while (true)
+		{
+			if (word != 0L)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+
+			if (++w >= wordCount(size))
+				return -1;
+
+			word = words[w];
+		}
+	}
+
+	public int	cardinality()
+	{
+		int	n = 0;
+
+		for (int w=0; w<wordCount(size); w++)
+			n += Long.bitCount(words[w]);
+
+		return n;
+	}
+
+	//**********************************************************************
+	// Public Methods (Words)
+	//**********************************************************************
+
+	public int	getWordCount()
+	{
+		return wordCount(size);
+	}
+
+	public long	getWord(int w)
+	{
+		return words[w];
+	}
+
+	public void	setWord(int w, long v)
+	{
+		words[w] = v & getMask(w);
+	}
+
+	// Returns a word with the bits of word w that are inside the bitmap set.
+	public long	getMask(int w)
+	{
+		int	n = size - (w << 6);
+
+		return ((n >= 64) ? -1L : ((1L << n) - 1L));
+	}
+
+	public void	copy(Bitmap other)
+	{
+		setSize(other.size);
+		System.arraycopy(other.words, 0, words, 0, wordCount(size));
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private static int	wordCount(int size)
+	{
+		return (size + 63) >>> 6;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,897 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:27 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import edu.ou.cs.hci.assignment.prototypee.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Expression</CODE> class compiles a query typed into the title
+ * field into a tree of predicates. A query is a list of clauses that movies
+ * must all pass, such as:
+ *
+ *   year:2000..2005 genre:Drama|Comedy rating:PG-13 score:>7.5
+ *   director:"Ron Howard" -genre:Horror
+ *
+ * Fields are title, director, summary, comments, year, runtime, score,
+ * reviews, genre, and rating. Numbers can be given exactly, as a range a..b
+ * (either end can be left off), or after <, <=, >, or >=. Text fields pass
+ * movies whose text contains the value. Values separated by | are
+ * alternatives, and a clause that starts with - passes the movies that the
+ * rest of it doesn't. Quotes allow spaces in values. Words that aren't
+ * clauses are left for the title criterion, as before.
+ *
+ * Clauses that an index can answer are evaluated first, from the index, in
+ * order of how many movies they pass, so that the fewest movies are left
+ * for the clauses that have to test each movie. Those are tested last, on
+ * only the movies that passed everything else, cheapest first.
+ *
+ * @version %I%, %G%
+ */
+public final class Expression
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final String[]	FIELDS =
+	{
+		"title", "director", "summary", "comments",
+		"year", "runtime", "score", "reviews",
+		"genre", "rating",
+	};
+
+	private static final int[]		COLUMNS =
+	{
+		MovieStore.TITLE, MovieStore.DIRECTOR,
+		MovieStore.SUMMARY, MovieStore.COMMENTS,
+		MovieStore.YEAR, MovieStore.RUNTIME,
+		MovieStore.AVERAGE_REVIEW_SCORE, MovieStore.NUMBER_OF_REVIEWS,
+		MovieStore.GENRE, MovieStore.RATING,
+	};
+
+	// Movies to test between checks for cancellation
+	private static final int		CHECK = 4096;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final String			text;			// Words for the title
+	private final ArrayList<Node>	clauses;
+	private final String			canonical;		// For equals()
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private Expression(String text, ArrayList<Node> clauses)
+	{
+		StringBuilder	b = new StringBuilder();
+
+		for (Node clause : clauses)
+			b.append(clause).append(' ');
+
+		this.text = text;
+		this.clauses = clauses;
+		this.canonical = b.toString();
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Compiles a query. Genres are named in the order of their bits, and
+	// ratings are matched to the names given regardless of case. Throws
+	// IllegalArgumentException for a clause with a value that doesn't fit
+	// its field.
+	public static Expression	parse(String s, List<String> genres,
+									  List<String> ratings)
+	{
+		ArrayList<Node>	clauses = new ArrayList<Node>();
+		StringBuilder		words = new StringBuilder();
+
+		for (String token : split(s))
+		{
+			boolean	not = token.startsWith("-");
+			String		body = (not ? token.substring(1) : token);
+			int		colon = body.indexOf(':');
+			int		field = ((colon > 0) ?
+								 indexOf(body.substring(0, colon)) : -1);
+			String		value = ((colon > 0) ? body.substring(colon + 1) :
+								 "");
+
+			if ((field == -1) || value.isEmpty())
+			{
+				if (words.length() > 0)
+					words.append(' ');
+
+				words.append(unquote(token));
+				continue;
+			}
+
+			ArrayList<Node>	alternatives = new ArrayList<Node>();
+
+			for (String v : value.split("\\|"))
+				alternatives.add(compile(field, unquote(v), genres,
+										 ratings));
+
+			Node	clause = ((alternatives.size() == 1) ? alternatives.get(0) :
+							  new Or(alternatives));
+
+			clauses.add(not ? new Not(clause) : clause);
+		}
+
+		return new Expression(words.toString(), clauses);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Returns the words that aren't in clauses, for the title criterion.
+	public String	getText()
+	{
+		return text;
+	}
+
+	public boolean	isEmpty()
+	{
+		return clauses.isEmpty();
+	}
+
+	// Returns the clauses in a canonical order, without repeats, so that
+	// expressions that pass the same movies have the same key. Ignores the
+	// words for the title.
+	public String	getKey()
+	{
+		TreeSet<String>	keys = new TreeSet<String>();
+
+		for (Node clause : clauses)
+			keys.add(clause.toString());
+
+		return String.join(" ", keys);
+	}
+
+	// Returns true if the clauses depend on a column of stores.
+	public boolean	uses(int column)
+	{
+		for (Node clause : clauses)
+			if (clause.uses(column))
+				return true;
+
+		return false;
+	}
+
+	// Returns a mask of the genres that the clauses name.
+	public int	getGenres()
+	{
+		int	genres = 0;
+
+		for (Node clause : clauses)
+			genres |= clause.getGenres();
+
+		return genres;
+	}
+
+	// Returns the ratings that the clauses name.
+	public Set<String>	getRatings()
+	{
+		HashSet<String>	ratings = new HashSet<String>();
+
+		for (Node clause : clauses)
+			clause.addRatings(ratings);
+
+		return ratings;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public boolean	test(Movie movie)
+	{
+		for (Node clause : clauses)
+			if (!clause.test(movie))
+				return false;
+
+		return true;
+	}
+
+	// Sets the bits for the movies that pass all of the clauses. Returns
+	// false if the thread was interrupted before it finished.
+	public boolean	evaluate(Indexes indexes, Bitmap result)
+	{
+		ArrayList<Bitmap>	found = new ArrayList<Bitmap>();
+		ArrayList<Node>	tested = new ArrayList<Node>();
+
+		for (Node clause : clauses)
+		{
+			Bitmap	bitmap = clause.find(indexes);
+
+			if (bitmap != null)
+				found.add(bitmap);
+			else
+				tested.add(clause);
+
+			if (indexes.isCancelled())
+				return false;
+		}
+
+		// Combine the most selective clauses first, so that the result is
+		// empty as soon as possible
+		int[]	counts = new int[found.size()];
+		Integer[]	order = new Integer[found.size()];
+
+		for (int k=0; k<order.length; k++)
+		{
+			counts[k] = found.get(k).cardinality();
+			order[k] = k;
+		}
+
+		Arrays.sort(order, (a, b) -> Integer.compare(counts[a], counts[b]));
+
+		int	words = result.getWordCount();
+
+		for (int w=0; w<words; w++)
+			result.setWord(w, -1L);
+
+		for (int k : order)
+		{
+			Bitmap	bitmap = found.get(k);
+			boolean	any = false;
+
+			for (int w=0; w<words; w++)
+			{
+				long	word = result.getWord(w) & bitmap.getWord(w);
+
+				result.setWord(w, word);
+				any = any || (word != 0L);
+			}
+
+			if (!any)
+				return true;
+		}
+
+		if (tested.isEmpty())
+			return true;
+
+		// Test the rest on the movies left, cheapest first, in parallel
+		tested.sort((a, b) -> Integer.compare(a.cost(), b.cost()));
+
+		Movie[]	movies = indexes.getMovies();
+
+		return ParallelScan.run(words,
+			(from, to) -> test(tested, movies, indexes, result, from, to));
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Clears the bits in a chunk of words for movies that fail a clause.
+	private static boolean	test(ArrayList<Node> tested, Movie[] movies,
+								 Indexes indexes, Bitmap result, int from,
+								 int to)
+	{
+		int	k = 0;
+
+		for (int w=from; w<to; w++)
+		{
+			long	word = result.getWord(w);
+
+			for (long bits=word; bits!=0L; bits&=(bits - 1L))
+			{
+				if (((++k % CHECK) == 0) && indexes.isCancelled())
+					return false;
+
+				int	i = (w << 6) + Long.numberOfTrailingZeros(bits);
+
+				for (Node clause : tested)
+				{
+					if (!clause.test(movies[i]))
+					{
+						word &= ~(bits & -bits);
+						break;
+					}
+				}
+			}
+
+			result.setWord(w, word);
+		}
+
+		return true;
+	}
+
+	//**********************************************************************
+	// Override Methods (Object)
+	//**********************************************************************
+
+	public boolean	equals(Object object)
+	{
+		if (!(object instanceof Expression))
+			return false;
+
+		Expression	other = (Expression)object;
+
+		return (text.equals(other.text) && canonical.equals(other.canonical));
+	}
+
+	public int	hashCode()
+	{
+		return canonical.hashCode() * 31 + text.hashCode();
+	}
+
+	public String	toString()
+	{
+		return canonical + text;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Splits a query at spaces that aren't in quotes.
+	private static ArrayList<String>	split(String s)
+	{
+		ArrayList<String>	tokens = new ArrayList<String>();
+		StringBuilder		b = new StringBuilder();
+		boolean			quoted = false;
+
+		for (int i=0; i<s.length(); i++)
+		{
+			char	c = s.charAt(i);
+
+			if (c == '"')
+				quoted = !quoted;
+
+			if (Character.isWhitespace(c) && !quoted)
+			{
+				if (b.length() > 0)
+					tokens.add(b.toString());
+
+				b.setLength(0);
+			}
+			else
+			{
+				b.append(c);
+			}
+		}
+
+		if (b.length() > 0)
+			tokens.add(b.toString());
+
+		return tokens;
+	}
+
+	private static String	unquote(String s)
+	{
+		return s.replace("\"", "");
+	}
+
+	private static int	indexOf(String field)
+	{
+		for (int i=0; i<FIELDS.length; i++)
+			if (FIELDS[i].equalsIgnoreCase(field))
+				return i;
+
+		return -1;
+	}
+
+	private static Node	compile(int field, String value, List<String> genres,
+								List<String> ratings)
+	{
+		int	column = COLUMNS[field];
+
+		switch (column)
+		{
+			case MovieStore.TITLE:
+			case MovieStore.DIRECTOR:
+			case MovieStore.SUMMARY:
+			case MovieStore.COMMENTS:
+				return new Contains(FIELDS[field], column, value);
+
+			case MovieStore.GENRE:
+			{
+				for (int g=0; g<genres.size(); g++)
+					if (genres.get(g).equalsIgnoreCase(value))
+						return new Genre(g, genres.get(g));
+
+				throw new IllegalArgumentException("Unknown genre: " + value);
+			}
+
+			case MovieStore.RATING:
+			{
+				for (String rating : ratings)
+					if (rating.equalsIgnoreCase(value))
+						return new Rating(rating);
+
+				return new Rating(value);
+			}
+		}
+
+		return compileRange(field, column, value);
+	}
+
+	// Compiles a number, a range a..b, or a comparison with a number.
+	private static Node	compileRange(int field, int column, String value)
+	{
+		double	min = Double.NEGATIVE_INFINITY;
+		double	max = Double.POSITIVE_INFINITY;
+
+		try
+		{
+			int	dots = value.indexOf("..");
+
+			if (dots >= 0)
+			{
+				String	a = value.substring(0, dots).trim();
+				String	b = value.substring(dots + 2).trim();
+
+				if (!a.isEmpty())
+					min = Double.parseDouble(a);
+
+				if (!b.isEmpty())
+					max = Double.parseDouble(b);
+			}
+			else if (value.startsWith(">="))
+			{
+				min = Double.parseDouble(value.substring(2));
+			}
+			else if (value.startsWith("<="))
+			{
+				max = Double.parseDouble(value.substring(2));
+			}
+			else if (value.startsWith(">"))
+			{
+				min = Math.nextUp(Double.parseDouble(value.substring(1)));
+			}
+			else if (value.startsWith("<"))
+			{
+				max = Math.nextDown(Double.parseDouble(value.substring(1)));
+			}
+			else
+			{
+				min = Double.parseDouble(value);
+				max = min;
+			}
+		}
+		catch (NumberFormatException ex)
+		{
+			throw new IllegalArgumentException("Not a number or range for " +
+											   FIELDS[field] + ": " + value);
+		}
+
+		return new Range(FIELDS[field], column, min, max);
+	}
+
+	//**********************************************************************
+	// Inner Interfaces
+	//**********************************************************************
+
+	// The indexes that clauses can use, built for the movies being filtered.
+	public interface Indexes
+	{
+		public int			getCount();
+		public Movie[]		getMovies();
+
+		// Returns an index of titles, or null if none.
+		public TitleIndex	getTitles();
+
+		// Returns an index of the values in a column, or null if none.
+		public RangeIndex	getRange(int column);
+
+		// Returns bitmaps of genres and ratings, or null if none.
+		public FacetIndex	getFacets();
+
+		// Returns true if the evaluation should stop.
+		public boolean	isCancelled();
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// A predicate in the tree.
+	private abstract static class Node
+	{
+		public abstract boolean	test(Movie movie);
+
+		public abstract boolean	uses(int column);
+
+		// Returns the movies that pass, from indexes, or null if each movie
+		// has to be tested.
+		public Bitmap	find(Indexes indexes)
+		{
+			return null;
+		}
+
+		// Returns how costly testing a movie is, relative to other nodes.
+		public int	cost()
+		{
+			return 1;
+		}
+
+		// Returns a mask of the genres that the node names.
+		public int	getGenres()
+		{
+			return 0;
+		}
+
+		// Adds the ratings that the node names.
+		public void	addRatings(Set<String> ratings)
+		{
+		}
+	}
+
+	private static final class Contains extends Node
+	{
+		private final String	field;
+		private final int		column;
+		private final String	value;
+		private final byte[]	bytes;
+
+		public Contains(String field, int column, String value)
+		{
+			this.field = field;
+			this.column = column;
+			this.value = value;
+			this.bytes = value.getBytes(StandardCharsets.UTF_8);
+		}
+
+		public boolean	test(Movie movie)
+		{
+			MovieStore	store = movie.getStore();
+			int		row = movie.getRow();
+			String		s;
+
+			switch (column)
+			{
+				case MovieStore.TITLE:
+					return store.titleContains(row, bytes);
+
+				case MovieStore.DIRECTOR:
+					s = store.getDirector(row);	break;
+
+				case MovieStore.SUMMARY:
+					s = store.getSummary(row);	break;
+
+				default:
+					s = store.getComments(row);	break;
+			}
+
+			return ((s != null) && s.contains(value));
+		}
+
+		public boolean	uses(int column)
+		{
+			return (this.column == column);
+		}
+
+		// Titles can be found from their trigrams, then checked.
+		public Bitmap	find(Indexes indexes)
+		{
+			TitleIndex	titles = indexes.getTitles();
+
+			if ((column != MovieStore.TITLE) || (titles == null) ||
+				!TitleIndex.isSearchable(value))
+				return null;
+
+			int		n = indexes.getCount();
+			Movie[]	movies = indexes.getMovies();
+			Bitmap	bitmap = new Bitmap(n);
+
+			for (int i : titles.find(value))
+				if ((i < n) && test(movies[i]))
+					bitmap.set(i);
+
+			return bitmap;
+		}
+
+		public int	cost()
+		{
+			return ((column == MovieStore.TITLE) ? 2 : 3);	// Decoding
+		}
+
+		public String	toString()
+		{
+			return field + ":\"" + value + "\"";
+		}
+	}
+
+	private static final class Range extends Node
+	{
+		private final String	field;
+		private final int		column;
+		private final double	min;
+		private final double	max;
+
+		public Range(String field, int column, double min, double max)
+		{
+			this.field = field;
+			this.column = column;
+			this.min = min;
+			this.max = max;
+		}
+
+		public boolean	test(Movie movie)
+		{
+			double	v = RangeIndex.getValue(movie, column);
+
+			return ((v >= min) && (v <= max));
+		}
+
+		public boolean	uses(int column)
+		{
+			return (this.column == column);
+		}
+
+		public Bitmap	find(Indexes indexes)
+		{
+			RangeIndex	range = indexes.getRange(column);
+
+			if (range == null)
+				return null;
+
+			int		n = indexes.getCount();
+			Bitmap	bitmap = new Bitmap(n);
+
+			for (int i : range.find(min, max))
+				if (i < n)
+					bitmap.set(i);
+
+			return bitmap;
+		}
+
+		public String	toString()
+		{
+			return field + ":" + min + ".." + max;
+		}
+	}
+
+	private static final class Genre extends Node
+	{
+		private final int		genre;				// Bit in the mask
+		private final String	name;
+
+		public Genre(int genre, String name)
+		{
+			this.genre = genre;
+			this.name = name;
+		}
+
+		public boolean	test(Movie movie)
+		{
+			return ((movie.getStore().getGenre(movie.getRow()) &
+					 (1 << genre)) != 0);
+		}
+
+		public boolean	uses(int column)
+		{
+			return (column == MovieStore.GENRE);
+		}
+
+		public Bitmap	find(Indexes indexes)
+		{
+			FacetIndex	facets = indexes.getFacets();
+
+			if (facets == null)
+				return null;
+
+			Bitmap	bitmap = new Bitmap(indexes.getCount());
+			Bitmap	facet = facets.getGenreBitmap(genre);
+
+			if (facet != null)
+				for (int w=0; w<bitmap.getWordCount(); w++)
+					bitmap.setWord(w, facet.getWord(w));
+
+			return bitmap;
+		}
+
+		public int	getGenres()
+		{
+			return (1 << genre);
+		}
+
+		public String	toString()
+		{
+			return "genre:" + name;
+		}
+	}
+
+	private static final class Rating extends Node
+	{
+		private final String	rating;
+
+		public Rating(String rating)
+		{
+			this.rating = rating;
+		}
+
+		public boolean	test(Movie movie)
+		{
+			return rating.equals(movie.getStore().getRating(movie.getRow()));
+		}
+
+		public boolean	uses(int column)
+		{
+			return (column == MovieStore.RATING);
+		}
+
+		public Bitmap	find(Indexes indexes)
+		{
+			FacetIndex	facets = indexes.getFacets();
+
+			if (facets == null)
+				return null;
+
+			Bitmap	bitmap = new Bitmap(indexes.getCount());
+			int	number = facets.getRatingNumber(rating);
+
+			if (number != -1)
+				for (int w=0; w<bitmap.getWordCount(); w++)
+					bitmap.setWord(w, facets.getRatingBitmap(number).getWord(w));
+
+			return bitmap;
+		}
+
+		public void	addRatings(Set<String> ratings)
+		{
+			ratings.add(rating);
+		}
+
+		public String	toString()
+		{
+			return "rating:" + rating;
+		}
+	}
+
+	// Passes movies that pass any of its alternatives.
+	private static final class Or extends Node
+	{
+		private final ArrayList<Node>	nodes;
+
+		public Or(ArrayList<Node> nodes)
+		{
+			this.nodes = nodes;
+		}
+
+		public boolean	test(Movie movie)
+		{
+			for (Node node : nodes)
+				if (node.test(movie))
+					return true;
+
+			return false;
+		}
+
+		public boolean	uses(int column)
+		{
+			return nodes.get(0).uses(column);		// All the same field
+		}
+
+		public Bitmap	find(Indexes indexes)
+		{
+			Bitmap	bitmap = null;
+
+			for (Node node : nodes)
+			{
+				Bitmap	b = node.find(indexes);
+
+				if (b == null)
+					return null;
+
+				if (bitmap == null)
+				{
+					bitmap = b;
+					continue;
+				}
+
+				for (int w=0; w<bitmap.getWordCount(); w++)
+					bitmap.setWord(w, bitmap.getWord(w) | b.getWord(w));
+			}
+
+			return bitmap;
+		}
+
+		public int	cost()
+		{
+			return nodes.get(0).cost() * nodes.size();
+		}
+
+		public int	getGenres()
+		{
+			int	genres = 0;
+
+			for (Node node : nodes)
+				genres |= node.getGenres();
+
+			return genres;
+		}
+
+		public void	addRatings(Set<String> ratings)
+		{
+			for (Node node : nodes)
+				node.addRatings(ratings);
+		}
+
+		public String	toString()
+		{
+			StringBuilder	b = new StringBuilder();
+
+			for (Node node : nodes)
+				b.append((b.length() > 0) ? "|" : "").append(node);
+
+			return b.toString();
+		}
+	}
+
+	// Passes movies that its clause doesn't.
+	private static final class Not extends Node
+	{
+		private final Node	node;
+
+		public Not(Node node)
+		{
+			this.node = node;
+		}
+
+		public boolean	test(Movie movie)
+		{
+			return !node.test(movie);
+		}
+
+		public boolean	uses(int column)
+		{
+			return node.uses(column);
+		}
+
+		public Bitmap	find(Indexes indexes)
+		{
+			Bitmap	bitmap = node.find(indexes);
+
+			if (bitmap != null)
+				for (int w=0; w<bitmap.getWordCount(); w++)
+					bitmap.setWord(w, ~bitmap.getWord(w));
+
+			return bitmap;
+		}
+
+		public int	cost()
+		{
+			return node.cost();
+		}
+
+		public int	getGenres()
+		{
+			return node.getGenres();
+		}
+
+		public void	addRatings(Set<String> ratings)
+		{
+			node.addRatings(ratings);
+		}
+
+		public String	toString()
+		{
+			return "-" + node;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,235 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:24 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>FacetIndex</CODE> class keeps a bitmap of the movies in a
+ * collection for each genre and for each rating. The movies with any of a
+ * set of genres are the OR of their bitmaps, a word at a time, and counting
+ * the movies with a genre among other matches is a popcount of an AND.
+ *
+ * Ratings are numbered in the order the index first sees them, since movies
+ * in a collection may come from stores that code ratings differently. Each
+ * movie's genres and rating number are kept too, so that an edit can clear
+ * the old bits without being told the old values.
+ *
+ * Unlike TitleIndex and RangeIndex, the index is only used on the JavaFX
+ * application thread.
+ *
+ * @version %I%, %G%
+ */
+public final class FacetIndex
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	GENRES = 32;			// Bits in a genre mask
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Movies with each genre, or null if none has had it yet
+	private final Bitmap[]					genres;
+
+	// Movies with each rating, and the ratings by number
+	private final ArrayList<Bitmap>		ratings;
+	private final ArrayList<String>		names;
+	private final HashMap<String, Integer>	numbers;
+
+	// The genres and rating number of each movie
+	private int[]							genreOf;
+	private int[]							ratingOf;
+	private int							size;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public FacetIndex()
+	{
+		genres = new Bitmap[GENRES];
+		ratings = new ArrayList<Bitmap>();
+		names = new ArrayList<String>();
+		numbers = new HashMap<String, Integer>();
+
+		genreOf = new int[16];
+		ratingOf = new int[16];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	public int	getGenres(int index)
+	{
+		return genreOf[index];
+	}
+
+	public int	getRating(int index)
+	{
+		return ratingOf[index];
+	}
+
+	// Returns the number of ratings seen so far.
+	public int	getRatingCount()
+	{
+		return names.size();
+	}
+
+	public String	getRatingName(int number)
+	{
+		return names.get(number);
+	}
+
+	// Returns the number of a rating, or -1 if no movie has had it.
+	public int	getRatingNumber(String rating)
+	{
+		Integer	number = numbers.get(rating);
+
+		return ((number == null) ? -1 : number);
+	}
+
+	// Returns the bitmap for a genre bit, or null if no movie has had it.
+	public Bitmap	getGenreBitmap(int genre)
+	{
+		return genres[genre];
+	}
+
+	public Bitmap	getRatingBitmap(int number)
+	{
+		return ratings.get(number);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns a copy of the bitmaps for a mask of genres and some ratings,
+	// which can be read in the background while this index is edited on the
+	// JavaFX application thread. The copy only has those bitmaps, and
+	// doesn't know the genres and rating of each movie, so it is only for
+	// finding movies with the genres and ratings, and can't be edited.
+	public FacetIndex	copy(int genres, Collection<String> ratings)
+	{
+		FacetIndex	other = new FacetIndex();
+
+		other.size = size;
+
+		for (int g=0; g<GENRES; g++)
+		{
+			if (((genres & (1 << g)) != 0) && (this.genres[g] != null))
+			{
+				other.genres[g] = new Bitmap();
+				other.genres[g].copy(this.genres[g]);
+			}
+		}
+
+		for (int k=0; k<this.ratings.size(); k++)
+		{
+			Bitmap	bitmap = null;
+
+			if (ratings.contains(names.get(k)))
+			{
+				bitmap = new Bitmap();
+				bitmap.copy(this.ratings.get(k));
+			}
+
+			other.ratings.add(bitmap);
+		}
+
+		other.names.addAll(names);
+		other.numbers.putAll(numbers);
+
+		return other;
+	}
+
+	// Grows the index for movies appended to the collection. They have no
+	// genres or rating until set.
+	public void	setSize(int size)
+	{
+		if (size > genreOf.length)
+		{
+			int	n = Math.max(size, 2 * genreOf.length);
+
+			genreOf = Arrays.copyOf(genreOf, n);
+			ratingOf = Arrays.copyOf(ratingOf, n);
+		}
+
+		Arrays.fill(genreOf, this.size, size, 0);
+		Arrays.fill(ratingOf, this.size, size, -1);
+		this.size = size;
+
+		for (Bitmap bitmap : genres)
+			if (bitmap != null)
+				bitmap.setSize(size);
+
+		for (Bitmap bitmap : ratings)
+			bitmap.setSize(size);
+	}
+
+	// Moves a movie to the bitmaps for its genres and rating.
+	public void	set(int index, int genre, String rating)
+	{
+		int	oldGenre = genreOf[index];
+		int	oldRating = ratingOf[index];
+
+		for (int g=0; g<GENRES; g++)
+		{
+			int	bit = 1 << g;
+
+			if ((oldGenre & bit) != 0)
+				genres[g].clear(index);
+
+			if ((genre & bit) != 0)
+			{
+				if (genres[g] == null)
+					genres[g] = new Bitmap(size);
+
+				genres[g].set(index);
+			}
+		}
+
+		if (oldRating != -1)
+			ratings.get(oldRating).clear(index);
+
+		int	number = getRatingNumber(rating);
+
+		if (number == -1)
+		{
+			number = names.size();
+			names.add(rating);
+			numbers.put(rating, number);
+			ratings.add(new Bitmap(size));
+		}
+
+		ratings.get(number).set(index);
+
+		genreOf[index] = genre;
+		ratingOf[index] = number;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,643 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:23 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.*;
+import javafx.collections.*;
+import edu.ou.cs.hci.assignment.prototypee.Movie;
+import edu.ou.cs.hci.assignment.prototypee.MovieStore;
+
+//******************************************************************************
+
+/**
+ * The <CODE>FilterCheck</CODE> class checks the indexes and scans that
+ * MovieFilter relies on against brute force, on a collection of random
+ * movies: the candidates that TitleIndex finds, the movies that RangeIndex
+ * finds in ranges, the bits that ParallelScan sets in a Bitmap, and the
+ * matching movies that a MovieFilter lists as its criteria change and movies
+ * are edited, appended, and removed, and the movies that a search for words
+ * lists along with the other criteria.
+ *
+ * It doesn't need a display, since a filter without an executor evaluates
+ * its criteria on the calling thread, in parallel chunks for collections as
+ * big as the default. Run it with an optional number of movies (default
+ * 200000), number of rounds per check (default 200), and random seed
+ * (default 1). It exits with status 1 if any check fails.
+ *
+ * @version %I%, %G%
+ */
+public final class FilterCheck
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Words that titles are made of
+	private static final String[]	WORDS = {
+		"The", "the", "Lord", "ring", "Star", "wars", "Night", "day", "love",
+		"Dark", "king", "man", "War", "city", "blue", "red", "river", "time",
+		"lost", "house", "dead", "\u00e9clair", "th\u00e9orie",
+	};
+
+	private static final String[]	RATINGS = { "G", "PG", "PG-13", "R", };
+
+	private static final int[]		RANGES = {
+		MovieStore.YEAR, MovieStore.RUNTIME,
+		MovieStore.AVERAGE_REVIEW_SCORE, MovieStore.NUMBER_OF_REVIEWS,
+	};
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final Random		random;
+	private final int			rounds;
+	private final MovieStore	store;
+	private final Movie[]		movies;
+	private int				failures;
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		int		n = ((args.length > 0) ? Integer.parseInt(args[0]) : 200000);
+		int		rounds = ((args.length > 1) ? Integer.parseInt(args[1]) : 200);
+		long	seed = ((args.length > 2) ? Long.parseLong(args[2]) : 1L);
+
+		FilterCheck	check = new FilterCheck(n, rounds, seed);
+
+		check.checkTitleIndex();
+		check.checkRangeIndex();
+		check.checkParallelScan();
+		check.checkMatches();
+		check.checkSearch();
+
+		if (check.failures > 0)
+		{
+			System.err.println(check.failures + " checks failed");
+			System.exit(1);
+		}
+
+		System.out.println("All checks passed");
+	}
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private FilterCheck(int n, int rounds, long seed)
+	{
+		this.random = new Random(seed);
+		this.rounds = rounds;
+
+		store = new MovieStore();
+		movies = new Movie[n];
+
+		for (int i=0; i<n; i++)
+		{
+			int	row = store.add(createTitle(), null,
+								1950 + random.nextInt(70),
+								RATINGS[random.nextInt(RATINGS.length)],
+								60 + random.nextInt(140),
+								random.nextBoolean(), random.nextBoolean(),
+								random.nextBoolean(), random.nextBoolean(),
+								random.nextInt(101) / 10.0,
+								random.nextInt(1000), random.nextInt(256),
+								"Director " + random.nextInt(50),
+								random.nextBoolean(), random.nextBoolean(),
+								null, null);
+
+			movies[i] = new Movie(store, row);
+		}
+	}
+
+	//**********************************************************************
+	// Private Methods (Checks)
+	//**********************************************************************
+
+	// Every title that contains a string must be among the candidates that
+	// the index finds for it, in order, including after titles are edited.
+	private void	checkTitleIndex()
+	{
+		int	start = failures;
+
+		TitleIndex	index = new TitleIndex();
+		int		n = movies.length;
+		String[]	titles = new String[n];
+
+		for (int i=0; i<n; i++)
+		{
+			titles[i] = store.getTitle(i);
+			index.add(i, titles[i]);
+		}
+
+		for (int k=0; k<rounds; k++)
+		{
+			int		i = random.nextInt(n);
+			String	title = createTitle();
+
+			index.remove(i, titles[i]);
+			index.add(i, title);
+			titles[i] = title;
+		}
+
+		for (int k=0; k<rounds; k++)
+		{
+			String	s = createQuery(titles[random.nextInt(n)]);
+			int[]	found = index.find(s);
+			boolean[]	candidate = new boolean[n];
+
+			for (int j=0; j<found.length; j++)
+			{
+				if ((j > 0) && (found[j - 1] >= found[j]))
+					fail("TitleIndex", "candidates out of order for " + s);
+
+				candidate[found[j]] = true;
+			}
+
+			for (int i=0; i<n; i++)
+			{
+				if (titles[i].contains(s) && !candidate[i])
+				{
+					fail("TitleIndex", "missed " + titles[i] + " for " + s);
+					break;
+				}
+			}
+		}
+
+		report("TitleIndex", start);
+	}
+
+	// Every movie with a value in a range must be found, in order of value,
+	// while values are appended after the index is sorted and edited both
+	// before and after being sorted into it.
+	private void	checkRangeIndex()
+	{
+		int	start = failures;
+		int	n = movies.length;
+
+		for (int column : RANGES)
+		{
+			RangeIndex	index = new RangeIndex(column);
+
+			index.build(movies, n / 2);
+			index.find(0.0, 0.0);					// Sort what's there
+
+			for (int i=n/2; i<n; i++)
+				index.add(i, RangeIndex.getValue(movies[i], column));
+
+			for (int k=0; k<rounds; k++)
+			{
+				int		i = random.nextInt(n);
+				double	old = RangeIndex.getValue(movies[i], column);
+
+				setValue(i, column, createValue(column));
+				index.update(i, old, RangeIndex.getValue(movies[i], column));
+			}
+
+			for (int k=0; k<rounds; k++)
+			{
+				double	min = createValue(column);
+				double	max = min + createValue(column) / 4.0;
+
+				if (random.nextInt(8) == 0)
+					min = Double.NEGATIVE_INFINITY;
+
+				if (random.nextInt(8) == 0)
+					max = Double.POSITIVE_INFINITY;
+
+				int[]	found = index.find(min, max);
+				int[]	expected = findRange(column, min, max);
+
+				if (!Arrays.equals(found, expected))
+					fail("RangeIndex", "column " + column + " from " + min +
+						 " to " + max + " found " + found.length + " of " +
+						 expected.length);
+			}
+		}
+
+		report("RangeIndex", start);
+	}
+
+	// Scanning a bitmap in parallel chunks must set the same bits as one
+	// at a time, and stop when a chunk is cancelled. Shrinking the bitmap
+	// must clear the bits past its end.
+	private void	checkParallelScan()
+	{
+		int	start = failures;
+
+		int			size = ParallelScan.WORDS * 64 * 3 + random.nextInt(4096);
+		boolean[]	expected = new boolean[size];
+		Bitmap		bitmap = new Bitmap(size);
+
+		for (int i=0; i<size; i++)
+			expected[i] = (random.nextInt(3) == 0);
+
+		boolean	done = ParallelScan.run(bitmap.getWordCount(), (from, to) ->
+			{
+				for (int i=from<<6; i<Math.min(to<<6, size); i++)
+					bitmap.set(i, expected[i]);
+
+				return true;
+			});
+
+		if (!done)
+			fail("ParallelScan", "scan didn't finish");
+
+		checkBits(bitmap, expected, size);
+
+		if (ParallelScan.run(bitmap.getWordCount(), (from, to) -> from == 0))
+			fail("ParallelScan", "cancelled scan finished");
+
+		int	smaller = size - 1 - random.nextInt(200);
+
+		bitmap.setSize(smaller);
+		bitmap.setSize(size);
+		Arrays.fill(expected, smaller, size, false);
+		checkBits(bitmap, expected, size);
+
+		report("ParallelScan", start);
+	}
+
+	// The movies that a filter lists, and those in a list kept up to date
+	// from its change events, must be the ones that pass its criteria, in
+	// collection order.
+	private void	checkMatches()
+	{
+		int	start = failures;
+
+		int						n = movies.length;
+		ObservableList<Movie>	source =
+			FXCollections.observableArrayList(
+				Arrays.asList(movies).subList(0, n / 2));
+		int						next = source.size();
+		MovieFilter				filter = new MovieFilter();
+		ArrayList<Movie>		mirror = new ArrayList<Movie>();
+
+		filter.getMovies().addListener((ListChangeListener<Movie>)c ->
+			{
+				while (c.next())
+				{
+					if (c.wasRemoved())
+						mirror.subList(c.getFrom(),
+									   c.getFrom() + c.getRemovedSize()).clear();
+
+					if (c.wasAdded())
+						mirror.addAll(c.getFrom(), c.getAddedSubList());
+				}
+			});
+
+		Criteria	criteria = new Criteria();
+
+		filter.setGenres(criteria.genres);
+		filter.setRating(criteria.rating);
+		filter.setSource(source);
+
+		for (int k=0; k<rounds; k++)
+		{
+			int	change = random.nextInt(6);
+
+			switch (change)
+			{
+				case 0:
+					criteria.title = createQuery(createTitle());
+					filter.setTitle(criteria.title);
+					break;
+
+				case 1:
+					criteria.genres = random.nextInt(256);
+					filter.setGenres(criteria.genres);
+					break;
+
+				case 2:
+					criteria.rating = RATINGS[random.nextInt(RATINGS.length)];
+					filter.setRating(criteria.rating);
+					break;
+
+				case 3:
+				{
+					int		j = random.nextInt(RANGES.length);
+					double	min = createValue(RANGES[j]);
+
+					criteria.min[j] = ((random.nextInt(4) == 0) ?
+									   Double.NEGATIVE_INFINITY : min);
+					criteria.max[j] = ((random.nextInt(4) == 0) ?
+									   Double.POSITIVE_INFINITY :
+									   min + createValue(RANGES[j]));
+					filter.setRange(RANGES[j], criteria.min[j],
+									criteria.max[j]);
+					break;
+				}
+
+				case 4:
+				{
+					Movie	movie = source.get(random.nextInt(source.size()));
+					int		j = random.nextInt(RANGES.length + 3);
+
+					if (j < RANGES.length)
+						setValue(movie.getRow(), RANGES[j],
+								 createValue(RANGES[j]));
+					else if (j == RANGES.length)
+						movie.setTitle(createTitle());
+					else if (j == RANGES.length + 1)
+						movie.setGenre(random.nextInt(256));
+					else
+						movie.setRating(RATINGS[random.nextInt(
+													RATINGS.length)]);
+					break;
+				}
+
+				case 5:
+					if ((next < n) && (random.nextInt(4) > 0))
+					{
+						int	m = Math.min(n - next, 1 + random.nextInt(5000));
+
+						source.addAll(Arrays.asList(movies).subList(next,
+																	next + m));
+						next += m;
+					}
+					else
+					{
+						source.remove(random.nextInt(source.size()));
+					}
+					break;
+			}
+
+			ArrayList<Movie>	expected = new ArrayList<Movie>();
+
+			for (Movie movie : source)
+				if (criteria.test(movie))
+					expected.add(movie);
+
+			if (!expected.equals(new ArrayList<Movie>(filter.getMovies())))
+				fail("MovieFilter", "after change " + change + ", listed " +
+					 filter.getMovies().size() + " of " + expected.size());
+
+			if (!expected.equals(mirror))
+				fail("MovieFilter", "after change " + change +
+					 ", change events differ from list");
+		}
+
+		report("MovieFilter", start);
+	}
+
+	// A search for a word must list as many movies that have the word and
+	// pass the other criteria as it can, up to the most it lists, however
+	// many movies that fail the other criteria rank above them.
+	private void	checkSearch()
+	{
+		int	start = failures;
+
+		ObservableList<Movie>	source =
+			FXCollections.observableArrayList(movies);
+		MovieFilter				filter = new MovieFilter();
+		Criteria				criteria = new Criteria();
+
+		filter.setSource(source);
+		filter.setSearch(true);
+
+		for (int k=0; k<rounds; k++)
+		{
+			String	word = WORDS[random.nextInt(WORDS.length)];
+
+			criteria.genres = 1 << random.nextInt(8);
+			criteria.rating = RATINGS[random.nextInt(RATINGS.length)];
+
+			filter.setTitle(word);
+			filter.setGenres(criteria.genres);
+			filter.setRating(criteria.rating);
+
+			if (random.nextBoolean())		// Edit a movie into the criteria
+			{
+				Movie	movie = source.get(random.nextInt(source.size()));
+
+				movie.setGenre(criteria.genres);
+				movie.setRating(criteria.rating);
+			}
+
+			String	key = TextIndex.getWords(word)[0];
+			int		expected = 0;
+
+			for (Movie movie : source)
+				if (hasWord(movie, key) && criteria.test(movie))
+					expected++;
+
+			List<Movie>	listed = filter.getMovies();
+
+			if (listed.size() != Math.min(expected, MovieFilter.HITS))
+				fail("Search", "for \"" + word + "\", listed " +
+					 listed.size() + " of " + expected);
+
+			for (Movie movie : listed)
+			{
+				if (!hasWord(movie, key) || !criteria.test(movie))
+				{
+					fail("Search", "for \"" + word + "\", listed " +
+						 movie.getTitle() + ", which doesn't pass");
+					break;
+				}
+			}
+		}
+
+		report("Search", start);
+	}
+
+	//**********************************************************************
+	// Private Methods (Helpers)
+	//**********************************************************************
+
+	private static boolean	hasWord(Movie movie, String word)
+	{
+		String[]	words = TextIndex.getWords(movie.getTitle() + " " +
+											   movie.getDirector());
+
+		return Arrays.asList(words).contains(word);
+	}
+
+	private void	checkBits(Bitmap bitmap, boolean[] expected, int size)
+	{
+		int	count = 0;
+
+		for (int i=0; i<size; i++)
+		{
+			if (bitmap.get(i) != expected[i])
+			{
+				fail("ParallelScan", "bit " + i + " differs");
+				return;
+			}
+
+			if (expected[i])
+				count++;
+		}
+
+		if (bitmap.cardinality() != count)
+			fail("ParallelScan", "cardinality " + bitmap.cardinality() +
+				 " instead of " + count);
+
+		int	seen = 0;
+
+		for (int i=bitmap.nextSetBit(0); i>=0; i=bitmap.nextSetBit(i + 1))
+			seen++;
+
+		if (seen != count)
+			fail("ParallelScan", "nextSetBit found " + seen + " instead of " +
+				 count);
+	}
+
+	// Returns the indices of movies with values in a range, sorted by value,
+	// then index.
+	private int[]	findRange(int column, double min, double max)
+	{
+		ArrayList<Integer>	found = new ArrayList<Integer>();
+
+		for (int i=0; i<movies.length; i++)
+		{
+			double	v = RangeIndex.getValue(movies[i], column);
+
+			if ((v >= min) && (v <= max))
+				found.add(i);
+		}
+
+		found.sort((a, b) ->
+			{
+				int	c = Double.compare(RangeIndex.getValue(movies[a], column),
+									   RangeIndex.getValue(movies[b], column));
+
+				return ((c != 0) ? c : Integer.compare(a, b));
+			});
+
+		int[]	result = new int[found.size()];
+
+		for (int i=0; i<result.length; i++)
+			result[i] = found.get(i);
+
+		return result;
+	}
+
+	private String	createTitle()
+	{
+		StringBuilder	sb = new StringBuilder();
+		int				words = 1 + random.nextInt(3);
+
+		for (int i=0; i<words; i++)
+			sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+
+		return sb.append(random.nextInt(1000)).toString();
+	}
+
+	// Returns part of a title, long enough for the title index to search.
+	private String	createQuery(String title)
+	{
+		int	length = TitleIndex.GRAM +
+			random.nextInt(Math.max(1, title.length() - TitleIndex.GRAM));
+		int	from = random.nextInt(title.length() - length + 1);
+
+		return title.substring(from, from + length);
+	}
+
+	private double	createValue(int column)
+	{
+		switch (column)
+		{
+			case MovieStore.YEAR:
+				return 1950 + random.nextInt(70);
+
+			case MovieStore.RUNTIME:
+				return 60 + random.nextInt(140);
+
+			case MovieStore.AVERAGE_REVIEW_SCORE:
+				return random.nextInt(101) / 10.0;
+
+			default:
+				return random.nextInt(1000);
+		}
+	}
+
+	private void	setValue(int row, int column, double v)
+	{
+		switch (column)
+		{
+			case MovieStore.YEAR:
+				store.setYear(row, (int)v);
+				break;
+
+			case MovieStore.RUNTIME:
+				store.setRuntime(row, (int)v);
+				break;
+
+			case MovieStore.AVERAGE_REVIEW_SCORE:
+				store.setAverageReviewScore(row, v);
+				break;
+
+			default:
+				store.setNumberOfReviews(row, (int)v);
+				break;
+		}
+	}
+
+	private void	report(String name, int start)
+	{
+		if (failures == start)
+			System.out.println(name + ": ok");
+	}
+
+	private void	fail(String name, String message)
+	{
+		System.err.println(name + ": " + message);
+		failures++;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The criteria last given to the filter, tested one movie at a time.
+	private static final class Criteria
+	{
+		private String			title = "";
+		private int			genres = 255;
+		private String			rating = RATINGS[0];
+		private final double[]	min = new double[RANGES.length];
+		private final double[]	max = new double[RANGES.length];
+
+		public Criteria()
+		{
+			Arrays.fill(min, Double.NEGATIVE_INFINITY);
+			Arrays.fill(max, Double.POSITIVE_INFINITY);
+		}
+
+		public boolean	test(Movie movie)
+		{
+			if (!movie.getTitle().contains(title) ||
+				((movie.getGenre() & genres) == 0) ||
+				!rating.equals(movie.getRating()))
+				return false;
+
+			for (int j=0; j<RANGES.length; j++)
+			{
+				double	v = RangeIndex.getValue(movie, RANGES[j]);
+
+				if ((v < min[j]) || (v > max[j]))
+					return false;
+			}
+
+			return true;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,1703 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:27 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import javafx.application.Platform;
+import javafx.beans.property.*;
+import javafx.collections.*;
+import edu.ou.cs.hci.assignment.prototypee.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MovieFilter</CODE> class keeps the list of movies in a collection
+ * that pass the title, genre, rating, and range criteria of CollectionPane.
+ * Range criteria limit the year, runtime, average review score, and number
+ * of reviews of movies to a minimum and maximum. An Expression compiled from
+ * clauses typed in the title field is one more criterion.
+ *
+ * A bitmap for each criterion says which movies pass it. When a criterion
+ * changes, only its bitmap is evaluated again, and only for the movies that
+ * can change (for instance, a longer title string can only remove matches).
+ * When a movie is edited, only its bits are evaluated again. Movies appended
+ * to the collection while it loads are evaluated as they arrive. Titles are
+ * found with a trigram index once the title string is long enough, which is
+ * built the first time it is needed and kept up to date after that. Ranges
+ * are found with sorted indexes of their values in the same way. Genres and
+ * ratings are found by combining bitmaps from a facet index. A search for
+ * words ranks only the movies that pass the other criteria, and searches
+ * again when they change.
+ *
+ * Given an executor, criteria are evaluated in the background. A criterion
+ * that changes again before its evaluation finishes cancels it, and only the
+ * latest result is applied, on the JavaFX application thread. Movies that
+ * were appended or edited in the meantime are evaluated again as it is.
+ *
+ * The list of matching movies reports only the movies that were added or
+ * removed, so that a table showing it keeps its scroll position and
+ * selection. The list can't be changed directly.
+ *
+ * The filter also counts the movies with each genre and each rating among
+ * the movies that pass the other criteria, so that a view can show how many
+ * movies choosing one would give. Counts come from the facet index a word
+ * at a time when a criterion changes, and are adjusted for just the movie
+ * when one is edited.
+ *
+ * The bitmaps of recent title, range, and expression criteria are kept in a
+ * cache, so that going back to one of them applies it at once instead of
+ * evaluating it again. Edits correct the edited movie's bit in just the
+ * cached bitmaps for criteria that depend on the column edited.
+ *
+ * @version %I%, %G%
+ */
+public final class MovieFilter
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Most movies that a search for words can pass, taken from the best of
+	// those that pass the other criteria
+	public static final int	HITS = 250;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Criteria
+	private static final int	TITLE = 0;
+	private static final int	GENRE = 1;
+	private static final int	RATING = 2;
+	private static final int	YEAR = 3;				// Ranges from here...
+	private static final int	RUNTIME = 4;
+	private static final int	SCORE = 5;
+	private static final int	REVIEWS = 6;				// ...to here
+	private static final int	EXPRESSION = 7;		// Clauses in the title
+
+	private static final int	CRITERIA = 8;
+
+	// The store column for each criterion
+	private static final int[]	COLUMNS =
+	{
+		MovieStore.TITLE, MovieStore.GENRE, MovieStore.RATING,
+		MovieStore.YEAR, MovieStore.RUNTIME,
+		MovieStore.AVERAGE_REVIEW_SCORE, MovieStore.NUMBER_OF_REVIEWS,
+		-1,
+	};
+
+	// Ways to evaluate a criterion again
+	private static final int	ALL = 0;		// Test every movie
+	private static final int	NARROW = 1;	// Test movies that passed
+	private static final int	WIDEN = 2;		// Test movies that failed
+
+	// Words of bits to evaluate between checks for cancellation
+	private static final int	WORDS = 64;
+
+	// Bytes of bitmaps to keep for criteria evaluated before
+	private static final long	CACHE = 16L << 20;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Movies in the collection, and the stores that hold their attributes,
+	// each with the index of the movie for each of its rows, or -1 if none
+	private ObservableList<Movie>		source;
+	private final HashMap<MovieStore, int[]>	stores;
+	private Movie[]					all;		// Copied from source...
+	private int						count;		// ...up to here
+
+	// Bits for the movies that pass each criterion, and all of them
+	private final Bitmap[]				bitmaps;
+	private final Bitmap				matches;
+
+	// Index of trigrams in titles, or null until a title string needs it
+	private TitleIndex					titles;
+
+	// Index of words in text, or null until a search needs it, and the
+	// movies found by the last search, best first, or null if none
+	private TextIndex					text;
+	private int[]						ranking;
+
+	// Indexes of values for range criteria, or null until a range needs one
+	private final RangeIndex[]			ranges;
+
+	// Bitmaps for genres and ratings
+	private FacetIndex					facets;
+
+	// Movies with each genre and rating that pass the other criteria
+	private final int[]				genreCounts;
+	private int[]						ratingCounts;
+	private final ReadOnlyIntegerWrapper[]					genreCountProperties;
+	private final HashMap<String, ReadOnlyIntegerWrapper>	ratingCountProperties;
+
+	// Bitmaps of recent criteria, with the queries they were evaluated for
+	private final ResultCache<Query>	cache;
+
+	// Matching movies
+	private final Matches				movies;
+
+	// The criteria last asked for, and the criteria in each bitmap so far
+	private Query						query;
+	private final Query[]				basis;
+
+	// Evaluates criteria in the background, if not null
+	private ExecutorService			executor;
+	private final Evaluation[]			pending;
+
+	// Handlers
+	private final SourceHandler		sourceHandler;
+	private final StoreHandler			storeHandler;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public MovieFilter()
+	{
+		stores = new HashMap<MovieStore, int[]>();
+		all = new Movie[16];
+
+		bitmaps = new Bitmap[CRITERIA];
+
+		for (int i=0; i<CRITERIA; i++)
+			bitmaps[i] = new Bitmap();
+
+		matches = new Bitmap();
+		ranges = new RangeIndex[CRITERIA];
+		facets = new FacetIndex();
+		cache = new ResultCache<Query>(CACHE);
+		movies = new Matches();
+
+		genreCounts = new int[FacetIndex.GENRES];
+		ratingCounts = new int[0];
+		genreCountProperties = new ReadOnlyIntegerWrapper[FacetIndex.GENRES];
+		ratingCountProperties = new HashMap<String, ReadOnlyIntegerWrapper>();
+
+		double[]	min = new double[CRITERIA];		// Ranges are unbounded
+		double[]	max = new double[CRITERIA];
+
+		Arrays.fill(min, Double.NEGATIVE_INFINITY);
+		Arrays.fill(max, Double.POSITIVE_INFINITY);
+
+		query = new Query("", false, 0, null, min, max, null);
+		basis = new Query[CRITERIA];
+		Arrays.fill(basis, query);
+
+		pending = new Evaluation[CRITERIA];
+
+		sourceHandler = new SourceHandler();
+		storeHandler = new StoreHandler();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Returns the movies that pass all of the criteria, in collection order.
+	public ObservableList<Movie>	getMovies()
+	{
+		return movies;
+	}
+
+	// Returns true while the list of matching movies is reporting a change.
+	public boolean	isChanging()
+	{
+		return movies.changing;
+	}
+
+	// Evaluates criteria in the background, or right away if null.
+	public void	setExecutor(ExecutorService executor)
+	{
+		cancel();
+
+		this.executor = executor;
+	}
+
+	// Returns the number of movies with a genre bit that pass the criteria
+	// other than genre.
+	public ReadOnlyIntegerProperty	getGenreCount(int genre)
+	{
+		if (genreCountProperties[genre] == null)
+			genreCountProperties[genre] =
+				new ReadOnlyIntegerWrapper(genreCounts[genre]);
+
+		return genreCountProperties[genre].getReadOnlyProperty();
+	}
+
+	// Returns the number of movies with a rating that pass the criteria
+	// other than rating.
+	public ReadOnlyIntegerProperty	getRatingCount(String rating)
+	{
+		ReadOnlyIntegerWrapper	property = ratingCountProperties.get(rating);
+
+		if (property == null)
+		{
+			property = new ReadOnlyIntegerWrapper(countRating(rating));
+			ratingCountProperties.put(rating, property);
+		}
+
+		return property.getReadOnlyProperty();
+	}
+
+	public ObservableList<Movie>	getSource()
+	{
+		return source;
+	}
+
+	// Filters a different collection of movies, or none if null.
+	public void	setSource(ObservableList<Movie> source)
+	{
+		if (this.source == source)
+			return;
+
+		if (this.source != null)
+			this.source.removeListener(sourceHandler);
+
+		this.source = source;
+
+		if (source != null)
+			source.addListener(sourceHandler);
+
+		rebuild();
+	}
+
+	public void	setTitle(String title)
+	{
+		if (title == null)
+			title = "";
+
+		if (title.equals(query.title))
+			return;
+
+		query = new Query(title, query.search, query.genres, query.rating,
+						  query.min, query.max, query.expression);
+		update(TITLE);
+	}
+
+	// Treats the title string as words to search for in the titles,
+	// directors, summaries, and comments of movies. The best matches pass,
+	// and are listed best first.
+	public void	setSearch(boolean search)
+	{
+		if (search == query.search)
+			return;
+
+		query = new Query(query.title, search, query.genres, query.rating,
+						  query.min, query.max, query.expression);
+		update(TITLE);
+	}
+
+	// Movies pass if they have any of the genres set in the mask.
+	public void	setGenres(int genres)
+	{
+		if (genres == query.genres)
+			return;
+
+		query = new Query(query.title, query.search, genres, query.rating,
+						  query.min, query.max, query.expression);
+		update(GENRE);
+	}
+
+	// Movies pass if they have exactly this rating. None pass if it is null.
+	public void	setRating(String rating)
+	{
+		if (Objects.equals(rating, query.rating))
+			return;
+
+		query = new Query(query.title, query.search, query.genres, rating,
+						  query.min, query.max, query.expression);
+		update(RATING);
+	}
+
+	// Movies pass if their value in the column is from min to max,
+	// inclusive. The column must be one that RangeIndex can index. Use
+	// infinite bounds to let all movies pass.
+	public void	setRange(int column, double min, double max)
+	{
+		int	criterion = getCriterion(column);
+
+		if ((criterion < YEAR) || (criterion > REVIEWS))
+			throw new IllegalArgumentException("Column isn't a range");
+
+		if ((min == query.min[criterion]) && (max == query.max[criterion]))
+			return;
+
+		double[]	qmin = query.min.clone();
+		double[]	qmax = query.max.clone();
+
+		qmin[criterion] = min;
+		qmax[criterion] = max;
+
+		query = new Query(query.title, query.search, query.genres,
+						  query.rating, qmin, qmax, query.expression);
+		update(criterion);
+	}
+
+	// Movies pass if they pass the clauses of an expression, or all pass if
+	// it is null.
+	public void	setExpression(Expression expression)
+	{
+		if (Objects.equals(expression, query.expression))
+			return;
+
+		query = new Query(query.title, query.search, query.genres,
+						  query.rating, query.min, query.max, expression);
+		update(EXPRESSION);
+	}
+
+	//**********************************************************************
+	// Private Methods (Evaluation)
+	//**********************************************************************
+
+	// Evaluates one criterion again, then updates the matching movies.
+	private void	update(int criterion)
+	{
+		if (pending[criterion] != null)			// Stale, so stop it
+		{
+			pending[criterion].cancel();
+			pending[criterion] = null;
+		}
+
+		if (query.same(basis[criterion], criterion))	// Changed back
+			return;
+
+		if (!reuse(criterion))
+			start(criterion);
+	}
+
+	// Applies a criterion's bitmap from the cache, if it has one for the
+	// criterion's value. Returns false if not.
+	private boolean	reuse(int criterion)
+	{
+		String	key = getKey(criterion, query);
+
+		if (key == null)
+			return false;
+
+		ResultCache.Entry<Query>	entry = cache.get(key);
+
+		if (entry == null)
+			return false;
+
+		// Evaluate movies appended since the bitmap was kept
+		Bitmap	bitmap = entry.getBitmap();
+		Query	q = entry.getValue();
+		int	from = bitmap.size();
+
+		if (from < count)
+		{
+			bitmap.setSize(count);
+
+			for (int i=from; i<count; i++)
+				bitmap.set(i, test(criterion, all[i], q));
+
+			cache.trim();
+		}
+
+		bitmaps[criterion].copy(bitmap);
+		basis[criterion] = query;
+
+		if (criterion == TITLE)					// Not a search
+			ranking = null;
+
+		movies.update();
+		recount();
+
+		// A search ranks only the movies that pass the other criteria
+		if ((criterion != TITLE) && query.isSearch())
+			research();
+
+		return true;
+	}
+
+	// Searches again after edits or additions to the collection, since they
+	// can change which movies are best.
+	private void	research()
+	{
+		if (pending[TITLE] != null)
+		{
+			pending[TITLE].cancel();
+			pending[TITLE] = null;
+		}
+
+		start(TITLE);
+	}
+
+	// Starts evaluating a criterion, creating the index it needs if none.
+	private void	start(int criterion)
+	{
+		if ((criterion == TITLE) && (text == null) && query.isSearch())
+			text = new TextIndex();
+
+		if ((criterion == TITLE) && (titles == null) &&
+			TitleIndex.isSearchable(query.title))
+			titles = new TitleIndex();
+
+		if ((criterion >= YEAR) && (criterion <= REVIEWS) &&
+			(ranges[criterion] == null) && query.isBounded(criterion))
+			ranges[criterion] = new RangeIndex(COLUMNS[criterion]);
+
+		// Expressions use the indexes for the columns in their clauses
+		if ((criterion == EXPRESSION) && (query.expression != null))
+		{
+			if ((titles == null) && query.expression.uses(MovieStore.TITLE))
+				titles = new TitleIndex();
+
+			for (int j=YEAR; j<=REVIEWS; j++)
+				if ((ranges[j] == null) && query.expression.uses(COLUMNS[j]))
+					ranges[j] = new RangeIndex(COLUMNS[j]);
+		}
+
+		Evaluation	evaluation = new Evaluation(criterion, query);
+
+		// Facets take a few word operations per 64 movies, which is quicker
+		// than handing them to the executor
+		if ((executor == null) || (criterion == GENRE) || (criterion == RATING))
+		{
+			evaluation.evaluate();
+			evaluation.apply();
+		}
+		else
+		{
+			pending[criterion] = evaluation;
+			evaluation.future = executor.submit(evaluation);
+		}
+	}
+
+	// Cancels all evaluations in the background.
+	private void	cancel()
+	{
+		for (int i=0; i<CRITERIA; i++)
+		{
+			if (pending[i] != null)
+			{
+				pending[i].cancel();
+				pending[i] = null;
+			}
+		}
+	}
+
+	// Evaluates every criterion for movies appended to the collection.
+	private void	extend()
+	{
+		int	from = count;
+		int	to = source.size();
+
+		if (to > all.length)
+			all = Arrays.copyOf(all, Math.max(to, 2 * all.length));
+
+		for (int j=0; j<CRITERIA; j++)
+		{
+			bitmaps[j].setSize(to);
+			basis[j].forget();					// Ratings may have new codes
+		}
+
+		matches.setSize(to);
+		facets.setSize(to);
+
+		for (int i=from; i<to; i++)
+		{
+			Movie		movie = source.get(i);
+			MovieStore	store = movie.getStore();
+			int		row = movie.getRow();
+
+			all[i] = movie;
+			watch(store, row, i);
+			facets.set(i, store.getGenre(row), store.getRating(row));
+
+			for (int j=0; j<CRITERIA; j++)
+				bitmaps[j].set(i, test(j, movie, basis[j]));
+
+			if (titles != null)
+				titles.add(i, movie.getStore().getTitle(movie.getRow()));
+
+			if (text != null)
+				text.add(i, movie);
+
+			for (int j=YEAR; j<CRITERIA; j++)
+				if (ranges[j] != null)
+					ranges[j].add(i, RangeIndex.getValue(movie, COLUMNS[j]));
+
+			tally(i, 1);
+		}
+
+		count = to;
+		movies.append(from, to);
+		publish();
+
+		if (query.isSearch())					// New movies may rank
+			research();
+	}
+
+	// Evaluates every criterion for every movie in a different collection.
+	private void	rebuild()
+	{
+		cancel();
+
+		for (MovieStore store : stores.keySet())
+			store.removeListener(storeHandler);
+
+		stores.clear();
+		all = new Movie[16];
+		count = 0;
+		titles = null;
+		text = null;
+		ranking = null;
+		facets = new FacetIndex();
+		cache.clear();
+		ratingCounts = new int[0];
+		Arrays.fill(genreCounts, 0);
+
+		for (int i=0; i<CRITERIA; i++)
+		{
+			ranges[i] = null;
+			bitmaps[i].setSize(0);
+			basis[i] = query;
+		}
+
+		matches.setSize(0);
+		movies.clear();
+
+		if (source != null)
+			extend();
+		else
+			publish();
+	}
+
+	//**********************************************************************
+	// Private Methods (Facet Counts)
+	//**********************************************************************
+
+	// Adds (or with a sign of -1, removes) a movie to the counts for its
+	// genres and rating, if it passes the other criteria.
+	private void	tally(int i, int sign)
+	{
+		boolean	others = true;
+
+		for (int j=0; j<CRITERIA; j++)
+			if ((j != GENRE) && (j != RATING))
+				others = others && bitmaps[j].get(i);
+
+		if (!others)
+			return;
+
+		if (bitmaps[RATING].get(i))
+		{
+			int	genres = facets.getGenres(i);
+
+			for (int g=0; g<FacetIndex.GENRES; g++)
+				if ((genres & (1 << g)) != 0)
+					genreCounts[g] += sign;
+		}
+
+		if (bitmaps[GENRE].get(i))
+		{
+			int	number = facets.getRating(i);
+
+			if (number >= ratingCounts.length)
+				ratingCounts = Arrays.copyOf(ratingCounts,
+											 facets.getRatingCount());
+
+			ratingCounts[number] += sign;
+		}
+	}
+
+	// Counts the movies with each genre and rating again, a word at a time.
+	private void	recount()
+	{
+		int	ratings = facets.getRatingCount();
+
+		Arrays.fill(genreCounts, 0);
+		ratingCounts = new int[ratings];
+
+		for (int w=0; w<matches.getWordCount(); w++)
+		{
+			long	others = -1L;
+
+			for (int j=0; j<CRITERIA; j++)
+				if ((j != GENRE) && (j != RATING))
+					others &= bitmaps[j].getWord(w);
+
+			if (others == 0L)
+				continue;
+
+			long	withRating = others & bitmaps[RATING].getWord(w);
+			long	withGenre = others & bitmaps[GENRE].getWord(w);
+
+			for (int g=0; g<FacetIndex.GENRES; g++)
+			{
+				Bitmap	bitmap = facets.getGenreBitmap(g);
+
+				if (bitmap != null)
+					genreCounts[g] +=
+						Long.bitCount(bitmap.getWord(w) & withRating);
+			}
+
+			for (int k=0; k<ratings; k++)
+				ratingCounts[k] += Long.bitCount(
+					facets.getRatingBitmap(k).getWord(w) & withGenre);
+		}
+
+		publish();
+	}
+
+	// Passes the counts to their properties, which notify only if changed.
+	private void	publish()
+	{
+		for (int g=0; g<FacetIndex.GENRES; g++)
+			if (genreCountProperties[g] != null)
+				genreCountProperties[g].set(genreCounts[g]);
+
+		for (Map.Entry<String, ReadOnlyIntegerWrapper> entry :
+				 ratingCountProperties.entrySet())
+			entry.getValue().set(countRating(entry.getKey()));
+	}
+
+	private int	countRating(String rating)
+	{
+		int	number = facets.getRatingNumber(rating);
+
+		return (((number == -1) || (number >= ratingCounts.length)) ? 0 :
+				ratingCounts[number]);
+	}
+
+	// Listens to the store for a movie, if not already, and remembers the
+	// index of the movie for its row.
+	private void	watch(MovieStore store, int row, int i)
+	{
+		int[]	index = stores.get(store);
+
+		if (index == null)
+		{
+			index = new int[0];
+			store.addListener(storeHandler);
+		}
+
+		if (row >= index.length)
+		{
+			int	n = index.length;
+
+			index = Arrays.copyOf(index, Math.max(row + 1, 2 * n));
+			Arrays.fill(index, n, index.length, -1);
+			stores.put(store, index);
+		}
+
+		index[row] = i;
+	}
+
+	private static boolean	test(int criterion, Movie movie, Query q)
+	{
+		MovieStore	store = movie.getStore();
+		int		row = movie.getRow();
+
+		switch (criterion)
+		{
+			case TITLE:							// Searches rank movies first
+				if (q.isSearch())
+					return false;
+
+				return ((q.title.length() == 0) ||
+						store.titleContains(row, q.titleBytes));
+
+			case GENRE:
+				return ((store.getGenre(row) & q.genres) != 0);
+
+			case RATING:
+			{
+				if (q.rating == null)
+					return false;
+
+				if (store != q.ratingStore)
+				{
+					q.ratingStore = store;
+					q.ratingCode = store.getRatingCode(q.rating);
+				}
+
+				return ((q.ratingCode != -1) &&
+						(store.getRatingCode(row) == q.ratingCode));
+			}
+
+			case EXPRESSION:
+				return ((q.expression == null) || q.expression.test(movie));
+
+			default:
+			{
+				double	v = RangeIndex.getValue(movie, COLUMNS[criterion]);
+
+				return ((v >= q.min[criterion]) && (v <= q.max[criterion]));
+			}
+		}
+	}
+
+	// Returns the key for the bitmap of a criterion in the cache, or null if
+	// it shouldn't be kept. Searches depend on every movie, and facets are
+	// quicker to combine again than to keep up to date.
+	private static String	getKey(int criterion, Query q)
+	{
+		switch (criterion)
+		{
+			case TITLE:
+				return ((q.search || (q.title.length() == 0)) ? null :
+						"title:" + q.title);
+
+			case GENRE:
+			case RATING:
+				return null;
+
+			case EXPRESSION:
+				return ((q.expression == null) ? null :
+						"expression:" + q.expression.getKey());
+		}
+
+		return (q.isBounded(criterion) ? (criterion + ":" + q.min[criterion] +
+										  ".." + q.max[criterion]) : null);
+	}
+
+	private static int	getCriterion(int column)
+	{
+		for (int i=0; i<CRITERIA; i++)
+			if (COLUMNS[i] == column)
+				return i;
+
+		return -1;
+	}
+
+	// Returns the index of the movie for a row of a store, or -1 if none.
+	private int	indexOf(MovieStore store, int row)
+	{
+		int[]	index = stores.get(store);
+
+		return (((index != null) && (row < index.length)) ? index[row] : -1);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The values of the criteria at one time. Queries don't change, except
+	// to remember the code for the rating in the last store checked, so each
+	// evaluation in the background gets a copy of its own.
+	private static final class Query
+	{
+		private final String	title;
+		private final boolean	search;			// Title string is words
+		private final byte[]	titleBytes;
+		private final int		genres;
+		private final String	rating;
+		private final double[]	min;				// For range criteria
+		private final double[]	max;
+		private final Expression	expression;
+
+		private MovieStore		ratingStore;
+		private int			ratingCode;
+
+		public Query(String title, boolean search, int genres, String rating,
+					 double[] min, double[] max, Expression expression)
+		{
+			this.title = title;
+			this.search = search;
+			this.titleBytes = title.getBytes(StandardCharsets.UTF_8);
+			this.genres = genres;
+			this.rating = rating;
+			this.min = min;
+			this.max = max;
+			this.expression = expression;
+		}
+
+		public Query	copy()
+		{
+			return new Query(title, search, genres, rating, min, max,
+							 expression);
+		}
+
+		// Returns true if the title criterion is a search for words.
+		public boolean	isSearch()
+		{
+			return (search && (title.length() > 0));
+		}
+
+		// Returns false if every value passes a range criterion.
+		public boolean	isBounded(int criterion)
+		{
+			return ((min[criterion] != Double.NEGATIVE_INFINITY) ||
+					(max[criterion] != Double.POSITIVE_INFINITY));
+		}
+
+		// Forgets the rating code, since an edit may have added a new one.
+		public void	forget()
+		{
+			ratingStore = null;
+		}
+
+		public boolean	same(Query q, int criterion)
+		{
+			switch (criterion)
+			{
+				case TITLE:		return (title.equals(q.title) &&
+										(search == q.search));
+				case GENRE:		return (genres == q.genres);
+				case RATING:	return Objects.equals(rating, q.rating);
+
+				case EXPRESSION:
+					return Objects.equals(expression, q.expression);
+			}
+
+			return ((min[criterion] == q.min[criterion]) &&
+					(max[criterion] == q.max[criterion]));
+		}
+
+		// Returns how to go from the bits for another query to this one.
+		public int	getMode(Query q, int criterion)
+		{
+			switch (criterion)
+			{
+				case TITLE:
+					if (isSearch() || q.isSearch())
+						return ALL;
+
+					return (title.contains(q.title) ? NARROW :
+							(q.title.contains(title) ? WIDEN : ALL));
+
+			}
+
+			return ALL;						// Others use their indexes
+		}
+	}
+
+	// Evaluates one criterion for a snapshot of the collection, into a copy
+	// of its bitmap. The copy replaces the bitmap when applied. Expressions
+	// get the indexes they use from it.
+	private final class Evaluation
+		implements Runnable, Expression.Indexes
+	{
+		private final int					criterion;
+		private final Query				query;
+		private final int					mode;
+		private final Movie[]				snapshot;
+		private final int					count;
+		private final Bitmap				bitmap;
+		private final TitleIndex			titles;
+		private final TextIndex			text;
+		private final RangeIndex			range;
+		private final RangeIndex[]			ranges;
+		private final FacetIndex			facets;		// Copy, or null
+
+		// Movies that pass the other criteria, which a search for words
+		// ranks among, or null if not a search
+		private final Bitmap				others;
+
+		// Movies found by a search for words, best first
+		private int[]						hits;
+
+		// Movies edited while evaluating in the background
+		private final ArrayList<Integer>	edited;
+
+		private Future<?>					future;
+		private volatile boolean			cancelled;
+
+		public Evaluation(int criterion, Query query)
+		{
+			this.criterion = criterion;
+			this.query = query.copy();
+			this.mode = query.getMode(basis[criterion], criterion);
+			this.snapshot = all;
+			this.count = MovieFilter.this.count;
+			this.bitmap = new Bitmap();
+			this.titles = MovieFilter.this.titles;
+			this.text = MovieFilter.this.text;
+			this.range = MovieFilter.this.ranges[criterion];
+			this.ranges = MovieFilter.this.ranges.clone();
+
+			// Facets change with edits on the JavaFX application thread, so
+			// an expression in the background needs its own copy of the
+			// bitmaps for the genres and ratings it names
+			Expression	e = query.expression;
+
+			if ((criterion == EXPRESSION) && (e != null) &&
+				(e.uses(MovieStore.GENRE) || e.uses(MovieStore.RATING)))
+				this.facets = MovieFilter.this.facets.copy(e.getGenres(),
+														   e.getRatings());
+			else
+				this.facets = null;
+
+			if ((criterion == TITLE) && query.isSearch())
+				this.others = combineOthers();
+			else
+				this.others = null;
+
+			edited = new ArrayList<Integer>();
+
+			if (mode == ALL)
+				bitmap.setSize(count);
+			else
+				bitmap.copy(bitmaps[criterion]);
+		}
+
+		public void	run()
+		{
+			if (evaluate())
+				Platform.runLater(this::apply);
+		}
+
+		public int	getCount()
+		{
+			return count;
+		}
+
+		public Movie[]	getMovies()
+		{
+			return snapshot;
+		}
+
+		public TitleIndex	getTitles()
+		{
+			return titles;
+		}
+
+		public RangeIndex	getRange(int column)
+		{
+			int	j = getCriterion(column);
+
+			return ((j == -1) ? null : ranges[j]);
+		}
+
+		public FacetIndex	getFacets()
+		{
+			return facets;
+		}
+
+		// Chunks scanned on other threads can't see the interruption.
+		public boolean	isCancelled()
+		{
+			return (cancelled || Thread.currentThread().isInterrupted());
+		}
+
+		public void	cancel()
+		{
+			cancelled = true;
+
+			if (future != null)
+				future.cancel(true);
+		}
+
+		// Returns false if the evaluation was cancelled before it finished.
+		public boolean	evaluate()
+		{
+			if ((criterion == TITLE) && query.isSearch())
+				return search();
+
+			if ((criterion == TITLE) && TitleIndex.isSearchable(query.title))
+				return find();
+
+			if ((criterion == GENRE) || (criterion == RATING))
+				return findFacet();
+
+			if (criterion == EXPRESSION)
+				return express();
+
+			if (criterion >= YEAR)
+				return findRange();
+
+			return ParallelScan.run(bitmap.getWordCount(), this::scan);
+		}
+
+		// Tests the movies in a chunk of words that can change. Chunks are
+		// scanned in parallel, each with its own copy of the query, since
+		// testing a rating remembers its code.
+		private boolean	scan(int from, int to)
+		{
+			Query	query = this.query.copy();
+
+			for (int w=from; w<to; w++)
+			{
+				if ((((w - from) % WORDS) == 0) && isCancelled())
+					return false;
+
+				long	word = bitmap.getWord(w);
+				long	bits;
+
+				if (mode == NARROW)
+					bits = word;
+				else if (mode == WIDEN)
+					bits = ~word & bitmap.getMask(w);
+				else
+					bits = bitmap.getMask(w);
+
+				while (bits != 0L)
+				{
+					long	bit = bits & -bits;
+					int		i = (w << 6) + Long.numberOfTrailingZeros(bits);
+
+					if (test(criterion, snapshot[i], query))
+						word |= bit;
+					else
+						word &= ~bit;
+
+					bits ^= bit;
+				}
+
+				bitmap.setWord(w, word);
+			}
+
+			return true;
+		}
+
+		// Sets the bits for titles that contain the title string, checking
+		// only the titles that the index says have all of the string's
+		// trigrams (and, if the string got longer, that had the old string).
+		private boolean	find()
+		{
+			if (!titles.build(snapshot, count))
+				return false;
+
+			int[]		ids = titles.find(query.title);
+			int		n = 0;
+			boolean	check = (query.title.length() > TitleIndex.GRAM);
+
+			for (int i : ids)
+				if ((i < count) && ((mode != NARROW) || bitmap.get(i)) &&
+					(!check || test(TITLE, snapshot[i], query)))
+					ids[n++] = i;
+
+			for (int w=0; w<bitmap.getWordCount(); w++)
+				bitmap.setWord(w, 0L);
+
+			for (int k=0; k<n; k++)
+				bitmap.set(ids[k]);
+
+			return true;
+		}
+
+		// Sets the bits for the best movies with all of the words, among
+		// those that pass the other criteria.
+		private boolean	search()
+		{
+			if (!text.build(snapshot, count))
+				return false;
+
+			hits = text.search(query.title, HITS, others);
+
+			if (hits == null)
+				return false;
+
+			for (int i : hits)
+				if (i < count)
+					bitmap.set(i);
+
+			return true;
+		}
+
+		// Sets the bits for movies that pass the expression, after building
+		// the indexes it uses.
+		private boolean	express()
+		{
+			if (query.expression == null)
+			{
+				for (int w=0; w<bitmap.getWordCount(); w++)
+					bitmap.setWord(w, -1L);
+
+				return true;
+			}
+
+			if ((titles != null) && query.expression.uses(MovieStore.TITLE) &&
+				!titles.build(snapshot, count))
+				return false;
+
+			for (int j=YEAR; j<=REVIEWS; j++)
+				if ((ranges[j] != null) && query.expression.uses(COLUMNS[j]) &&
+					!ranges[j].build(snapshot, count))
+					return false;
+
+			return query.expression.evaluate(this, bitmap);
+		}
+
+		// Sets the bits for movies with any of the genres, or with the
+		// rating, by combining their bitmaps. Only on the JavaFX application
+		// thread, since edits change the facet index.
+		private boolean	findFacet()
+		{
+			FacetIndex	facets = MovieFilter.this.facets;
+
+			if (criterion == GENRE)
+			{
+				for (int w=0; w<bitmap.getWordCount(); w++)
+				{
+					long	word = 0L;
+
+					for (int g=0; g<FacetIndex.GENRES; g++)
+					{
+						Bitmap	b = facets.getGenreBitmap(g);
+
+						if (((query.genres & (1 << g)) != 0) && (b != null))
+							word |= b.getWord(w);
+					}
+
+					bitmap.setWord(w, word);
+				}
+			}
+			else
+			{
+				int	number = ((query.rating == null) ? -1 :
+							  facets.getRatingNumber(query.rating));
+
+				if (number != -1)
+					bitmap.copy(facets.getRatingBitmap(number));
+			}
+
+			return true;
+		}
+
+		// Sets the bits for movies with values in the criterion's range, or
+		// for all movies if the range is unbounded.
+		private boolean	findRange()
+		{
+			if (!query.isBounded(criterion))
+			{
+				for (int w=0; w<bitmap.getWordCount(); w++)
+					bitmap.setWord(w, -1L);
+
+				return true;
+			}
+
+			if (!range.build(snapshot, count))
+				return false;
+
+			for (int i : range.find(query.min[criterion], query.max[criterion]))
+				if (i < count)
+					bitmap.set(i);
+
+			return true;
+		}
+
+		// Combines the bitmaps of the criteria other than the title, so that
+		// a search ranks only movies that can match.
+		private Bitmap	combineOthers()
+		{
+			Bitmap	b = new Bitmap(count);
+
+			for (int w=0; w<b.getWordCount(); w++)
+			{
+				long	word = b.getMask(w);
+
+				for (int j=0; j<CRITERIA; j++)
+					if (j != TITLE)
+						word &= bitmaps[j].getWord(w);
+
+				b.setWord(w, word);
+			}
+
+			return b;
+		}
+
+		// Replaces the criterion's bitmap on the JavaFX application thread,
+		// unless a newer evaluation has replaced this one.
+		public void	apply()
+		{
+			if (cancelled)
+				return;
+
+			if (pending[criterion] == this)
+				pending[criterion] = null;
+
+			Bitmap	target = bitmaps[criterion];
+
+			for (int w=0; w<bitmap.getWordCount(); w++)
+			{
+				long	mask = bitmap.getMask(w);
+
+				target.setWord(w, (target.getWord(w) & ~mask) |
+							   bitmap.getWord(w));
+			}
+
+			basis[criterion] = query;
+			query.forget();
+
+			if (criterion == TITLE)
+				ranking = hits;
+
+			// Evaluate movies appended or edited since the snapshot. Those
+			// appended to a search wait for the next one, and edited ones
+			// keep the bits it gave them.
+			if (!query.isSearch())
+			{
+				for (int i=count; i<MovieFilter.this.count; i++)
+					target.set(i, test(criterion, all[i], query));
+
+				for (int i : edited)
+					target.set(i, test(criterion, all[i], query));
+			}
+
+			String	key = getKey(criterion, query);
+
+			if (key != null)
+				cache.put(key, criterion, query, target);
+
+			movies.update();
+			recount();
+
+			// A search ranks only the movies that pass the other criteria
+			if ((criterion != TITLE) && MovieFilter.this.query.isSearch())
+				research();
+		}
+	}
+
+	// The movies that pass all of the criteria, kept along with their indices
+	// in the collection. Changes compare the old and new bits a word at a
+	// time, so that unchanged stretches of the collection are skipped. After
+	// a search, the movies are in the order it ranked them instead.
+	private final class Matches extends ObservableListBase<Movie>
+	{
+		private Movie[]	items = new Movie[16];
+		private int[]		indices = new int[16];
+		private int		size;
+		private boolean	changing;
+		private boolean	ranked;			// Items are in search order
+
+		public Movie	get(int i)
+		{
+			if ((i < 0) || (i >= size))
+				throw new IndexOutOfBoundsException("Index: " + i);
+
+			return items[i];
+		}
+
+		public int	size()
+		{
+			return size;
+		}
+
+		// Combines the criteria and reports the movies that changed.
+		public void	update()
+		{
+			if (ranked || (ranking != null))
+			{
+				rank();
+				return;
+			}
+
+			int	words = matches.getWordCount();
+			int	n = 0;
+
+			for (int w=0; w<words; w++)
+				n += Long.bitCount(combine(w));
+
+			Movie[]	nitems = new Movie[Math.max(n, 16)];
+			int[]		nindices = new int[nitems.length];
+			int		p = 0;						// In new list
+			int		q = 0;						// In old list
+
+			beginChange();
+
+			for (int w=0; w<words; w++)
+			{
+				long	o = matches.getWord(w);
+				long	m = combine(w);
+
+				if (o == m)					// Copy a stretch of matches
+				{
+					int	k = Long.bitCount(m);
+
+					System.arraycopy(items, q, nitems, p, k);
+					System.arraycopy(indices, q, nindices, p, k);
+					p += k;
+					q += k;
+					continue;
+				}
+
+				for (long bits=(o | m); bits!=0L; bits&=(bits - 1L))
+				{
+					long	bit = bits & -bits;
+					int		i = (w << 6) + Long.numberOfTrailingZeros(bits);
+
+					if ((o & bit) == 0L)				// Added
+					{
+						nitems[p] = all[i];
+						nindices[p] = i;
+						nextAdd(p, p + 1);
+						p++;
+					}
+					else if ((m & bit) == 0L)			// Removed
+					{
+						nextRemove(p, items[q++]);
+					}
+					else								// Kept
+					{
+						nitems[p] = items[q++];
+						nindices[p] = i;
+						p++;
+					}
+				}
+
+				matches.setWord(w, m);
+			}
+
+			items = nitems;
+			indices = nindices;
+			size = n;
+
+			fire();
+		}
+
+		// Reports whether one movie is added or removed after an edit.
+		public void	update(int i)
+		{
+			boolean	m = true;
+
+			for (int j=0; j<CRITERIA; j++)
+				m = m && bitmaps[j].get(i);
+
+			if (m == matches.get(i))
+				return;
+
+			if (ranked)
+			{
+				rank();
+				return;
+			}
+
+			matches.set(i, m);
+
+			int	p = Arrays.binarySearch(indices, 0, size, i);
+
+			beginChange();
+
+			if (m)
+			{
+				p = -p - 1;
+				ensure(size + 1);
+				System.arraycopy(items, p, items, p + 1, size - p);
+				System.arraycopy(indices, p, indices, p + 1, size - p);
+				items[p] = all[i];
+				indices[p] = i;
+				size++;
+				nextAdd(p, p + 1);
+			}
+			else
+			{
+				Movie	movie = items[p];
+
+				System.arraycopy(items, p + 1, items, p, size - p - 1);
+				System.arraycopy(indices, p + 1, indices, p, size - p - 1);
+				size--;
+				items[size] = null;
+				nextRemove(p, movie);
+			}
+
+			fire();
+		}
+
+		// Reports the matches among movies appended to the collection.
+		public void	append(int from, int to)
+		{
+			if (ranked)
+			{
+				rank();
+				return;
+			}
+
+			int	start = size;
+
+			for (int i=from; i<to; i++)
+			{
+				boolean	m = true;
+
+				for (int j=0; j<CRITERIA; j++)
+					m = m && bitmaps[j].get(i);
+
+				if (m)
+				{
+					matches.set(i);
+					ensure(size + 1);
+					items[size] = all[i];
+					indices[size] = i;
+					size++;
+				}
+			}
+
+			if (size > start)
+			{
+				beginChange();
+				nextAdd(start, size);
+				fire();
+			}
+		}
+
+		// Reports that all of the matches are gone.
+		public void	clear()
+		{
+			if (size == 0)
+				return;
+
+			List<Movie>	removed = Arrays.asList(items).subList(0, size);
+
+			items = new Movie[16];
+			indices = new int[16];
+			size = 0;
+			ranked = false;
+
+			beginChange();
+			nextRemove(0, removed);
+			fire();
+		}
+
+		// Lists the matches in the order of the last search, or in collection
+		// order if none, and reports the stretch of the list that changed.
+		// Ranked lists are short, so this is quick.
+		private void	rank()
+		{
+			int	words = matches.getWordCount();
+
+			for (int w=0; w<words; w++)
+				matches.setWord(w, combine(w));
+
+			int	n = ((ranking != null) ? ranking.length : matches.cardinality());
+			Movie[]	nitems = new Movie[Math.max(n, 16)];
+			int[]		nindices = new int[nitems.length];
+			int		p = 0;
+
+			if (ranking != null)
+			{
+				for (int i : ranking)
+				{
+					if ((i < count) && matches.get(i))
+					{
+						nitems[p] = all[i];
+						nindices[p++] = i;
+					}
+				}
+			}
+			else
+			{
+				int	i = matches.nextSetBit(0);
+
+				while (i >= 0)
+				{
+					nitems[p] = all[i];
+					nindices[p++] = i;
+					i = matches.nextSetBit(i + 1);
+				}
+			}
+
+			// Skip the movies that stayed at the start and at the end
+			int	head = 0;
+			int	tail = 0;
+
+			while ((head < p) && (head < size) &&
+				   (nindices[head] == indices[head]))
+				head++;
+
+			while ((tail < p - head) && (tail < size - head) &&
+				   (nindices[p - 1 - tail] == indices[size - 1 - tail]))
+				tail++;
+
+			List<Movie>	removed =
+				Arrays.asList(items).subList(head, size - tail);
+
+			items = nitems;
+			indices = nindices;
+			ranked = (ranking != null);
+
+			if ((head == p) && (head == size))
+			{
+				size = p;
+				return;
+			}
+
+			size = p;
+			beginChange();
+
+			if (!removed.isEmpty())
+				nextRemove(head, removed);
+
+			if (p - tail > head)
+				nextAdd(head, p - tail);
+
+			fire();
+		}
+
+		private long	combine(int w)
+		{
+			long	m = bitmaps[0].getWord(w);
+
+			for (int j=1; j<CRITERIA; j++)
+				m &= bitmaps[j].getWord(w);
+
+			return m;
+		}
+
+		private void	ensure(int n)
+		{
+			if (n > items.length)
+			{
+				items = Arrays.copyOf(items, Math.max(n, 2 * items.length));
+				indices = Arrays.copyOf(indices, items.length);
+			}
+		}
+
+		private void	fire()
+		{
+			changing = true;
+
+			try
+			{
+				endChange();
+			}
+			finally
+			{
+				changing = false;
+			}
+		}
+	}
+
+	// Keeps up with movies added to or removed from the collection.
+	private final class SourceHandler
+		implements ListChangeListener<Movie>
+	{
+		public void	onChanged(ListChangeListener.Change<? extends Movie> c)
+		{
+			boolean	appended = true;
+
+			while (c.next())
+			{
+				if (c.wasPermutated() || c.wasRemoved() ||
+					(c.wasAdded() && (c.getFrom() < count)))
+					appended = false;
+			}
+
+			if (appended)
+				extend();
+			else
+				rebuild();
+		}
+	}
+
+	// Evaluates the criteria again for movies that are edited.
+	private final class StoreHandler
+		implements MovieStore.Listener
+	{
+		public void	changed(MovieStore store, int row, int column,
+							Object oldValue)
+		{
+			int		criterion = getCriterion(column);
+			boolean	searched = ((text != null) &&
+								TextIndex.isIndexed(column));
+			boolean	expressed = ((pending[EXPRESSION] != null) ||
+								 ((basis[EXPRESSION].expression != null) &&
+								  basis[EXPRESSION].expression.uses(column)));
+
+			boolean	cached = isCached(column);
+
+			if ((criterion == -1) && !searched && !expressed && !cached)
+				return;
+
+			if (column == MovieStore.RATING)	// Rating may have a new code
+				basis[RATING].forget();
+
+			int	i = indexOf(store, row);
+
+			if (i == -1)
+				return;
+
+			tally(i, -1);
+
+			// Keep the indexes up to date
+			if (searched)
+				text.update(i, all[i], column, (String)oldValue);
+
+			if ((column == MovieStore.GENRE) || (column == MovieStore.RATING))
+				facets.set(i, store.getGenre(row), store.getRating(row));
+
+			if ((column == MovieStore.TITLE) && (titles != null))
+			{
+				titles.remove(i, (String)oldValue);
+				titles.add(i, store.getTitle(row));
+			}
+
+			if ((criterion != -1) && (ranges[criterion] != null))
+				ranges[criterion].update(i, ((Number)oldValue).doubleValue(),
+										 RangeIndex.getValue(all[i], column));
+
+			// Evaluate the criteria that depend on the column
+			if (criterion != -1)
+				evaluate(criterion, i);
+
+			if (expressed)
+				evaluate(EXPRESSION, i);
+
+			if (cached)
+				correct(column, i);
+
+			tally(i, 1);
+			publish();
+			movies.update(i);
+
+			// A search ranks only the movies that pass the other criteria,
+			// so it depends on those too
+			if (query.isSearch() &&
+				(searched || (criterion != -1) || expressed))
+				research();
+		}
+
+		// Returns true if any cached bitmap depends on the column.
+		private boolean	isCached(int column)
+		{
+			for (ResultCache.Entry<Query> entry : cache.getEntries())
+				if (depends(entry, column))
+					return true;
+
+			return false;
+		}
+
+		// Tests the movie again in the cached bitmaps that depend on the
+		// column. Bitmaps kept before the movie was appended test it when
+		// used.
+		private void	correct(int column, int i)
+		{
+			for (ResultCache.Entry<Query> entry : cache.getEntries())
+			{
+				Bitmap	bitmap = entry.getBitmap();
+
+				if ((i < bitmap.size()) && depends(entry, column))
+					bitmap.set(i, test(entry.getCriterion(), all[i],
+										entry.getValue()));
+			}
+		}
+
+		private boolean	depends(ResultCache.Entry<Query> entry, int column)
+		{
+			int	j = entry.getCriterion();
+
+			return ((COLUMNS[j] == column) || ((j == EXPRESSION) &&
+					entry.getValue().expression.uses(column)));
+		}
+
+		private void	evaluate(int criterion, int i)
+		{
+			if (pending[criterion] != null)	// Evaluate again when applied
+				pending[criterion].edited.add(i);
+
+			// A search keeps the bits it gave until it searches again
+			if ((criterion != TITLE) || !basis[TITLE].isSearch())
+				bitmaps[criterion].set(i, test(criterion, all[i],
+												basis[criterion]));
+		}
+	}
+}
+
+//******************************************************************************
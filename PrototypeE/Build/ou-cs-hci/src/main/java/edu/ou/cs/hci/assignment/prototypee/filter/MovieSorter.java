@@ -0,0 +1,901 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:28 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.text.Collator;
+import java.util.*;
+import java.util.concurrent.*;
+import javafx.application.Platform;
+import javafx.collections.*;
+import edu.ou.cs.hci.assignment.prototypee.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MovieSorter</CODE> class keeps the movies in a list, such as the
+ * matches of a MovieFilter, sorted by one or more columns of their stores.
+ * Text is compared by collation keys for the default locale, numbers and
+ * flags by value. Each movie's keys are computed once per sort and kept with
+ * it, so comparisons never look at the stores or the collator.
+ *
+ * Given an executor, a new sort order is sorted in the background, from a
+ * snapshot of the list. The list stays in the old order until it finishes,
+ * then is reported as permutated, so that a table showing it keeps its
+ * selection. Movies added, removed, or edited in the meantime are merged in
+ * when the sort is applied, on the JavaFX application thread.
+ *
+ * Once sorted, the list keeps its order as the source changes: movies added
+ * are inserted where their keys go, and movies edited in a sorted column are
+ * moved. With no sort order, the list is the source, in its order. The list
+ * can't be changed directly.
+ *
+ * @version %I%, %G%
+ */
+@SuppressWarnings("unchecked")
+public final class MovieSorter
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Changes to movies while sorting in the background
+	private static final int	ADDED = 0;
+	private static final int	REMOVED = 1;
+
+	// Movies to compute keys for between checks for cancellation
+	private static final int	CHECK = 4096;
+
+	private static final Order[]	UNSORTED = new Order[0];
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Movies to sort, and the stores that hold their attributes
+	private ObservableList<Movie>		source;
+	private final ArrayList<MovieStore>	stores;
+
+	// Compares text on the JavaFX application thread
+	private final Collator				collator;
+
+	// The order last asked for, and the order of the sorted movies
+	private Order[]					order;
+	private Order[]					applied;
+
+	// Sorted movies
+	private final Sorted				movies;
+
+	// Sorts in the background, if not null
+	private ExecutorService			executor;
+	private Sort						pending;
+
+	// Handlers
+	private final SourceHandler		sourceHandler;
+	private final StoreHandler			storeHandler;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public MovieSorter()
+	{
+		stores = new ArrayList<MovieStore>();
+		collator = Collator.getInstance();
+		order = UNSORTED;
+		applied = UNSORTED;
+		movies = new Sorted();
+
+		sourceHandler = new SourceHandler();
+		storeHandler = new StoreHandler();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Returns the movies in the source, in sorted order.
+	public ObservableList<Movie>	getMovies()
+	{
+		return movies;
+	}
+
+	// Returns true while the list of sorted movies is reporting a change.
+	public boolean	isChanging()
+	{
+		return movies.changing;
+	}
+
+	// Sorts in the background, or right away if null.
+	public void	setExecutor(ExecutorService executor)
+	{
+		cancel();
+
+		this.executor = executor;
+
+		if (!Arrays.equals(order, applied))
+			sort();
+	}
+
+	public ObservableList<Movie>	getSource()
+	{
+		return source;
+	}
+
+	// Sorts a different list of movies, or none if null.
+	public void	setSource(ObservableList<Movie> source)
+	{
+		if (this.source == source)
+			return;
+
+		cancel();
+
+		if (this.source != null)
+			this.source.removeListener(sourceHandler);
+
+		for (MovieStore store : stores)
+			store.removeListener(storeHandler);
+
+		stores.clear();
+		this.source = source;
+		applied = UNSORTED;
+
+		// Show the new movies in their order until sorted
+		if (source != null)
+		{
+			source.addListener(sourceHandler);
+
+			for (Movie movie : source)
+				watch(movie.getStore());
+		}
+
+		movies.reset();
+
+		if (order.length > 0)
+			sort();
+	}
+
+	// Sorts by the columns in order, each one breaking ties in the ones
+	// before it. Leaves the movies in source order if empty.
+	public void	setOrder(List<Order> order)
+	{
+		Order[]	o = order.toArray(new Order[order.size()]);
+
+		if (Arrays.equals(o, this.order))
+			return;
+
+		this.order = o;
+		sort();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Sorts in the order last asked for, unless the movies are already in it.
+	private void	sort()
+	{
+		cancel();
+
+		if ((source == null) || Arrays.equals(order, applied))
+			return;
+
+		Sort	sort = new Sort(order);
+
+		if (executor == null)
+		{
+			if (sort.sort())
+				sort.apply();
+		}
+		else
+		{
+			pending = sort;
+			sort.future = executor.submit(sort);
+		}
+	}
+
+	private void	cancel()
+	{
+		if (pending != null)
+		{
+			pending.cancel();
+			pending = null;
+		}
+	}
+
+	// Listens to the store for a movie, if not already.
+	private void	watch(MovieStore store)
+	{
+		if (stores.isEmpty() || (stores.get(stores.size() - 1) != store))
+		{
+			if (!stores.contains(store))
+			{
+				stores.add(store);
+				store.addListener(storeHandler);
+			}
+		}
+	}
+
+	// Remembers a movie added or removed while sorting in the background.
+	private void	note(Movie movie, int change)
+	{
+		if (pending != null)
+			pending.changes.put(movie, change);
+	}
+
+	// Returns the keys of a movie for an order, optionally with the value
+	// of one column replaced.
+	private static Object[]	getKey(Movie movie, Order[] order,
+								   Collator collator, int column,
+								   Object value)
+	{
+		Object[]	key = new Object[order.length];
+
+		for (int j=0; j<order.length; j++)
+		{
+			Object	v = ((order[j].column == column) ? value :
+						 getValue(movie, order[j].column));
+
+			if (v instanceof Number)
+				key[j] = ((Number)v).doubleValue();
+			else if (v instanceof Boolean)
+				key[j] = v;
+			else
+				key[j] = collator.getCollationKey((v == null) ? "" :
+												  v.toString());
+		}
+
+		return key;
+	}
+
+	private static Object	getValue(Movie movie, int column)
+	{
+		MovieStore	store = movie.getStore();
+		int		row = movie.getRow();
+
+		switch (column)
+		{
+			case MovieStore.TITLE:		return store.getTitle(row);
+			case MovieStore.IMAGE:		return store.getImage(row);
+			case MovieStore.RATING:	return store.getRating(row);
+			case MovieStore.DIRECTOR:	return store.getDirector(row);
+			case MovieStore.SUMMARY:	return store.getSummary(row);
+			case MovieStore.COMMENTS:	return store.getComments(row);
+			case MovieStore.GENRE:		return store.getGenre(row);
+
+			case MovieStore.AWARD_PICTURE:
+				return store.getAwardPicture(row);
+
+			case MovieStore.AWARD_DIRECTING:
+				return store.getAwardDirecting(row);
+
+			case MovieStore.AWARD_CINEMATOGRAPHY:
+				return store.getAwardCinematography(row);
+
+			case MovieStore.AWARD_ACTING:
+				return store.getAwardActing(row);
+
+			case MovieStore.IS_ANIMATED:
+				return store.getIsAnimated(row);
+
+			case MovieStore.IS_COLOR:
+				return store.getIsColor(row);
+		}
+
+		return RangeIndex.getValue(movie, column);
+	}
+
+	private static int	compare(Object[] a, Object[] b, Order[] order)
+	{
+		for (int j=0; j<order.length; j++)
+		{
+			int	c = ((Comparable<Object>)a[j]).compareTo(b[j]);
+
+			if (c != 0)
+				return (order[j].ascending ? c : -c);
+		}
+
+		return 0;
+	}
+
+	private static boolean	isSorted(Order[] order, int column)
+	{
+		for (Order o : order)
+			if (o.column == column)
+				return true;
+
+		return false;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// A column to sort by, and which way.
+	public static final class Order
+	{
+		private final int		column;
+		private final boolean	ascending;
+
+		public Order(int column, boolean ascending)
+		{
+			this.column = column;
+			this.ascending = ascending;
+		}
+
+		public int	getColumn()
+		{
+			return column;
+		}
+
+		public boolean	isAscending()
+		{
+			return ascending;
+		}
+
+		public boolean	equals(Object object)
+		{
+			if (!(object instanceof Order))
+				return false;
+
+			Order	other = (Order)object;
+
+			return ((column == other.column) && (ascending == other.ascending));
+		}
+
+		public int	hashCode()
+		{
+			return (2 * column + (ascending ? 1 : 0));
+		}
+	}
+
+	// A movie and its keys in the order it is sorted by, or null keys if
+	// the movies are unsorted.
+	private static final class Row
+	{
+		private final Movie	movie;
+		private final Object[]	key;
+
+		public Row(Movie movie, Object[] key)
+		{
+			this.movie = movie;
+			this.key = key;
+		}
+	}
+
+	// Sorts a snapshot of the movies into a new order, then permutates the
+	// sorted movies into it.
+	private final class Sort
+		implements Runnable
+	{
+		private final Order[]				order;
+		private final Row[]				snapshot;	// In the list
+		private final Movie[]				movies;		// In the source
+		private final Collator				collator;
+
+		// Movies added or removed since the snapshot, and whether the list
+		// has changed at all, since edits can move movies in it too
+		private final IdentityHashMap<Movie, Integer>	changes;
+		private final int								version;
+
+		// The sorted movies, and where each movie in the snapshot goes
+		private Row[]						rows;
+		private int[]						permutation;
+
+		private Future<?>					future;
+		private volatile boolean			cancelled;
+
+		public Sort(Order[] order)
+		{
+			this.order = order;
+			this.snapshot = MovieSorter.this.movies.copy();
+			this.version = MovieSorter.this.movies.version;
+			this.movies = source.toArray(new Movie[snapshot.length]);
+			this.collator = (Collator)MovieSorter.this.collator.clone();
+
+			changes = new IdentityHashMap<Movie, Integer>();
+		}
+
+		public void	run()
+		{
+			if (sort())
+				Platform.runLater(this::apply);
+		}
+
+		public void	cancel()
+		{
+			cancelled = true;
+
+			if (future != null)
+				future.cancel(true);
+		}
+
+		// Returns false if the sort was cancelled before it finished.
+		public boolean	sort()
+		{
+			rows = new Row[movies.length];
+
+			for (int i=0; i<movies.length; i++)
+			{
+				if (((i % CHECK) == 0) && isCancelled())
+					return false;
+
+				rows[i] = new Row(movies[i], ((order.length == 0) ? null :
+								  getKey(movies[i], order, collator, -1, null)));
+			}
+
+			// Stable, so ties stay in source order
+			if (order.length > 0)
+				Arrays.parallelSort(rows, (a, b) -> compare(a.key, b.key, order));
+
+			if (isCancelled())
+				return false;
+
+			permutation = permute(snapshot, snapshot.length, rows);
+
+			return true;
+		}
+
+		// Replaces the order of the movies on the JavaFX application thread,
+		// unless a newer sort has replaced this one.
+		public void	apply()
+		{
+			if (cancelled)
+				return;
+
+			if (pending == this)
+				pending = null;
+
+			if (version != MovieSorter.this.movies.version)
+				merge();
+
+			applied = order;
+			MovieSorter.this.movies.permute(rows, permutation);
+		}
+
+		// Drops the movies removed since the snapshot from the sorted
+		// movies, and adds the movies added since. Only the movies that
+		// changed are sorted, then merged into the rest.
+		private void	merge()
+		{
+			ArrayList<Row>	added = new ArrayList<Row>();
+			int			n = 0;
+
+			for (Row row : rows)
+				if (!changes.containsKey(row.movie))
+					rows[n++] = row;
+
+			for (Map.Entry<Movie, Integer> entry : changes.entrySet())
+			{
+				if (entry.getValue() == ADDED)
+				{
+					Movie		movie = entry.getKey();
+					Object[]	key = ((order.length == 0) ? null :
+									   getKey(movie, order, collator, -1,
+											  null));
+
+					added.add(new Row(movie, key));
+				}
+			}
+
+			Row[]	merged;
+
+			if (order.length == 0)		// Just the source, in its order
+			{
+				merged = new Row[source.size()];
+
+				for (int i=0; i<merged.length; i++)
+					merged[i] = new Row(source.get(i), null);
+			}
+			else
+			{
+				added.sort((a, b) -> compare(a.key, b.key, order));
+				merged = new Row[n + added.size()];
+
+				int	p = 0;
+				int	q = 0;
+
+				for (int k=0; k<merged.length; k++)
+				{
+					if ((q == added.size()) || ((p < n) &&
+						(compare(rows[p].key, added.get(q).key, order) <= 0)))
+						merged[k] = rows[p++];
+					else
+						merged[k] = added.get(q++);
+				}
+			}
+
+			Sorted	list = MovieSorter.this.movies;
+
+			rows = merged;
+			permutation = permute(list.rows, list.size, merged);
+		}
+
+		private boolean	isCancelled()
+		{
+			return (cancelled || Thread.currentThread().isInterrupted());
+		}
+	}
+
+	// Returns where each of some movies is in a new order of them.
+	private static int[]	permute(Row[] from, int size, Row[] to)
+	{
+		IdentityHashMap<Movie, Integer>	where =
+			new IdentityHashMap<Movie, Integer>(2 * to.length);
+		int[]							permutation = new int[size];
+
+		for (int k=0; k<to.length; k++)
+			where.put(to[k].movie, k);
+
+		for (int k=0; k<size; k++)
+			permutation[k] = where.get(from[k].movie);
+
+		return permutation;
+	}
+
+	// The sorted movies. Each change in the source is reported as the
+	// movies added to or removed from where they are in sorted order, or
+	// where they are in the source if unsorted.
+	private final class Sorted extends ObservableListBase<Movie>
+	{
+		private Row[]		rows = new Row[16];
+		private int		size;
+		private boolean	changing;
+		private int		version;				// Changes reported
+
+		public Movie	get(int i)
+		{
+			if ((i < 0) || (i >= size))
+				throw new IndexOutOfBoundsException("Index: " + i);
+
+			return rows[i].movie;
+		}
+
+		public int	size()
+		{
+			return size;
+		}
+
+		public Row[]	copy()
+		{
+			return Arrays.copyOf(rows, size);
+		}
+
+		// Reports that the movies are now the source's, in its order.
+		public void	reset()
+		{
+			List<Movie>	removed = new ArrayList<Movie>(this);
+
+			size = 0;
+			rows = new Row[16];
+
+			if (source != null)
+				for (Movie movie : source)
+					insertRow(size, new Row(movie, null));
+
+			if (removed.isEmpty() && (size == 0))
+				return;
+
+			beginChange();
+
+			if (!removed.isEmpty())
+				nextRemove(0, removed);
+
+			if (size > 0)
+				nextAdd(0, size);
+
+			fire();
+		}
+
+		// Reports that the movies are in a new order.
+		public void	permute(Row[] rows, int[] permutation)
+		{
+			this.rows = ((rows.length < 16) ? Arrays.copyOf(rows, 16) : rows);
+			size = rows.length;
+
+			if (size == 0)
+				return;
+
+			beginChange();
+			nextPermutation(0, size, permutation);
+			fire();
+		}
+
+		// Reports the movies added to and removed from the source.
+		public void	changed(ListChangeListener.Change<? extends Movie> c)
+		{
+			if (applied.length > 0)
+			{
+				merge(c);
+				return;
+			}
+
+			beginChange();
+
+			while (c.next())
+			{
+				if (c.wasPermutated())
+				{
+					move(c);
+					continue;
+				}
+
+				int	p = c.getFrom();
+
+				for (Movie movie : c.getRemoved())
+				{
+					note(movie, REMOVED);
+					removeRow(p);
+					nextRemove(p, movie);
+				}
+
+				for (Movie movie : c.getAddedSubList())
+				{
+					note(movie, ADDED);
+					watch(movie.getStore());
+					insertRow(p, new Row(movie, null));
+					nextAdd(p, p + 1);
+					p++;
+				}
+			}
+
+			fire();
+		}
+
+		// Removes the movies removed from the source, last first, then adds
+		// the movies added, first first, so that each change is reported at
+		// the place the list has it at the time.
+		private void	merge(ListChangeListener.Change<? extends Movie> c)
+		{
+			ArrayList<Movie>	removed = new ArrayList<Movie>();
+			ArrayList<Row>		added = new ArrayList<Row>();
+
+			while (c.next())
+			{
+				for (Movie movie : c.getRemoved())
+				{
+					note(movie, REMOVED);
+					removed.add(movie);
+				}
+
+				if (c.wasAdded())
+				{
+					for (Movie movie : c.getAddedSubList())
+					{
+						note(movie, ADDED);
+						watch(movie.getStore());
+						added.add(new Row(movie, getKey(movie, applied,
+														collator, -1, null)));
+					}
+				}
+			}
+
+			int[]	where = new int[removed.size()];
+			int	n = 0;
+
+			for (Movie movie : removed)
+			{
+				int	p = find(movie);
+
+				if (p >= 0)
+					where[n++] = p;
+			}
+
+			Arrays.sort(where, 0, n);
+			added.sort((a, b) -> compare(a.key, b.key, applied));
+
+			beginChange();
+
+			for (int k=n-1; k>=0; k--)
+			{
+				Movie	movie = rows[where[k]].movie;
+
+				removeRow(where[k]);
+				nextRemove(where[k], movie);
+			}
+
+			for (Row row : added)
+				place(row);
+
+			fire();
+		}
+
+		// Moves a movie after an edit to a column it is sorted by.
+		public void	changed(MovieStore store, int row, int column,
+							Object oldValue)
+		{
+			Movie	movie = new Movie(store, row);
+			int	p = find(getKey(movie, applied, collator, column,
+									oldValue), store, row);
+
+			if (p < 0)								// Not listed
+				return;
+
+			Row	moved = new Row(rows[p].movie, getKey(movie, applied,
+													  collator, -1, null));
+
+			removeRow(p);
+
+			int	q = search(moved.key);
+
+			insertRow(q, moved);
+
+			if (p == q)
+				return;
+
+			// Everything from one place to the other moves over by one
+			int	from = Math.min(p, q);
+			int	to = Math.max(p, q) + 1;
+			int[]	permutation = new int[to - from];
+
+			for (int k=from; k<to; k++)
+				permutation[k - from] = ((k == p) ? q : ((p < q) ? k - 1 : k + 1));
+
+			beginChange();
+			nextPermutation(from, to, permutation);
+			fire();
+		}
+
+		// Inserts a movie after the movies with the same keys.
+		private void	place(Row row)
+		{
+			int	p = search(row.key);
+
+			insertRow(p, row);
+			nextAdd(p, p + 1);
+		}
+
+		// Returns where a movie with the keys goes after the movies with the
+		// same keys.
+		private int	search(Object[] key)
+		{
+			int	lo = 0;
+			int	hi = size;
+
+			while (lo < hi)
+			{
+				int	mid = (lo + hi) >>> 1;
+
+				if (compare(rows[mid].key, key, applied) <= 0)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+
+			return lo;
+		}
+
+		// Returns where a movie is, looking first among movies with its
+		// keys. Returns -1 if it isn't listed.
+		private int	find(Movie movie)
+		{
+			MovieStore	store = movie.getStore();
+			int		row = movie.getRow();
+			int		p = find(getKey(movie, applied, collator, -1, null),
+								 store, row);
+
+			if (p >= 0)
+				return p;
+
+			// Its keys were edited and it hasn't moved yet
+			for (int k=0; k<size; k++)
+				if (rows[k].movie == movie)
+					return k;
+
+			return -1;
+		}
+
+		// Returns where the movie for a row of a store is among the movies
+		// with the keys, or -1 if none.
+		private int	find(Object[] key, MovieStore store, int row)
+		{
+			int	lo = 0;
+			int	hi = size;
+
+			while (lo < hi)
+			{
+				int	mid = (lo + hi) >>> 1;
+
+				if (compare(rows[mid].key, key, applied) < 0)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+
+			for (int k=lo; (k < size) && (compare(rows[k].key, key,
+												   applied) == 0); k++)
+				if ((rows[k].movie.getStore() == store) &&
+					(rows[k].movie.getRow() == row))
+					return k;
+
+			return -1;
+		}
+
+		// Applies a permutation of the source to the unsorted movies.
+		private void	move(ListChangeListener.Change<? extends Movie> c)
+		{
+			int	from = c.getFrom();
+			int	to = c.getTo();
+			Row[]	old = Arrays.copyOfRange(rows, from, to);
+			int[]	permutation = new int[to - from];
+
+			for (int i=from; i<to; i++)
+			{
+				permutation[i - from] = c.getPermutation(i);
+				rows[c.getPermutation(i)] = old[i - from];
+			}
+
+			nextPermutation(from, to, permutation);
+		}
+
+		private void	insertRow(int p, Row row)
+		{
+			if (size == rows.length)
+				rows = Arrays.copyOf(rows, 2 * size);
+
+			System.arraycopy(rows, p, rows, p + 1, size - p);
+			rows[p] = row;
+			size++;
+		}
+
+		private void	removeRow(int p)
+		{
+			System.arraycopy(rows, p + 1, rows, p, size - p - 1);
+			rows[--size] = null;
+		}
+
+		private void	fire()
+		{
+			version++;
+			changing = true;
+
+			try
+			{
+				endChange();
+			}
+			finally
+			{
+				changing = false;
+			}
+		}
+	}
+
+	// Keeps up with movies added to or removed from the source.
+	private final class SourceHandler
+		implements ListChangeListener<Movie>
+	{
+		public void	onChanged(ListChangeListener.Change<? extends Movie> c)
+		{
+			movies.changed(c);
+		}
+	}
+
+	// Moves movies that are edited in a column they are sorted by.
+	private final class StoreHandler
+		implements MovieStore.Listener
+	{
+		public void	changed(MovieStore store, int row, int column,
+							Object oldValue)
+		{
+			if (isSorted(applied, column))
+				movies.changed(store, row, column, oldValue);
+
+			// Sort again if the edit came after the keys were computed
+			if ((pending != null) && isSorted(pending.order, column))
+				sort();
+		}
+	}
+}
+
+//******************************************************************************
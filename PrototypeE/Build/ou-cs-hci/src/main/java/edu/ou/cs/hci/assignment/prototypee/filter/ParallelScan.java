@@ -0,0 +1,74 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:25 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.stream.IntStream;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ParallelScan</CODE> class splits a scan of the movies in a
+ * collection into chunks of whole bitmap words, and scans the chunks in
+ * parallel on the common fork/join pool. Chunks never share a word, so each
+ * can set and clear bits in a bitmap without locking. Collections too small
+ * for more than one chunk are scanned on the calling thread.
+ *
+ * @version %I%, %G%
+ */
+public final class ParallelScan
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	WORDS = 1024;			// 65,536 movies a chunk
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private ParallelScan()
+	{
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Scans words from 0 up to a count, a chunk at a time. Returns false if
+	// any chunk does, which stops the chunks that haven't started.
+	public static boolean	run(int words, Chunk chunk)
+	{
+		int	n = (words + WORDS - 1) / WORDS;
+
+		if (n <= 1)
+			return chunk.scan(0, words);
+
+		return IntStream.range(0, n).parallel().allMatch(
+			c -> chunk.scan(c * WORDS, Math.min((c + 1) * WORDS, words)));
+	}
+
+	//**********************************************************************
+	// Inner Interfaces
+	//**********************************************************************
+
+	// Scans the movies in a range of words. Returns false if cancelled.
+	public interface Chunk
+	{
+		public boolean	scan(int from, int to);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,321 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:21 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.*;
+import edu.ou.cs.hci.assignment.prototypee.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>RangeIndex</CODE> class keeps the movies in a collection sorted by
+ * the values in one numeric column of their stores (year, runtime, average
+ * review score, or number of reviews), so that the movies with values in a
+ * range can be found by binary search.
+ *
+ * Values are kept as longs that sort the same way as the values do, paired
+ * with the indices of their movies and sorted by both, so that any one pair
+ * can be found again when a value is edited. Movies appended to the
+ * collection are kept unsorted in a tail until the next search, which sorts
+ * the tail and merges it in.
+ *
+ * Like TitleIndex, the index can be built and searched in the background
+ * while movies are added and edited on the JavaFX application thread.
+ *
+ * @version %I%, %G%
+ */
+public final class RangeIndex
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	CHUNK = 4096;			// Movies per lock
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int		column;
+
+	// Sorted values and the movies that have them
+	private long[]			keys = new long[0];
+	private int[]			ids = new int[0];
+	private int			size;
+
+	// Values of movies not sorted yet, from index 'merged' up to 'built'
+	private long[]			tail = new long[16];
+	private int			merged;
+	private int			built;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public RangeIndex(int column)
+	{
+		if (!isIndexed(column))
+			throw new IllegalArgumentException("Column isn't numeric");
+
+		this.column = column;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns true for the columns of stores that can be indexed.
+	public static boolean	isIndexed(int column)
+	{
+		return ((column == MovieStore.YEAR) ||
+				(column == MovieStore.RUNTIME) ||
+				(column == MovieStore.AVERAGE_REVIEW_SCORE) ||
+				(column == MovieStore.NUMBER_OF_REVIEWS));
+	}
+
+	// Returns the value in a column for a movie.
+	public static double	getValue(Movie movie, int column)
+	{
+		MovieStore	store = movie.getStore();
+		int		row = movie.getRow();
+
+		switch (column)
+		{
+			case MovieStore.YEAR:
+				return store.getYear(row);
+
+			case MovieStore.RUNTIME:
+				return store.getRuntime(row);
+
+			case MovieStore.AVERAGE_REVIEW_SCORE:
+				return store.getAverageReviewScore(row);
+
+			case MovieStore.NUMBER_OF_REVIEWS:
+				return store.getNumberOfReviews(row);
+		}
+
+		throw new IllegalArgumentException("Column isn't numeric");
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public int	getColumn()
+	{
+		return column;
+	}
+
+	// Adds the values of movies, up to an index, that earlier calls didn't.
+	// Returns false if the thread was interrupted before it finished.
+	public boolean	build(Movie[] movies, int to)
+	{
+		while (true)
+		{
+			synchronized (this)
+			{
+				if (built >= to)
+					return true;
+
+				int	end = Math.min(built + CHUNK, to);
+
+				for (int i=built; i<end; i++)
+					append(getValue(movies[i], column));
+			}
+
+			if (Thread.currentThread().isInterrupted())
+				return false;
+		}
+	}
+
+	// Adds the value of a movie appended to the collection. Movies must be
+	// added in order; others will be added by the next build().
+	public synchronized void	add(int index, double value)
+	{
+		if (index == built)
+			append(value);
+	}
+
+	// Moves a movie after its value is edited.
+	public synchronized void	update(int index, double oldValue,
+									   double newValue)
+	{
+		if (index >= built)						// Not added yet
+			return;
+
+		if (index >= merged)					// Not sorted yet
+		{
+			tail[index - merged] = toKey(newValue);
+			return;
+		}
+
+		long	key = toKey(oldValue);
+		int	k = search(key, index);
+
+		if (k < 0)
+			return;
+
+		System.arraycopy(keys, k + 1, keys, k, size - k - 1);
+		System.arraycopy(ids, k + 1, ids, k, size - k - 1);
+		size--;
+
+		key = toKey(newValue);
+		k = -search(key, index) - 1;
+
+		System.arraycopy(keys, k, keys, k + 1, size - k);
+		System.arraycopy(ids, k, ids, k + 1, size - k);
+		keys[k] = key;
+		ids[k] = index;
+		size++;
+	}
+
+	// Returns the indices of the movies with values from min to max,
+	// inclusive, in order of their values.
+	public synchronized int[]	find(double min, double max)
+	{
+		merge();
+
+		int	from = -search(toKey(min), Integer.MIN_VALUE) - 1;
+		int	to = -search(toKey(max), Integer.MAX_VALUE) - 1;
+
+		if (from >= to)
+			return new int[0];
+
+		return Arrays.copyOfRange(ids, from, to);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Maps a value to a long that sorts like it, so -1.0 < -0.5 < 0.0 < 0.5.
+	private static long	toKey(double value)
+	{
+		long	bits = Double.doubleToLongBits(value + 0.0);	// No -0.0
+
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	private void	append(double value)
+	{
+		int	n = built - merged;
+
+		if (n == tail.length)
+			tail = Arrays.copyOf(tail, 2 * n);
+
+		tail[n] = toKey(value);
+		built++;
+	}
+
+	// Returns the position of a pair like Arrays.binarySearch().
+	private int	search(long key, int id)
+	{
+		int	lo = 0;
+		int	hi = size - 1;
+
+		while (lo <= hi)
+		{
+			int	mid = (lo + hi) >>> 1;
+			int	c = (keys[mid] != key) ? Long.compare(keys[mid], key) :
+				Integer.compare(ids[mid], id);
+
+			if (c < 0)
+				lo = mid + 1;
+			else if (c > 0)
+				hi = mid - 1;
+			else
+				return mid;
+		}
+
+		return -(lo + 1);
+	}
+
+	// Sorts the tail and merges it into the sorted values.
+	private void	merge()
+	{
+		int	n = built - merged;
+
+		if (n == 0)
+			return;
+
+		long[]	tkeys = Arrays.copyOf(tail, n);
+		int[]	tids = new int[n];
+
+		for (int i=0; i<n; i++)
+			tids[i] = merged + i;
+
+		// Indices in the tail start in order, so a stable sort keeps pairs
+		// with the same value in order of index
+		sort(tkeys, tids, tkeys.clone(), tids.clone(), 0, n);
+
+		long[]	nkeys = new long[size + n];
+		int[]	nids = new int[size + n];
+		int	i = 0;
+		int	j = 0;
+
+		for (int k=0; k<nkeys.length; k++)
+		{
+			if ((j == n) || ((i < size) && ((keys[i] < tkeys[j]) ||
+				((keys[i] == tkeys[j]) && (ids[i] < tids[j])))))
+			{
+				nkeys[k] = keys[i];
+				nids[k] = ids[i++];
+			}
+			else
+			{
+				nkeys[k] = tkeys[j];
+				nids[k] = tids[j++];
+			}
+		}
+
+		keys = nkeys;
+		ids = nids;
+		size += n;
+		merged = built;
+	}
+
+	// Stable merge sort of pairs from (skeys, sids) into (keys, ids). Both
+	// start with the same contents.
+	private static void	sort(long[] keys, int[] ids, long[] skeys,
+								 int[] sids, int from, int to)
+	{
+		if (to - from < 2)
+			return;
+
+		int	mid = (from + to) >>> 1;
+
+		sort(skeys, sids, keys, ids, from, mid);
+		sort(skeys, sids, keys, ids, mid, to);
+
+		int	i = from;
+		int	j = mid;
+
+		for (int k=from; k<to; k++)
+		{
+			if ((j == to) || ((i < mid) && (skeys[i] <= skeys[j])))
+			{
+				keys[k] = skeys[i];
+				ids[k] = sids[i++];
+			}
+			else
+			{
+				keys[k] = skeys[j];
+				ids[k] = sids[j++];
+			}
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,189 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:27 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ResultCache</CODE> class keeps the bitmaps of recent results of
+ * criteria, keyed by a normalized string for the criterion's value, so that
+ * going back to a value doesn't evaluate it again. The least recently used
+ * results are dropped when their bitmaps take more than a budget of bytes.
+ *
+ * The cache doesn't know how results are computed. Each entry keeps the
+ * criterion and a value of the caller's choosing, so that the caller can
+ * find the entries that an edit affects and correct just the edited movie's
+ * bit in them. Entries for fewer movies than the collection has can be
+ * brought up to date the same way when used.
+ *
+ * Like FacetIndex, the cache is only used on the JavaFX application thread.
+ *
+ * @version %I%, %G%
+ */
+public final class ResultCache<T>
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final long							budget;		// Bytes
+	private final LinkedHashMap<String, Entry<T>>	entries;
+
+	// Lookups that found an entry, and those that didn't
+	private int								hits;
+	private int								misses;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public ResultCache(long budget)
+	{
+		this.budget = budget;
+
+		// Iterate from least to most recently used
+		entries = new LinkedHashMap<String, Entry<T>>(16, 0.75f, true);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return entries.size();
+	}
+
+	public int	getHits()
+	{
+		return hits;
+	}
+
+	public int	getMisses()
+	{
+		return misses;
+	}
+
+	// Returns the bytes taken by the bitmaps of the entries.
+	public long	getBytes()
+	{
+		long	bytes = 0L;
+
+		for (Entry<T> entry : entries.values())
+			bytes += entry.getBytes();
+
+		return bytes;
+	}
+
+	// Returns the entries, least recently used first.
+	public Collection<Entry<T>>	getEntries()
+	{
+		return Collections.unmodifiableCollection(entries.values());
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns the entry for a key, marking it most recently used, or null if
+	// none.
+	public Entry<T>	get(String key)
+	{
+		Entry<T>	entry = entries.get(key);
+
+		if (entry == null)
+			misses++;
+		else
+			hits++;
+
+		return entry;
+	}
+
+	// Keeps a copy of the bitmap for a criterion under a key, replacing any
+	// entry it had, then drops entries until the rest fit the budget.
+	public void	put(String key, int criterion, T value, Bitmap bitmap)
+	{
+		Bitmap	copy = new Bitmap();
+
+		copy.copy(bitmap);
+		entries.put(key, new Entry<T>(criterion, value, copy));
+		trim();
+	}
+
+	// Drops the least recently used entries until the rest fit the budget,
+	// keeping the most recently used one regardless. Call after entries
+	// grow to the size of the collection.
+	public void	trim()
+	{
+		long	bytes = getBytes();
+
+		Iterator<Entry<T>>	i = entries.values().iterator();
+
+		while ((bytes > budget) && (entries.size() > 1))
+		{
+			bytes -= i.next().getBytes();
+			i.remove();
+		}
+	}
+
+	public void	clear()
+	{
+		entries.clear();
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The result of a criterion, and the value it was evaluated for.
+	public static final class Entry<T>
+	{
+		private final int		criterion;
+		private final T		value;
+		private final Bitmap	bitmap;
+
+		private Entry(int criterion, T value, Bitmap bitmap)
+		{
+			this.criterion = criterion;
+			this.value = value;
+			this.bitmap = bitmap;
+		}
+
+		public int	getCriterion()
+		{
+			return criterion;
+		}
+
+		public T	getValue()
+		{
+			return value;
+		}
+
+		// Returns the movies that passed, which the caller keeps up to date.
+		public Bitmap	getBitmap()
+		{
+			return bitmap;
+		}
+
+		private long	getBytes()
+		{
+			return 8L * bitmap.getWordCount();
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,523 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:23 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.*;
+import edu.ou.cs.hci.assignment.prototypee.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>TextIndex</CODE> class is an inverted index from the words in the
+ * title, director, summary, and comments of movies to the movies that have
+ * them, for ranked full-text search. Words are runs of letters and digits,
+ * in lower case. Words in titles count three times and words in directors
+ * twice, so that a search for a name or a title ranks those movies first.
+ *
+ * A search finds the movies that have every word in it by intersecting the
+ * lists of movies for the words, shortest first, and ranks them by BM25. Only
+ * the best are kept, in a heap with room for that many, so a search never
+ * visits movies that lack its rarest word and never sorts more than it
+ * returns. A search can be limited to movies that pass other criteria, so
+ * that the best are taken from those instead of from the whole collection.
+ *
+ * Like TitleIndex, the index can be built and searched in the background
+ * while movies are added and edited on the JavaFX application thread.
+ *
+ * @version %I%, %G%
+ */
+public final class TextIndex
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	CHUNK = 1024;			// Movies per lock
+	private static final int	CHECK = 4096;			// Scores per check
+
+	// The columns indexed, and how much each word in them counts
+	private static final int[]	COLUMNS =
+	{
+		MovieStore.TITLE, MovieStore.DIRECTOR,
+		MovieStore.SUMMARY, MovieStore.COMMENTS,
+	};
+
+	private static final int[]	WEIGHTS = { 3, 2, 1, 1, };
+
+	// BM25 parameters for how fast counts saturate and how much length
+	// matters
+	private static final double	K1 = 1.2;
+	private static final double	B = 0.75;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final HashMap<String, Posting>	postings;
+
+	// Weighted number of words in each movie, and in all of them
+	private int[]							lengths = new int[16];
+	private long							total;
+	private int							built;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public TextIndex()
+	{
+		postings = new HashMap<String, Posting>();
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns true for the columns of stores that the index covers.
+	public static boolean	isIndexed(int column)
+	{
+		for (int c : COLUMNS)
+			if (c == column)
+				return true;
+
+		return false;
+	}
+
+	// Returns the distinct words in a string, in the order they appear.
+	public static String[]	getWords(String s)
+	{
+		LinkedHashSet<String>	words = new LinkedHashSet<String>();
+
+		tokenize(s, 1, words, null);
+
+		return words.toArray(new String[words.size()]);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Adds the movies, up to an index, that earlier calls didn't. Returns
+	// false if the thread was interrupted before it finished.
+	public boolean	build(Movie[] movies, int to)
+	{
+		while (true)
+		{
+			synchronized (this)
+			{
+				if (built >= to)
+					return true;
+
+				int	end = Math.min(built + CHUNK, to);
+
+				for (int i=built; i<end; i++)
+					append(movies[i]);
+			}
+
+			if (Thread.currentThread().isInterrupted())
+				return false;
+		}
+	}
+
+	// Adds a movie appended to the collection. Movies must be added in
+	// order; others will be added by the next build().
+	public synchronized void	add(int index, Movie movie)
+	{
+		if (index == built)
+			append(movie);
+	}
+
+	// Reindexes a movie after one of its indexed columns is edited.
+	public synchronized void	update(int index, Movie movie, int column,
+									   String oldValue)
+	{
+		if (index >= built)						// Not added yet
+			return;
+
+		HashMap<String, int[]>	counts = new HashMap<String, int[]>();
+
+		count(movie, column, oldValue, counts);
+		total -= lengths[index];
+
+		for (String word : counts.keySet())
+		{
+			Posting	posting = postings.get(word);
+
+			if (posting != null)
+			{
+				posting.remove(index);
+
+				if (posting.size == 0)
+					postings.remove(word);
+			}
+		}
+
+		counts.clear();
+		lengths[index] = count(movie, -1, null, counts);
+		total += lengths[index];
+
+		for (Map.Entry<String, int[]> entry : counts.entrySet())
+			getPosting(entry.getKey()).add(index, entry.getValue()[0]);
+	}
+
+	// Returns the indices of up to limit movies that have every word in the
+	// string, best first. Returns null if the thread was interrupted.
+	public int[]	search(String s, int limit)
+	{
+		return search(s, limit, null);
+	}
+
+	// Returns the indices of up to limit movies that have every word in the
+	// string and are set in a filter, best first. Movies past the end of the
+	// filter aren't ranked. All movies can rank if the filter is null.
+	// Returns null if the thread was interrupted.
+	public synchronized int[]	search(String s, int limit, Bitmap filter)
+	{
+		String[]	words = getWords(s);
+		Posting[]	lists = new Posting[words.length];
+
+		if ((words.length == 0) || (built == 0))
+			return new int[0];
+
+		for (int i=0; i<words.length; i++)
+		{
+			lists[i] = postings.get(words[i]);
+
+			if (lists[i] == null)
+				return new int[0];
+		}
+
+		// Walk the shortest list, and look for its movies in the others
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+		double[]	idfs = new double[lists.length];
+		int[]		from = new int[lists.length];
+		double		average = (double)total / built;
+
+		for (int j=0; j<lists.length; j++)
+			idfs[j] = Math.log(1.0 + (built - lists[j].size + 0.5) /
+							   (lists[j].size + 0.5));
+
+		Heap	heap = new Heap(limit);
+
+		for (int k=0; k<lists[0].size; k++)
+		{
+			if (((k % CHECK) == 0) && Thread.currentThread().isInterrupted())
+				return null;
+
+			int		index = lists[0].ids[k];
+
+			if ((filter != null) &&
+				((index >= filter.size()) || !filter.get(index)))
+				continue;
+
+			double	norm = K1 * (1.0 - B + B * lengths[index] / average);
+			double	score = 0.0;
+			boolean	all = true;
+
+			for (int j=0; j<lists.length; j++)
+			{
+				int	p = k;
+
+				if (j > 0)
+				{
+					p = TitleIndex.gallop(lists[j].ids, from[j], lists[j].size,
+										  index);
+
+					if (p < 0)
+					{
+						from[j] = -p - 1;
+						all = false;
+						break;
+					}
+
+					from[j] = p + 1;
+				}
+
+				int	tf = lists[j].counts[p] & 0xFF;
+
+				score += idfs[j] * tf * (K1 + 1.0) / (tf + norm);
+			}
+
+			if (all)
+				heap.offer(index, score);
+		}
+
+		return heap.drain();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	append(Movie movie)
+	{
+		HashMap<String, int[]>	counts = new HashMap<String, int[]>();
+		int	length = count(movie, -1, null, counts);
+
+		if (built == lengths.length)
+			lengths = Arrays.copyOf(lengths, 2 * built);
+
+		lengths[built] = length;
+		total += length;
+
+		for (Map.Entry<String, int[]> entry : counts.entrySet())
+			getPosting(entry.getKey()).add(built, entry.getValue()[0]);
+
+		built++;
+	}
+
+	private Posting	getPosting(String word)
+	{
+		Posting	posting = postings.get(word);
+
+		if (posting == null)
+		{
+			posting = new Posting();
+			postings.put(word, posting);
+		}
+
+		return posting;
+	}
+
+	// Counts the weighted words of a movie into a map, if not null, with
+	// the value of one column replaced. Returns the weighted number of words.
+	private static int	count(Movie movie, int column, String value,
+								  HashMap<String, int[]> counts)
+	{
+		MovieStore	store = movie.getStore();
+		int		row = movie.getRow();
+		int		length = 0;
+
+		for (int c=0; c<COLUMNS.length; c++)
+		{
+			String	s;
+
+			if (COLUMNS[c] == column)
+				s = value;
+			else if (COLUMNS[c] == MovieStore.TITLE)
+				s = store.getTitle(row);
+			else if (COLUMNS[c] == MovieStore.DIRECTOR)
+				s = store.getDirector(row);
+			else if (COLUMNS[c] == MovieStore.SUMMARY)
+				s = store.getSummary(row);
+			else
+				s = store.getComments(row);
+
+			length += tokenize(s, WEIGHTS[c], null, counts);
+		}
+
+		return length;
+	}
+
+	// Splits a string into lower case words, adding them to a set or their
+	// weights to a map. Returns the weighted number of words.
+	private static int	tokenize(String s, int weight, Set<String> words,
+									 HashMap<String, int[]> counts)
+	{
+		if (s == null)
+			return 0;
+
+		int	length = 0;
+		int	n = s.length();
+		int	i = 0;
+
+		while (i < n)
+		{
+			while ((i < n) && !Character.isLetterOrDigit(s.charAt(i)))
+				i++;
+
+			int	start = i;
+
+			while ((i < n) && Character.isLetterOrDigit(s.charAt(i)))
+				i++;
+
+			if (i == start)
+				break;
+
+			String	word = s.substring(start, i).toLowerCase(Locale.ROOT);
+
+			length += weight;
+
+			if (words != null)
+				words.add(word);
+
+			if (counts != null)
+			{
+				int[]	count = counts.get(word);
+
+				if (count == null)
+					counts.put(word, new int[] { weight });
+				else
+					count[0] += weight;
+			}
+		}
+
+		return length;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Sorted indices of the movies that have one word, with the weighted
+	// number of times each has it, up to 255.
+	private static final class Posting
+	{
+		private int[]	ids = new int[2];
+		private byte[]	counts = new byte[2];
+		private int	size;
+
+		public void	add(int index, int count)
+		{
+			// Movies are usually added in order, so append if possible
+			int	k = ((size == 0) || (ids[size - 1] < index)) ? -size - 1 :
+				Arrays.binarySearch(ids, 0, size, index);
+
+			if (k >= 0)
+				return;
+
+			k = -k - 1;
+
+			if (size == ids.length)
+			{
+				ids = Arrays.copyOf(ids, 2 * size);
+				counts = Arrays.copyOf(counts, 2 * size);
+			}
+
+			System.arraycopy(ids, k, ids, k + 1, size - k);
+			System.arraycopy(counts, k, counts, k + 1, size - k);
+			ids[k] = index;
+			counts[k] = (byte)Math.min(count, 255);
+			size++;
+		}
+
+		public void	remove(int index)
+		{
+			int	k = Arrays.binarySearch(ids, 0, size, index);
+
+			if (k < 0)
+				return;
+
+			System.arraycopy(ids, k + 1, ids, k, size - k - 1);
+			System.arraycopy(counts, k + 1, counts, k, size - k - 1);
+			size--;
+		}
+	}
+
+	// The best scores so far, with the lowest on top so that it can be
+	// replaced. Ties go to the movie earlier in the collection.
+	private static final class Heap
+	{
+		private final int[]	ids;
+		private final double[]	scores;
+		private int			size;
+
+		public Heap(int limit)
+		{
+			ids = new int[limit];
+			scores = new double[limit];
+		}
+
+		public void	offer(int index, double score)
+		{
+			if (size < ids.length)
+			{
+				ids[size] = index;
+				scores[size] = score;
+				up(size++);
+			}
+			else if ((size > 0) && worse(ids[0], scores[0], index, score))
+			{
+				ids[0] = index;
+				scores[0] = score;
+				down(0);
+			}
+		}
+
+		// Empties the heap, returning the indices best first.
+		public int[]	drain()
+		{
+			int[]	result = new int[size];
+
+			while (size > 0)
+			{
+				result[size - 1] = ids[0];
+				size--;
+				ids[0] = ids[size];
+				scores[0] = scores[size];
+				down(0);
+			}
+
+			return result;
+		}
+
+		private static boolean	worse(int a, double sa, int b, double sb)
+		{
+			return ((sa < sb) || ((sa == sb) && (a > b)));
+		}
+
+		private void	up(int k)
+		{
+			while (k > 0)
+			{
+				int	parent = (k - 1) >>> 1;
+
+				if (!worse(ids[k], scores[k], ids[parent], scores[parent]))
+					break;
+
+				swap(k, parent);
+				k = parent;
+			}
+		}
+
+		private void	down(int k)
+		{
+			while (true)
+			{
+				int	least = k;
+				int	left = 2 * k + 1;
+				int	right = left + 1;
+
+				if ((left < size) &&
+					worse(ids[left], scores[left], ids[least], scores[least]))
+					least = left;
+
+				if ((right < size) &&
+					worse(ids[right], scores[right], ids[least], scores[least]))
+					least = right;
+
+				if (least == k)
+					break;
+
+				swap(k, least);
+				k = least;
+			}
+		}
+
+		private void	swap(int i, int j)
+		{
+			int		id = ids[i];
+			double	score = scores[i];
+
+			ids[i] = ids[j];
+			scores[i] = scores[j];
+			ids[j] = id;
+			scores[j] = score;
+		}
+	}
+}
+
+//******************************************************************************
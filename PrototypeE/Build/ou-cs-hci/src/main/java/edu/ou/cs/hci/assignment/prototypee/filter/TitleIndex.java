@@ -0,0 +1,276 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 08:19:23 2026 by rees0012
+//******************************************************************************
+// Major Modification History:
+//
+// 20261018 [rees0012]:	Original file.
+//
+//******************************************************************************
+//
+//******************************************************************************
+
+package edu.ou.cs.hci.assignment.prototypee.filter;
+
+//import java.lang.*;
+import java.util.*;
+import edu.ou.cs.hci.assignment.prototypee.Movie;
+
+//******************************************************************************
+
+/**
+ * The <CODE>TitleIndex</CODE> class is an inverted index from the trigrams
+ * (runs of three characters) in movie titles to the movies that have them.
+ * A title contains a string only if it has every trigram of the string, so
+ * intersecting their lists of movies gives the few candidates to check,
+ * instead of checking every title in the collection.
+ *
+ * Movies are identified by their indices in a collection. Each list of
+ * movies is kept sorted, so that lists can be intersected by searching.
+ * The index can be built and searched in the background while movies are
+ * added and edited on the JavaFX application thread.
+ *
+ * @version %I%, %G%
+ */
+public final class TitleIndex
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	GRAM = 3;				// Characters per gram
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	CHUNK = 4096;			// Titles per lock
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final HashMap<Long, Posting>	postings;
+	private int							built;		// Movies by build()
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public TitleIndex()
+	{
+		postings = new HashMap<Long, Posting>();
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns true if the index can find titles that contain the string.
+	public static boolean	isSearchable(String s)
+	{
+		return ((s != null) && (s.length() >= GRAM));
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Adds the titles of movies, up to an index, that earlier calls didn't.
+	// Returns false if the thread was interrupted before it finished. Titles
+	// are added a chunk at a time, so that edits can get in between.
+	public boolean	build(Movie[] movies, int to)
+	{
+		while (true)
+		{
+			synchronized (this)
+			{
+				if (built >= to)
+					return true;
+
+				int	end = Math.min(built + CHUNK, to);
+
+				for (int i=built; i<end; i++)
+					add(i, movies[i].getStore().getTitle(movies[i].getRow()));
+
+				built = end;
+			}
+
+			if (Thread.currentThread().isInterrupted())
+				return false;
+		}
+	}
+
+	// Adds a movie's title to the index.
+	public synchronized void	add(int index, String title)
+	{
+		for (long key : getKeys(title))
+		{
+			Posting	posting = postings.get(key);
+
+			if (posting == null)
+			{
+				posting = new Posting();
+				postings.put(key, posting);
+			}
+
+			posting.add(index);
+		}
+	}
+
+	// Removes a movie's title from the index.
+	public synchronized void	remove(int index, String title)
+	{
+		for (long key : getKeys(title))
+		{
+			Posting	posting = postings.get(key);
+
+			if (posting != null)
+			{
+				posting.remove(index);
+
+				if (posting.size == 0)
+					postings.remove(key);
+			}
+		}
+	}
+
+	// Returns the sorted indices of movies with titles that have every
+	// trigram of the string, which must be searchable. Titles longer than a
+	// trigram must still be checked, since their trigrams might not be in
+	// the same order.
+	public synchronized int[]	find(String s)
+	{
+		long[]		keys = getKeys(s);
+		Posting[]	lists = new Posting[keys.length];
+
+		for (int i=0; i<keys.length; i++)
+		{
+			lists[i] = postings.get(keys[i]);
+
+			if (lists[i] == null)
+				return new int[0];
+		}
+
+		// Start with the shortest list, and keep what is in all the others
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+		int[]	result = Arrays.copyOf(lists[0].ids, lists[0].size);
+		int	n = result.length;
+
+		for (int i=1; (i<lists.length) && (n > 0); i++)
+		{
+			Posting	list = lists[i];
+			int		m = 0;
+			int		from = 0;
+
+			for (int j=0; j<n; j++)
+			{
+				int	k = gallop(list.ids, from, list.size, result[j]);
+
+				if (k >= 0)
+				{
+					result[m++] = result[j];
+					from = k + 1;
+				}
+				else
+				{
+					from = -k - 1;
+				}
+			}
+
+			n = m;
+		}
+
+		return Arrays.copyOf(result, n);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Like Arrays.binarySearch(), but looks near the start of the range
+	// first. Lists are intersected in order, so the next index is usually
+	// close to the last one found. TextIndex intersects its lists this way too.
+	static int	gallop(int[] a, int from, int to, int key)
+	{
+		int	step = 1;
+		int	hi = from;
+
+		while ((hi < to) && (a[hi] < key))
+		{
+			from = hi + 1;
+			hi += step;
+			step <<= 1;
+		}
+
+		return Arrays.binarySearch(a, from, Math.min(hi + 1, to), key);
+	}
+
+	// Returns the distinct trigrams in a string, three chars to a long.
+	private static long[]	getKeys(String s)
+	{
+		if ((s == null) || (s.length() < GRAM))
+			return new long[0];
+
+		long[]	keys = new long[s.length() - GRAM + 1];
+
+		for (int i=0; i<keys.length; i++)
+			keys[i] = ((long)s.charAt(i) << 32) |
+				((long)s.charAt(i + 1) << 16) | s.charAt(i + 2);
+
+		Arrays.sort(keys);
+
+		int	n = 0;
+
+		for (int i=0; i<keys.length; i++)
+			if ((n == 0) || (keys[i] != keys[n - 1]))
+				keys[n++] = keys[i];
+
+		return Arrays.copyOf(keys, n);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Sorted indices of the movies with titles that have one trigram.
+	private static final class Posting
+	{
+		private int[]	ids = new int[4];
+		private int	size;
+
+		public void	add(int index)
+		{
+			// Movies are usually added in order, so append if possible
+			int	k = ((size == 0) || (ids[size - 1] < index)) ? -size - 1 :
+				Arrays.binarySearch(ids, 0, size, index);
+
+			if (k >= 0)
+				return;
+
+			k = -k - 1;
+
+			if (size == ids.length)
+				ids = Arrays.copyOf(ids, 2 * size);
+
+			System.arraycopy(ids, k, ids, k + 1, size - k);
+			ids[k] = index;
+			size++;
+		}
+
+		public void	remove(int index)
+		{
+			int	k = Arrays.binarySearch(ids, 0, size, index);
+
+			if (k < 0)
+				return;
+
+			System.arraycopy(ids, k + 1, ids, k, size - k - 1);
+			size--;
+		}
+	}
+}
+
+//******************************************************************************
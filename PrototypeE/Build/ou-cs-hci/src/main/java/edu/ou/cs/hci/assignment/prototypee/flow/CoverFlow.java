@@ -1,13 +1,15 @@
 //******************************************************************************
-// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2020-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Mon Apr 13 19:43:50 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:33 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
 // 20190203 [weaver]:	Original file.
 // 20190220 [weaver]:	Adapted from swingmvc to fxmvc.
 // 20200412 [weaver]:	Adapted from fxmvc CyclePane to prototypee CoverFlow.
+// 20261018 [rees0012]:	Added items for movies appended while loading.
+// 20261018 [rees0012]:	Prefetched posters ahead of movement.
 //
 //******************************************************************************
 //
@@ -82,11 +84,15 @@ public final class CoverFlow extends AbstractPane
 	private Rectangle					fill;		// Background rectangle
 	private Pane						flow;		// Items, in layout order
 	private ArrayList<CoverItem>		list;		// Items, in data order
+	private ObservableList<Movie>		movies;		// Movies, as items follow
 
 	// Animation
 	private final SimpleDoubleProperty	locus;		// Animated index point
 	private Animation					animation;
 
+	// Decodes the posters of the items the selection is moving toward
+	private final PosterPrefetcher		prefetcher;
+
 	// TODO #04a: Add members for your left and right navigation buttons here.
 	private Button leftOne;
 	private Button leftFive;
@@ -98,6 +104,7 @@ public final class CoverFlow extends AbstractPane
 	private VBox right;
 	// Handlers
 	private final ActionHandler		actionHandler;
+	private final ListChangeHandler	changeHandler;
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -113,10 +120,15 @@ public final class CoverFlow extends AbstractPane
 
 		list = new ArrayList<CoverItem>();
 		locus = new SimpleDoubleProperty();
+		prefetcher = new PosterPrefetcher(CoverItem.FX_ICON,
+										  CoverItem.W, CoverItem.H);
 
 		// Create a listener for various widgets that emit ActionEvents
 		actionHandler = new ActionHandler();
 
+		// Create a listener for movies added while a collection is loading
+		changeHandler = new ListChangeHandler();
+
 		// Construct the pane
 		setBase(buildPane());
 	}
@@ -159,6 +171,7 @@ public final class CoverFlow extends AbstractPane
 		flow.heightProperty().removeListener(this::changeHeight);
 
 		locus.removeListener(this::changeLocus);
+		prefetcher.cancel();
 
 		deleteItems();
 	}
@@ -181,6 +194,7 @@ public final class CoverFlow extends AbstractPane
 			updateLayout();
 
 			updateAnimation((Movie)newValue);
+			updatePrefetch((Movie)newValue);
 		}
 		else if ("movies".equals(key))
 		{
@@ -296,14 +310,22 @@ public final class CoverFlow extends AbstractPane
 
 	private void	createItems()
 	{
-		List<Movie>	movies = (List<Movie>)controller.getProperty("movies");
+		movies = (ObservableList<Movie>)controller.getProperty("movies");
 
 		for (Movie movie : movies)
 			list.add(createItem(movie, false));
+
+		// Follow the movies list as chunks are added to it during loading
+		movies.addListener(changeHandler);
 	}
 
 	private void	deleteItems()
 	{
+		if (movies != null)
+			movies.removeListener(changeHandler);
+
+		movies = null;
+
 		for (CoverItem item : list)
 			deleteItem(item);
 
@@ -346,6 +368,9 @@ public final class CoverFlow extends AbstractPane
 
 		nodes.clear();						// Start empty
 
+		if (list.isEmpty())				// Nothing to flow
+			return;
+
 		ListIterator<CoverItem>	iprev = list.listIterator(focus);
 		ListIterator<CoverItem>	inext = list.listIterator(focus);
 
@@ -429,6 +454,18 @@ public final class CoverFlow extends AbstractPane
 		animation.play();						// ...then go!
 	}
 
+	// Decodes the posters of the next few movies past the selected one, in
+	// the direction the selection is moving, so that they show right away
+	// even while an arrow key is held down.
+	private void	updatePrefetch(Movie movie)
+	{
+		List<Movie>	movies = (List<Movie>)controller.getProperty("movies");
+		int			index = movies.indexOf(movie);
+
+		if (index >= 0)
+			prefetcher.move(movies, index, 1);
+	}
+
 	//**********************************************************************
 	// Private Methods (Animation)
 	//**********************************************************************
@@ -509,6 +546,45 @@ public final class CoverFlow extends AbstractPane
 		}
 	}
 
+	//**********************************************************************
+	// Inner Classes (ListChangeListeners)
+	//**********************************************************************
+
+	// Items are appended for movies appended to the list, such as while a
+	// collection loads in chunks. Items are recreated for any other change.
+	private final class ListChangeHandler
+		implements ListChangeListener<Movie>
+	{
+		public void	onChanged(ListChangeListener.Change<? extends Movie> c)
+		{
+			boolean	appended = true;
+
+			while (c.next())
+			{
+				if (c.wasAdded() && !c.wasRemoved() && !c.wasPermutated() &&
+					(c.getFrom() == list.size()))
+				{
+					for (Movie movie : c.getAddedSubList())
+						list.add(createItem(movie, false));
+				}
+				else
+				{
+					appended = false;
+				}
+			}
+
+			if (!appended)
+			{
+				deleteItems();
+				createItems();
+			}
+
+			updateItems();
+			updatePane();
+			updateLayout();
+		}
+	}
+
 	//**********************************************************************
 	// Private Methods (Property Change Handlers)
 	//**********************************************************************
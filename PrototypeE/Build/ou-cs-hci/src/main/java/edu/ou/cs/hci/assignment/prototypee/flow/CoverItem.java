@@ -1,11 +1,15 @@
 //******************************************************************************
-// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2020-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Mon Apr 13 18:23:17 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:33 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
 // 20200412 [weaver]:	Original file.
+// 20261018 [rees0012]:	Shared poster images through a PosterCache.
+// 20261018 [rees0012]:	Decoded posters in the background.
+// 20261018 [rees0012]:	Drew posters from a shared texture atlas.
+// 20261018 [rees0012]:	Prefetched posters of neighboring items.
 //
 //******************************************************************************
 //
@@ -28,6 +32,9 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import javafx.scene.text.*;
 import edu.ou.cs.hci.assignment.prototypee.Movie;
+import edu.ou.cs.hci.assignment.prototypee.PosterAtlas;
+import edu.ou.cs.hci.assignment.prototypee.PosterCache;
+import edu.ou.cs.hci.assignment.prototypee.PosterLoader;
 
 //******************************************************************************
 
@@ -45,8 +52,8 @@ public final class CoverItem extends StackPane
 
 	public static final String	RSRC		= "edu/ou/cs/hci/resources/";
 	public static final String	FX_ICON	= RSRC + "example/fx/icon/";
-	private static final double	W = 50;		// Item image width
-	private static final double	H = W * 1.5;	// Item image height
+	public static final double	W = 50;		// Item image width
+	public static final double	H = W * 1.5;	// Item image height
 
 	//**********************************************************************
 	// Public Class Methods (Resources)
@@ -54,9 +61,10 @@ public final class CoverItem extends StackPane
 
 	// Convenience method to create a node for an image located in resources
 	// relative to the FX_ICON package. See static member definitions above.
+	// The image is shared through the PosterCache.
 	public static ImageView	createFXIcon(String url, double w, double h)
 	{
-		Image	image = new Image(FX_ICON + url, w, h, false, true);
+		Image	image = PosterCache.getInstance().getImage(FX_ICON + url, w, h);
 
 		return new ImageView(image);
 	}
@@ -93,6 +101,7 @@ public final class CoverItem extends StackPane
 	private Label					rating;
 	private Label					score;
 	private ImageView				poster;
+	private PosterLoader.Request	request;	// Poster decode, if waiting
 	private HBox					lrLayout;
 
 	//**********************************************************************
@@ -206,7 +215,7 @@ public final class CoverItem extends StackPane
 			title.setText("");
 			rating.setText("");
 			score.setText("");
-			poster.setImage(null);
+			updatePoster();
 		}
 		else
 		{
@@ -214,10 +223,28 @@ public final class CoverItem extends StackPane
 			title.setText(movie.getTitle());
 			rating.setText(movie.getRating());
 			score.setText(movie.getAverageReviewScore() + "/10");
-			poster.setImage(movie.getImageAsImage(FX_ICON, W, H));
+			updatePoster();
 		}
 	}
 
+	// Only the selected item shows its poster, so only it waits for one,
+	// ahead of any table cells.
+	private void	updatePoster()
+	{
+		if (request != null)
+			request.cancel();
+
+		request = null;
+		PosterAtlas.getInstance(W, H).hide(poster);
+
+		if ((movie == null) || !selected || (movie.getImage() == null))
+			return;
+
+		request = PosterAtlas.getInstance(W, H).show(poster,
+													 FX_ICON + movie.getImage(),
+													 PosterLoader.FOCUSED);
+	}
+
 	// TODO #09c: Update item styling when its movie is selected/unselected.
 	private void	updateStyles()
 	{
@@ -1,13 +1,16 @@
 //******************************************************************************
-// Copyright (C) 2019-2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2019-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Wed Feb 12 14:01:03 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:29 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
 // 20190203 [weaver]:	Original file.
 // 20190220 [weaver]:	Adapted from swingmvc to fxmvc.
 // 20200212 [weaver]:	Added documentation to loadFXData().
+// 20261018 [rees0012]:	Added topics for subscribing to updates.
+// 20261018 [rees0012]:	Deferred updates while the pane is hidden.
+// 20261018 [rees0012]:	Shared icon images through a PosterCache.
 //
 //******************************************************************************
 //
@@ -23,6 +26,9 @@ import javafx.scene.image.*;
 import javafx.scene.paint.Color;
 import javafx.scene.layout.*;
 import edu.ou.cs.hci.assignment.prototypee.Controller;
+import edu.ou.cs.hci.assignment.prototypee.Movie;
+import edu.ou.cs.hci.assignment.prototypee.PosterCache;
+import edu.ou.cs.hci.assignment.prototypee.Subscriber;
 import edu.ou.cs.hci.resources.Resources;
 
 //******************************************************************************
@@ -34,6 +40,7 @@ import edu.ou.cs.hci.resources.Resources;
  * @version %I%, %G%
  */
 public abstract class AbstractPane
+	implements Subscriber
 {
 	//**********************************************************************
 	// Public Class Members
@@ -58,6 +65,13 @@ public abstract class AbstractPane
 	// Provided when the subclass constructor calls setBase()
 	protected Node				base;
 
+	// Provided when the subclass constructor calls setTopics()
+	private String[]			topics = new String[0];
+
+	// Whether the pane can be seen, and whether it skipped updates while not
+	private boolean			showing = true;
+	private boolean			dirty = false;
+
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
@@ -94,6 +108,88 @@ public abstract class AbstractPane
 		this.base = base;
 	}
 
+	// Keys to receive updates for. See Controller.subscribe() for patterns.
+	public String[]	getTopics()
+	{
+		return topics;
+	}
+
+	// Called by the subclass constructor to say which keys it handles.
+	protected void	setTopics(String... topics)
+	{
+		this.topics = topics;
+	}
+
+	public boolean	isShowing()
+	{
+		return showing;
+	}
+
+	// The view calls this method when the pane's tab is selected or
+	// deselected, or its window is minimized or restored. A pane that
+	// skipped updates while hidden catches up once when it is shown again.
+	public void	setShowing(boolean showing)
+	{
+		this.showing = showing;
+
+		if (showing && dirty)
+		{
+			dirty = false;
+			refresh();
+		}
+	}
+
+	// Subclasses call this method before updating their widgets. Returns
+	// true (and remembers to refresh later) if the pane is hidden.
+	protected boolean	deferUpdate()
+	{
+		if (showing)
+			return false;
+
+		dirty = true;
+
+		return true;
+	}
+
+	// Called when the pane is shown again after skipping updates. Subclasses
+	// bring their widgets up to date with the model here.
+	protected void	refresh()
+	{
+	}
+
+	//**********************************************************************
+	// Protected Methods (Selected Movie)
+	//**********************************************************************
+
+	// Subclasses that show the selected movie call this method when it
+	// changes. Moves property listeners from the old movie to the new one,
+	// and shows the new one unless the pane is hidden.
+	protected void	changeMovie(Movie mold, Movie mnew)
+	{
+		if (mold != null)
+			unregisterPropertyListeners(mold);
+
+		if (!deferUpdate())				// Else catch up in refresh()
+			showMovie(mnew);
+
+		if (mnew != null)
+			registerPropertyListeners(mnew);
+	}
+
+	// Shows a movie in the pane's widgets, or default values if it is null.
+	protected void	showMovie(Movie movie)
+	{
+	}
+
+	// Listens to the properties of a movie that the pane shows.
+	protected void	registerPropertyListeners(Movie movie)
+	{
+	}
+
+	protected void	unregisterPropertyListeners(Movie movie)
+	{
+	}
+
 	//**********************************************************************
 	// Public Methods
 	//**********************************************************************
@@ -149,9 +245,10 @@ public abstract class AbstractPane
 
 	// Convenience method to create a node for an image located in resources
 	// relative to the FX_ICON package. See static member definitions above.
+	// The image is shared through the PosterCache.
 	public static ImageView	createFXIcon(String url, double w, double h)
 	{
-		Image	image = new Image(FX_ICON + url, w, h, false, true);
+		Image	image = PosterCache.getInstance().getImage(FX_ICON + url, w, h);
 
 		return new ImageView(image);
 	}
@@ -1,7 +1,7 @@
 //******************************************************************************
-// Copyright (C) 2019-2022 University of Oklahoma Board of Trustees.
+// Copyright (C) 2019-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Mon Feb 28 20:52:21 2022 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:33 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
@@ -11,6 +11,19 @@
 // 20200228 [weaver]:	Added example solution code for PrototypeB.
 // 20200229 [weaver]:	Overhauled for new PrototypeC in Spring 2020.
 // 20220228 [weaver]:	Fixed listening for multiple selection in lists.
+// 20261018 [rees0012]:	Subscribed to the topics of its controls.
+// 20261018 [rees0012]:	Deferred updates while hidden.
+// 20261018 [rees0012]:	Filtered movies incrementally.
+// 20261018 [rees0012]:	Filtered live in the background.
+// 20261018 [rees0012]:	Added range sliders for indexed ranges.
+// 20261018 [rees0012]:	Added facet counts for genres and ratings.
+// 20261018 [rees0012]:	Added ranked full-text search.
+// 20261018 [rees0012]:	Accepted queries in the title field.
+// 20261018 [rees0012]:	Sorted the table in the background.
+// 20261018 [rees0012]:	Shared poster images through a PosterCache.
+// 20261018 [rees0012]:	Decoded posters in the background.
+// 20261018 [rees0012]:	Drew posters from a shared texture atlas.
+// 20261018 [rees0012]:	Prefetched posters ahead of scrolling.
 //
 //******************************************************************************
 //
@@ -21,11 +34,13 @@ package edu.ou.cs.hci.assignment.prototypee.pane;
 //import java.lang.*;
 import java.text.DecimalFormat;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.concurrent.*;
+import javafx.animation.PauseTransition;
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.*;
+import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.*;
-import javafx.collections.transformation.FilteredList;
 import javafx.event.*;
 import javafx.fxml.FXML;
 import javafx.geometry.*;
@@ -38,8 +53,12 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.*;
 import javafx.scene.text.*;
 import javafx.util.Callback;
+import javafx.util.Duration;
 import javafx.util.converter.*;
 import edu.ou.cs.hci.assignment.prototypee.*;
+import edu.ou.cs.hci.assignment.prototypee.filter.Expression;
+import edu.ou.cs.hci.assignment.prototypee.filter.MovieFilter;
+import edu.ou.cs.hci.assignment.prototypee.filter.MovieSorter;
 import edu.ou.cs.hci.assignment.prototypee.flow.CoverFlow;
 import edu.ou.cs.hci.assignment.prototypee.fxml.SummaryFXML;
 import edu.ou.cs.hci.resources.Resources;
@@ -62,6 +81,17 @@ public final class CollectionPane extends AbstractPane
 	private static final String	NAME = "Collection";
 	private static final String	HINT = "Movie Collection Browser";
 
+	// Wait for typing or dragging to pause before filtering
+	private static final Duration	DEBOUNCE = Duration.millis(150.0);
+
+	// Filter criteria are evaluated in the background, one at a time
+	private static final ExecutorService	FILTER_EXECUTOR =
+		Executors.newSingleThreadExecutor(CollectionPane::createFilterThread);
+
+	// Sorts are done in the background too, without waiting for filters
+	private static final ExecutorService	SORT_EXECUTOR =
+		Executors.newSingleThreadExecutor(CollectionPane::createSortThread);
+
 	//**********************************************************************
 	// Private Class Members (Layout)
 	//**********************************************************************
@@ -113,6 +143,11 @@ public final class CollectionPane extends AbstractPane
 	// Layout
 	private TableView<Movie>		table;
 	private SelectionModel<Movie>	smodel;
+	private MovieFilter				filter;
+	private MovieSorter				sorter;
+	private ScrollBar				scrollbar;		// Table's, once skinned
+	private PosterPrefetcher		prefetcher;
+	private PauseTransition			debounce;
 	private CoverFlow				coverflow;
 
 	// Add members for your summary widgets here...
@@ -125,16 +160,25 @@ public final class CollectionPane extends AbstractPane
 
 	// Add members for your accordion widgets here...
 	private TextField				fTitle;
+	private CheckBox				fSearch;
 	private ListView<String>		fGenre;
 	private ComboBox<String>		fRating;
-	private Slider					fRuntime;
+	private Slider					fYearMin;
+	private Slider					fYearMax;
+	private Slider					fRuntimeMin;
+	private Slider					fRuntimeMax;
+	private Slider					fScoreMin;
+	private Slider					fScoreMax;
+	private Slider					fReviewsMin;
+	private Slider					fReviewsMax;
 
 	// Support
-	private boolean				ignoreSelectionEvents;
+	private boolean				moviesChanged;		// While hidden
 
 	// Handlers
 	private final ActionHandler	actionHandler;
 	private final ListChangeHandler	changeHandler;
+	private final ChangeListener<Number>	scrollHandler;
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -154,8 +198,34 @@ public final class CollectionPane extends AbstractPane
 		// Create a listener for widgets with multiple selection
 		changeHandler = new ListChangeHandler();
 
+		// Create a listener for the table's scroll bar, kept to remove it
+		scrollHandler = this::changeScroll;
+
 		// Construct the pane
 		setBase(buildPane());
+		setTopics("movie", "movies");
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static Thread	createFilterThread(Runnable runnable)
+	{
+		Thread	thread = new Thread(runnable, "Collection Filter");
+
+		thread.setDaemon(true);
+
+		return thread;
+	}
+
+	private static Thread	createSortThread(Runnable runnable)
+	{
+		Thread	thread = new Thread(runnable, "Collection Sort");
+
+		thread.setDaemon(true);
+
+		return thread;
 	}
 
 	//**********************************************************************
@@ -178,7 +248,10 @@ public final class CollectionPane extends AbstractPane
 		if (movie != null)
 			registerPropertyListeners(movie);
 
+		// Filter the first time right away, then in the background
 		updateFilter();
+		filter.setExecutor(FILTER_EXECUTOR);
+		sorter.setExecutor(SORT_EXECUTOR);
 
 		smodel.select(movie);
 
@@ -196,6 +269,12 @@ public final class CollectionPane extends AbstractPane
 
 		unregisterWidgetHandlers();
 
+		debounce.stop();
+		filter.setExecutor(null);
+		filter.setSource(null);
+		sorter.setExecutor(null);
+		prefetcher.cancel();
+
 		coverflow.terminate();
 	}
 
@@ -217,32 +296,55 @@ public final class CollectionPane extends AbstractPane
 
 		if ("movie".equals(key))
 		{
-			Movie	mold = (Movie)oldValue;
-			Movie	mnew = (Movie)newValue;
+			changeMovie((Movie)oldValue, (Movie)newValue);
+		}
+		else if ("movies".equals(key))
+		{
+			if (deferUpdate())				// Catch up in refresh()
+				moviesChanged = true;
+			else
+				showMovies();
+		}
+	}
 
-			if (mold != null)
-				unregisterPropertyListeners(mold);
+	// Called when the pane is shown again after skipping updates.
+	protected void	refresh()
+	{
+		if (moviesChanged)
+		{
+			moviesChanged = false;
+			showMovies();
+		}
 
-			if (mnew == null)
-				populateWidgetsWithDefaultValues();
-			else
-				populateWidgetsWithCurrentValues(mnew);
+		showMovie((Movie)controller.getProperty("movie"));
+	}
 
-			if (mnew != null)
-				registerPropertyListeners(mnew);
+	//**********************************************************************
+	// Protected Methods (Selected Movie)
+	//**********************************************************************
 
-			smodel.select(mnew);
-		}
-		else if ("movies".equals(key))
-		{
-			Movie	movie = (Movie)controller.getProperty("movie");
+	protected void	showMovie(Movie movie)
+	{
+		if (movie == null)
+			populateWidgetsWithDefaultValues();
+		else
+			populateWidgetsWithCurrentValues(movie);
 
-			updateFilter();
+		smodel.select(movie);
 
-			//smodel.select(movie);
-		}
+		coverflow.updateProperty("movie", movie, null);
+	}
 
-		coverflow.updateProperty(key, newValue, oldValue);
+	private void	showMovies()
+	{
+		Movie	movie = (Movie)controller.getProperty("movie");
+
+		updateFilter();
+
+		//smodel.select(movie);
+
+		coverflow.updateProperty("movies",
+								 controller.getProperty("movies"), null);
 	}
 
 	//**********************************************************************
@@ -254,11 +356,21 @@ public final class CollectionPane extends AbstractPane
 		smodel.selectedItemProperty().addListener(this::changeItem);
 
 		fTitle.setOnAction(actionHandler);
+		fSearch.setOnAction(actionHandler);
+		fTitle.textProperty().addListener(this::changeText);
+		debounce.setOnFinished(actionHandler);
 		fRating.getSelectionModel().selectedItemProperty().addListener(
 														this::changeItem);
 		fGenre.getSelectionModel().getSelectedIndices().addListener(
 														changeHandler);
-		fRuntime.valueProperty().addListener(this::changeDecimal);
+		fYearMin.valueProperty().addListener(this::changeDecimal);
+		fYearMax.valueProperty().addListener(this::changeDecimal);
+		fRuntimeMin.valueProperty().addListener(this::changeDecimal);
+		fRuntimeMax.valueProperty().addListener(this::changeDecimal);
+		fScoreMin.valueProperty().addListener(this::changeDecimal);
+		fScoreMax.valueProperty().addListener(this::changeDecimal);
+		fReviewsMin.valueProperty().addListener(this::changeDecimal);
+		fReviewsMax.valueProperty().addListener(this::changeDecimal);
 	}
 
 	private void	unregisterWidgetHandlers()
@@ -266,14 +378,24 @@ public final class CollectionPane extends AbstractPane
 		smodel.selectedItemProperty().removeListener(this::changeItem);
 
 		fTitle.setOnAction(null);
+		fSearch.setOnAction(null);
+		fTitle.textProperty().removeListener(this::changeText);
+		debounce.setOnFinished(null);
 		fRating.getSelectionModel().selectedItemProperty().removeListener(
 														this::changeItem);
 		fGenre.getSelectionModel().getSelectedIndices().removeListener(
 														changeHandler);
-		fRuntime.valueProperty().removeListener(this::changeDecimal);
+		fYearMin.valueProperty().removeListener(this::changeDecimal);
+		fYearMax.valueProperty().removeListener(this::changeDecimal);
+		fRuntimeMin.valueProperty().removeListener(this::changeDecimal);
+		fRuntimeMax.valueProperty().removeListener(this::changeDecimal);
+		fScoreMin.valueProperty().removeListener(this::changeDecimal);
+		fScoreMax.valueProperty().removeListener(this::changeDecimal);
+		fReviewsMin.valueProperty().removeListener(this::changeDecimal);
+		fReviewsMax.valueProperty().removeListener(this::changeDecimal);
 	}
 
-	private void	registerPropertyListeners(Movie movie)
+	protected void	registerPropertyListeners(Movie movie)
 	{
 		movie.titleProperty().addListener(this::handleChangeS);
 		movie.imageProperty().addListener(this::handleChangeS);
@@ -285,7 +407,7 @@ public final class CollectionPane extends AbstractPane
 		movie.genreProperty().addListener(this::handleChangeI);
 	}
 
-	private void	unregisterPropertyListeners(Movie movie)
+	protected void	unregisterPropertyListeners(Movie movie)
 	{
 		movie.titleProperty().removeListener(this::handleChangeS);
 		movie.imageProperty().removeListener(this::handleChangeS);
@@ -355,6 +477,18 @@ public final class CollectionPane extends AbstractPane
 		table.setPlaceholder(new Text("No Data!"));
 		table.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
 
+		// Show the movies that pass the filter criteria in the accordion,
+		// sorted by the columns clicked
+		filter = new MovieFilter();
+		sorter = new MovieSorter();
+		sorter.setSource(filter.getMovies());
+		table.setItems(sorter.getMovies());
+		table.setSortPolicy(new SortPolicy());
+
+		// Decode the posters of rows about to scroll into view
+		prefetcher = new PosterPrefetcher(FX_ICON, W, H);
+		table.skinProperty().addListener(this::changeSkin);
+
 		// Add columns for title and image
 		table.getColumns().add(buildTitleColumn());
 		table.getColumns().add(buildImageColumn());
@@ -455,12 +589,19 @@ public final class CollectionPane extends AbstractPane
 
 	private Node	buildAccordion()
 	{
+		// Takes words for titles, and clauses like year:2000..2005
 		fTitle = new TextField("");
 		fTitle.setPrefColumnCount(10);
+		fTitle.setPromptText("genre:Drama score:>7.5 ...");
+
+		// Searching all text lists the best matches for the words first
+		fSearch = new CheckBox("Search all text");
+		fSearch.setSelected(false);
 
 		fGenre = new ListView<String>();
 		fGenre.getItems().addAll(gdata);
 		fGenre.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+		fGenre.setCellFactory(new GenreCellFactory());
 
 		// Special: Modify default setting to show more movies at start
 		//fGenre.getSelectionModel().selectAll();
@@ -470,80 +611,141 @@ public final class CollectionPane extends AbstractPane
 		fRating.getItems().addAll(rdata);
 		fRating.setEditable(false);
 		fRating.setVisibleRowCount(5);
+		fRating.setCellFactory(new RatingCellFactory());
+		fRating.setButtonCell(new RatingCell());
 		//fRating.getSelectionModel().select(0);
 
 		// Special: Modify default setting to show more movies at start
 		fRating.getSelectionModel().select(1);
 
-		fRuntime = new Slider(0.0, 360.0, 0.0);
-		fRuntime.setOrientation(Orientation.HORIZONTAL);
-		fRuntime.setMajorTickUnit(120.0);
-		fRuntime.setMinorTickCount(120);
-		fRuntime.setShowTickLabels(true);
-		fRuntime.setShowTickMarks(false);
-		fRuntime.setSnapToTicks(true);
+		// Each range has sliders for its minimum and maximum. A slider at
+		// the end of its track leaves that end of the range open.
+		fYearMin = createSlider(1900.0, 2030.0, 1900.0, 50.0, 49);
+		fYearMax = createSlider(1900.0, 2030.0, 2030.0, 50.0, 49);
+
+		fRuntimeMin = createSlider(0.0, 360.0, 0.0, 120.0, 120);
+		fRuntimeMax = createSlider(0.0, 360.0, 360.0, 120.0, 120);
+
+		fScoreMin = createSlider(0.0, 10.0, 0.0, 5.0, 49);
+		fScoreMax = createSlider(0.0, 10.0, 10.0, 5.0, 49);
 
-		TitledPane	tTitle = new TitledPane("Title", fTitle);
+		fReviewsMin = createSlider(0.0, 2000000.0, 0.0, 1000000.0, 99);
+		fReviewsMax = createSlider(0.0, 2000000.0, 2000000.0, 1000000.0, 99);
+
+		debounce = new PauseTransition(DEBOUNCE);
+
+		VBox		vTitle = new VBox(fTitle, fSearch);
+
+		vTitle.setSpacing(4.0);
+
+		TitledPane	tTitle = new TitledPane("Title", vTitle);
 		TitledPane	tGenre = new TitledPane("Genre", fGenre);
 		TitledPane	tRating = new TitledPane("Rating", fRating);
-		TitledPane	tRuntime = new TitledPane("Runtime", fRuntime);
+		TitledPane	tYear = new TitledPane("Year",
+										   buildRange(fYearMin, fYearMax));
+		TitledPane	tRuntime = new TitledPane("Runtime",
+										   buildRange(fRuntimeMin, fRuntimeMax));
+		TitledPane	tScore = new TitledPane("Score",
+										   buildRange(fScoreMin, fScoreMax));
+		TitledPane	tReviews = new TitledPane("Reviews",
+										   buildRange(fReviewsMin, fReviewsMax));
 
 		Accordion	accordion = new Accordion();
 
-		accordion.getPanes().addAll(tTitle, tGenre, tRating, tRuntime);
+		accordion.getPanes().addAll(tTitle, tGenre, tRating, tYear, tRuntime,
+									tScore, tReviews);
 
 		return accordion;
 	}
 
+	// Reusable method to create a slider for one end of a range.
+	private Slider	createSlider(double min, double max, double value,
+								 double major, int minor)
+	{
+		Slider	slider = new Slider(min, max, value);
+
+		slider.setOrientation(Orientation.HORIZONTAL);
+		slider.setMajorTickUnit(major);
+		slider.setMinorTickCount(minor);
+		slider.setShowTickLabels(true);
+		slider.setShowTickMarks(false);
+		slider.setSnapToTicks(true);
+
+		return slider;
+	}
+
+	private Node	buildRange(Slider min, Slider max)
+	{
+		VBox	vbox = new VBox(new Label("At least"), min,
+								new Label("At most"), max);
+
+		vbox.setSpacing(4.0);
+
+		return vbox;
+	}
+
 	//**********************************************************************
 	// Private Methods (Filtering)
 	//**********************************************************************
 
+	// Passes the current criteria to the filter. The filter only evaluates
+	// the criteria that changed, and the table only hears about the movies
+	// that were added to or removed from the filtered list.
 	private void	updateFilter()
 	{
 		ObservableList<Movie>	movies =
 			(ObservableList<Movie>)controller.getProperty("movies");
-		Predicate<Movie>		predicate = new FilterPredicate();
+		ObservableList<Integer>	gindices =
+			fGenre.getSelectionModel().getSelectedIndices();
+		int						genres = 0;
 
-		ignoreSelectionEvents = true;
-		table.setItems(new FilteredList<Movie>(movies, predicate));
-		ignoreSelectionEvents = false;
-	}
+		for (int gindex : gindices)
+			genres |= (1 << gindex);
 
-	private final class FilterPredicate
-		implements Predicate<Movie>
-	{
-		public boolean	test(Movie movie)
+		// Leave the title criteria as they were if the clauses don't parse
+		try
 		{
-			String		t = fTitle.getText();
+			Expression	expression =
+				Expression.parse(fTitle.getText(), gdata, rdata);
 
-			if ((t.length() > 0) && !movie.getTitle().contains(t))
-				return false;
-
-			String		r = fRating.getSelectionModel().getSelectedItem();
-
-			if (!movie.getRating().equals(r))
-				return false;
-
-			boolean					gpassed = false;
-			int						g = movie.getGenre();
-			ObservableList<Integer>	gindices =
-				fGenre.getSelectionModel().getSelectedIndices();
+			filter.setTitle(expression.getText());
+			filter.setExpression(expression.isEmpty() ? null : expression);
+			fTitle.setStyle(null);
+			fTitle.setTooltip(null);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			fTitle.setStyle("-fx-text-fill: firebrick;");
+			fTitle.setTooltip(new Tooltip(ex.getMessage()));
+		}
 
-			for (int gindex : gindices)
-				if ((g & (1 << gindex)) != 0)
-					gpassed = true;
+		filter.setSearch(fSearch.isSelected());
+		filter.setRating(fRating.getSelectionModel().getSelectedItem());
+		filter.setGenres(genres);
+		filter.setRange(MovieStore.YEAR, getMin(fYearMin), getMax(fYearMax));
+		filter.setRange(MovieStore.RUNTIME, getMin(fRuntimeMin),
+						getMax(fRuntimeMax));
+		filter.setRange(MovieStore.AVERAGE_REVIEW_SCORE, getMin(fScoreMin),
+						getMax(fScoreMax));
+		filter.setRange(MovieStore.NUMBER_OF_REVIEWS, getMin(fReviewsMin),
+						getMax(fReviewsMax));
+		filter.setSource(movies);
+	}
 
-			if (!gpassed)
-				return false;
+	// Returns the minimum of a range, or no minimum if at the slider's end.
+	private static double	getMin(Slider slider)
+	{
+		double	value = slider.getValue();
 
-			double		runtime = fRuntime.getValue();
+		return ((value <= slider.getMin()) ? Double.NEGATIVE_INFINITY : value);
+	}
 
-			if (movie.getRuntime() < runtime)
-				return false;
+	// Returns the maximum of a range, or no maximum if at the slider's end.
+	private static double	getMax(Slider slider)
+	{
+		double	value = slider.getValue();
 
-			return true;
-		}
+		return ((value >= slider.getMax()) ? Double.POSITIVE_INFINITY : value);
 	}
 
 	//**********************************************************************
@@ -561,6 +763,7 @@ public final class CollectionPane extends AbstractPane
 		column.setCellValueFactory(
 			new PropertyValueFactory<Movie, String>("title"));
 		column.setCellFactory(new TitleCellFactory());
+		column.setUserData(MovieStore.TITLE);
 
 		// Edits in this column update movie titles
 		column.setOnEditCommit(new TitleEditHandler());
@@ -579,6 +782,7 @@ public final class CollectionPane extends AbstractPane
 		column.setCellValueFactory(
 			new PropertyValueFactory<Movie, String>("image"));
 		column.setCellFactory(new ImageCellFactory());
+		column.setSortable(false);
 
 		return column;
 	}
@@ -597,6 +801,7 @@ public final class CollectionPane extends AbstractPane
 		column.setCellValueFactory(
 			new PropertyValueFactory<Movie, Double>("averageReviewScore"));
 		column.setCellFactory(new Attr1CellFactory());
+		column.setUserData(MovieStore.AVERAGE_REVIEW_SCORE);
 
 		// Edits in this column update movie scores
 		column.setOnEditCommit(new Attr1EditHandler());
@@ -615,6 +820,7 @@ public final class CollectionPane extends AbstractPane
 		column.setCellValueFactory(
 			new PropertyValueFactory<Movie, String>("rating"));
 		column.setCellFactory(new Attr2CellFactory());
+		column.setUserData(MovieStore.RATING);
 
 		// Edits in this column update movie ratings
 		column.setOnEditCommit(new Attr2EditHandler());
@@ -633,6 +839,7 @@ public final class CollectionPane extends AbstractPane
 		column.setCellValueFactory(
 			new PropertyValueFactory<Movie, Boolean>("isAnimated"));
 		column.setCellFactory(new Attr3CellFactory());
+		column.setUserData(MovieStore.IS_ANIMATED);
 
 		// Edits in this column update movie genres
 		column.setOnEditCommit(new Attr3EditHandler());
@@ -652,8 +859,15 @@ public final class CollectionPane extends AbstractPane
 		{
 			Object	source = e.getSource();
 
-			if (source == fTitle)
+			if ((source == fTitle) || (source == fSearch))	// Don't wait
+			{
+				debounce.stop();
+				updateFilter();
+			}
+			else if (source == debounce)
+			{
 				updateFilter();
+			}
 		}
 	}
 
@@ -681,14 +895,55 @@ public final class CollectionPane extends AbstractPane
 	private void	changeItem(ObservableValue<? extends Movie> observable,
 							   Movie oldValue, Movie newValue)
 	{
-		// Ignore changes to Table selection that arise from filtering.
-		if (ignoreSelectionEvents)
+		// Ignore changes to Table selection that arise from filtering or
+		// sorting.
+		if (filter.isChanging() || sorter.isChanging())
 			return;
 
 		if (observable == smodel.selectedItemProperty())
 			controller.setProperty("movie", newValue);
 	}
 
+	//**********************************************************************
+	// Private Methods (Property Change Handlers, Table Scrolling)
+	//**********************************************************************
+
+	// The table's scroll bars are only there once it has a skin.
+	private void	changeSkin(ObservableValue<? extends Skin<?>> observable,
+							   Skin<?> oldValue, Skin<?> newValue)
+	{
+		if (scrollbar != null)
+			scrollbar.valueProperty().removeListener(scrollHandler);
+
+		scrollbar = null;
+
+		for (Node node : table.lookupAll(".scroll-bar"))
+		{
+			if ((node instanceof ScrollBar) &&
+				(((ScrollBar)node).getOrientation() == Orientation.VERTICAL))
+				scrollbar = (ScrollBar)node;
+		}
+
+		if (scrollbar != null)
+			scrollbar.valueProperty().addListener(scrollHandler);
+	}
+
+	// Estimates the first row showing from how far the table has scrolled,
+	// and lets the prefetcher look ahead of it.
+	private void	changeScroll(ObservableValue<? extends Number> observable,
+								 Number oldValue, Number newValue)
+	{
+		List<Movie>	movies = table.getItems();
+		int			visible = (int)Math.ceil(table.getHeight() / H);
+		double			span = scrollbar.getMax() - scrollbar.getMin();
+		double			position = ((span > 0.0) ? ((newValue.doubleValue() -
+										scrollbar.getMin()) / span) : 0.0);
+		int			first = (int)Math.round(position *
+											Math.max(0, movies.size() - visible));
+
+		prefetcher.move(movies, first, visible);
+	}
+
 	//**********************************************************************
 	// Private Methods (Property Change Handlers, Widgets)
 	//**********************************************************************
@@ -701,12 +956,27 @@ public final class CollectionPane extends AbstractPane
 			updateFilter();
 	}
 
+	// For TextField
+	private void	changeText(ObservableValue<? extends String> observable,
+							   String oldValue, String newValue)
+	{
+		if (observable == fTitle.textProperty())
+			debounce.playFromStart();
+	}
+
 	// For Slider, Spinner<Double>
 	private void	changeDecimal(ObservableValue<? extends Number> observable,
 								  Number oldValue, Number newValue)
 	{
-		if (observable == fRuntime.valueProperty())
-			updateFilter();
+		if ((observable == fYearMin.valueProperty()) ||
+			(observable == fYearMax.valueProperty()) ||
+			(observable == fRuntimeMin.valueProperty()) ||
+			(observable == fRuntimeMax.valueProperty()) ||
+			(observable == fScoreMin.valueProperty()) ||
+			(observable == fScoreMax.valueProperty()) ||
+			(observable == fReviewsMin.valueProperty()) ||
+			(observable == fReviewsMax.valueProperty()))
+			debounce.playFromStart();
 	}
 
 	//**********************************************************************
@@ -724,11 +994,6 @@ public final class CollectionPane extends AbstractPane
 			summaryImage.setImage(movie.getImageAsImage(FX_ICON, W2, H2));
 		else if (observable == movie.ratingProperty())
 			summaryRating.setText(newValue);
-
-		if (observable == movie.titleProperty())
-			updateFilter();
-		else if (observable == movie.ratingProperty())
-			updateFilter();
 	}
 
 	private void	handleChangeI(ObservableValue<? extends Number> observable,
@@ -742,11 +1007,32 @@ public final class CollectionPane extends AbstractPane
 			summaryRuntime.setText(movie.getRuntimeAsString());
 		else if (observable == movie.genreProperty())
 			summaryGenre.setText(movie.getGenreAsString(gdata));
+	}
 
-		if (observable == movie.runtimeProperty())
-			updateFilter();
-		else if (observable == movie.genreProperty())
-			updateFilter();
+	//**********************************************************************
+	// Inner Classes (Sort Policy)
+	//**********************************************************************
+
+	// This sort policy passes the columns the table is sorted by to the
+	// sorter, which sorts in the background instead of sorting the items
+	// with the columns' comparators. Columns keep their store column as
+	// user data.
+	private final class SortPolicy
+		implements Callback<TableView<Movie>, Boolean>
+	{
+		public Boolean	call(TableView<Movie> v)
+		{
+			ArrayList<MovieSorter.Order>	order =
+				new ArrayList<MovieSorter.Order>();
+
+			for (TableColumn<Movie, ?> column : v.getSortOrder())
+				order.add(new MovieSorter.Order((Integer)column.getUserData(),
+					(column.getSortType() == TableColumn.SortType.ASCENDING)));
+
+			sorter.setOrder(order);
+
+			return true;
+		}
 	}
 
 	//**********************************************************************
@@ -811,6 +1097,26 @@ public final class CollectionPane extends AbstractPane
 		}
 	}
 
+	// This CellFactory creates Cells for the genres in the accordion.
+	private final class GenreCellFactory
+		implements Callback<ListView<String>, ListCell<String>>
+	{
+		public ListCell<String>	call(ListView<String> v)
+		{
+			return new GenreCell();
+		}
+	}
+
+	// This CellFactory creates Cells for the ratings in the accordion.
+	private final class RatingCellFactory
+		implements Callback<ListView<String>, ListCell<String>>
+	{
+		public ListCell<String>	call(ListView<String> v)
+		{
+			return new RatingCell();
+		}
+	}
+
 	//**********************************************************************
 	// Inner Classes (Cells)
 	//**********************************************************************
@@ -828,6 +1134,51 @@ public final class CollectionPane extends AbstractPane
 	// Extend a javafx.scene.control.cell.*TableCell class to allow editing.
 	// Match a javafx.util.converter.*StringConverter to each attribute type.
 
+	// This ListCell displays a genre with the number of movies that have it
+	// and pass the other criteria. The count comes from the filter's facet
+	// index, and updates the text whenever it changes.
+	private final class GenreCell
+		extends ListCell<String>
+	{
+		public void	updateItem(String value, boolean isEmpty)
+		{
+			super.updateItem(value, isEmpty);
+			textProperty().unbind();
+
+			if (isEmpty || (value == null))
+			{
+				setText(null);
+
+				return;
+			}
+
+			textProperty().bind(Bindings.format("%s (%,d)", value,
+					filter.getGenreCount(gdata.indexOf(value))));
+		}
+	}
+
+	// This ListCell displays a rating with the number of movies that have
+	// it and pass the other criteria, like GenreCell does for genres.
+	private final class RatingCell
+		extends ListCell<String>
+	{
+		public void	updateItem(String value, boolean isEmpty)
+		{
+			super.updateItem(value, isEmpty);
+			textProperty().unbind();
+
+			if (isEmpty || (value == null))
+			{
+				setText(null);
+
+				return;
+			}
+
+			textProperty().bind(Bindings.format("%s (%,d)", value,
+					filter.getRatingCount(value)));
+		}
+	}
+
 	// This TableCell displays the title, and allows editing in a TextField.
 	private final class TitleCell
 		extends TextFieldTableCell<Movie, String>
@@ -863,12 +1214,21 @@ public final class CollectionPane extends AbstractPane
 	private final class ImageCell
 		extends TableCell<Movie, String>
 	{
+		// Reused for each poster the cell shows
+		private final ImageView				view = new ImageView();
+
+		// The poster shown, and its decode if it hasn't arrived yet
+		private String						poster;
+		private PosterLoader.Request		request;
+
 		public void	updateItem(String value, boolean isEmpty)
 		{
 			super.updateItem(value, isEmpty);		// Prepare for setup
 
 			if (isEmpty || (value == null))		// Handle special cases
 			{
+				cancel();
+
 				setText(null);
 				setGraphic(null);
 				setAlignment(Pos.CENTER);
@@ -878,13 +1238,38 @@ public final class CollectionPane extends AbstractPane
 
 			// This cell uses the value of the posterFileName attribute
 			// to show an image loaded from resources/example/fx/icon.
-			String		posterFileName = value;
-			ImageView	image = createFXIcon(posterFileName, W, H);
+			// Posters are decoded in the background, with a placeholder
+			// shown until they arrive, and drawn from a shared atlas.
+			// The atlas clears the view only if it gives the poster's tile
+			// to another one, so show it again then, too. Posters that
+			// can't be decoded leave a transparent image, not an empty view.
+			String	posterFileName = value;
+
+			if (!posterFileName.equals(poster) || (view.getImage() == null))
+			{
+				cancel();
+
+				poster = posterFileName;
+				request = PosterAtlas.getInstance(W, H).show(view,
+							FX_ICON + posterFileName, PosterLoader.VISIBLE);
+			}
 
 			setText(null);
-			setGraphic(image);
+			setGraphic(view);
 			setAlignment(Pos.CENTER);
 		}
+
+		// Stops waiting for the poster, such as when the cell is reused for
+		// a different movie while scrolling.
+		private void	cancel()
+		{
+			if (request != null)
+				request.cancel();
+
+			poster = null;
+			request = null;
+			PosterAtlas.getInstance(W, H).hide(view);
+		}
 	}
 
 	// DONE #5: Complete the Cell classes for your three attributes.
@@ -1,7 +1,7 @@
 //******************************************************************************
-// Copyright (C) 2019-2020 University of Oklahoma Board of Trustees.
+// Copyright (C) 2019-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Sun Mar  1 15:58:31 2020 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:17 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
@@ -10,6 +10,8 @@
 // 20200212 [weaver]:	Overhauled for Sp2020 PrototypeB.
 // 20200228 [weaver]:	Added example solution code for PrototypeB.
 // 20200229 [weaver]:	Overhauled for new PrototypeC in Spring 2020.
+// 20261018 [rees0012]:	Subscribed to the properties it shows.
+// 20261018 [rees0012]:	Deferred updates while hidden.
 //
 //******************************************************************************
 //
@@ -131,6 +133,7 @@ public final class EditorPane extends AbstractPane
 
 		// Construct the pane
 		setBase(buildPane());
+		setTopics("movie", "movie.summary.*", "movie.comments.*");
 	}
 
 	//**********************************************************************
@@ -175,7 +178,7 @@ public final class EditorPane extends AbstractPane
 		// Apply updates that involve text+anchor+caret handling in TextAreas
 		Movie	movie = (Movie)controller.getProperty("movie");
 
-		if (movie == null)
+		if ((movie == null) || deferUpdate())
 			return;
 
 		if (//"movie.summary".equals(key) ||
@@ -216,22 +219,38 @@ public final class EditorPane extends AbstractPane
 
 		if ("movie".equals(key))
 		{
-			Movie	mold = (Movie)oldValue;
-			Movie	mnew = (Movie)newValue;
+			changeMovie((Movie)oldValue, (Movie)newValue);
+		}
+	}
 
-			if (mold != null)
-				unregisterPropertyListeners(mold);
+	// Called when the pane is shown again after skipping updates.
+	protected void	refresh()
+	{
+		Movie	movie = (Movie)controller.getProperty("movie");
 
-			if (mnew == null)
-				populateWidgetsWithDefaultValues();
-			else
-				populateWidgetsWithCurrentValues(mnew);
+		showMovie(movie);
 
-			if (mnew != null)
-				registerPropertyListeners(mnew);
+		if (movie != null)				// Restore the text selections too
+		{
+			update("movie.summary.anchor",
+				   controller.get("movie.summary.anchor"));
+			update("movie.comments.anchor",
+				   controller.get("movie.comments.anchor"));
 		}
 	}
 
+	//**********************************************************************
+	// Protected Methods (Selected Movie)
+	//**********************************************************************
+
+	protected void	showMovie(Movie movie)
+	{
+		if (movie == null)
+			populateWidgetsWithDefaultValues();
+		else
+			populateWidgetsWithCurrentValues(movie);
+	}
+
 	//**********************************************************************
 	// Private Methods (Widget and Property Management)
 	//**********************************************************************
@@ -306,7 +325,7 @@ public final class EditorPane extends AbstractPane
 		cImageButton.setOnAction(null);
 	}
 
-	private void	registerPropertyListeners(Movie movie)
+	protected void	registerPropertyListeners(Movie movie)
 	{
 		movie.titleProperty().addListener(this::handleChangeS);
 		movie.imageProperty().addListener(this::handleChangeS);
@@ -332,7 +351,7 @@ public final class EditorPane extends AbstractPane
 		movie.commentsProperty().addListener(this::handleChangeS);
 	}
 
-	private void	unregisterPropertyListeners(Movie movie)
+	protected void	unregisterPropertyListeners(Movie movie)
 	{
 		movie.titleProperty().removeListener(this::handleChangeS);
 		movie.imageProperty().removeListener(this::handleChangeS);
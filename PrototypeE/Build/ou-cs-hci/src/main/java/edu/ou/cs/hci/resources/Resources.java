@@ -1,7 +1,7 @@
 //******************************************************************************
-// Copyright (C) 2018-2022 University of Oklahoma Board of Trustees.
+// Copyright (C) 2018-2026 University of Oklahoma Board of Trustees.
 //******************************************************************************
-// Last modified: Wed Jan 17 12:41:31 2022 by Chris Weaver
+// Last modified: Sun Oct 18 08:19:09 2026 by rees0012
 //******************************************************************************
 // Major Modification History:
 //
@@ -10,6 +10,9 @@
 // 20200216 [weaver]:	Switched to Apache Commons CSV for better CSV parsing.
 // 20200228 [weaver]:	Added putCSVData() method for writing data.
 // 20220117 [weaver]:	Updated FORMAT to work with Apache Commons CSV 1.9.0.
+// 20261018 [rees0012]:	Added reading CSV records as a stream.
+// 20261018 [rees0012]:	Added parsing CSV from any input stream.
+// 20261018 [rees0012]:	Added parallel parsing of CSV file segments.
 //
 //******************************************************************************
 // Notes:
@@ -23,8 +26,16 @@ package edu.ou.cs.hci.resources;
 
 //import java.lang.*;
 import java.io.*;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import javafx.scene.image.Image;
 import javax.swing.ImageIcon;
 import org.apache.commons.csv.*;
@@ -49,6 +60,13 @@ public final class Resources
 	private static final CSVFormat	FORMAT =
 		CSVFormat.Builder.create().setAllowMissingColumnNames(true).build();
 
+	// Number of segments per worker for parallel CSV parsing. A few segments
+	// per worker evens out differences in how long segments take to parse.
+	private static final int	SEGMENTS_PER_WORKER = 4;
+
+	// Bytes read at a time from a file being split or parsed in parallel
+	private static final int	BUFFER = 1 << 16;
+
 	//**********************************************************************
 	// Public Class Members
 	//**********************************************************************
@@ -140,17 +158,14 @@ public final class Resources
 
 	// Slurps comma separated values (CSV), at the specified URL, as a
 	// list of data records. Each data record is itself a list of strings.
+	// See getCSVParser() below for reading records one at a time instead.
 	public static List<List<String>>	getCSVData(URL url)
 	{
 		List<List<String>>		data = new ArrayList<List<String>>();
 
-		try
+		try (CSVParser parser = getCSVParser(url))
 		{
-			InputStream		is = url.openStream();
-			InputStreamReader	ir = new InputStreamReader(is);
-			BufferedReader		br = new BufferedReader(ir);
-
-			for (CSVRecord item : FORMAT.parse(br))
+			for (CSVRecord item : parser)
 			{
 				ArrayList<String>	record = new ArrayList<String>();
 
@@ -168,6 +183,300 @@ public final class Resources
 		return data;
 	}
 
+	// Opens a parser over comma separated values (CSV) at the specified URL.
+	// Records are parsed one at a time as the parser is iterated, so callers
+	// can process large files without slurping them. Close it when done.
+	public static CSVParser	getCSVParser(URL url)
+		throws IOException
+	{
+		return getCSVParser(url.openStream());
+	}
+
+	// Opens a parser over comma separated values (CSV) in the specified stream,
+	// such as one that tracks how much of a file has been read. Close when done.
+	public static CSVParser	getCSVParser(InputStream is)
+		throws IOException
+	{
+		InputStreamReader	ir = new InputStreamReader(is);
+		BufferedReader		br = new BufferedReader(ir);
+
+		return FORMAT.parse(br);
+	}
+
+	// Slurps comma separated values (CSV), at the specified URL, as a list of
+	// data records, each mapped from a list of strings to an object, such as
+	// by a constructor. Unlike getCSVData(), the file is split into segments
+	// at record boundaries, and the segments are parsed in parallel. Records
+	// are returned in file order. Quoted fields may contain commas, newlines,
+	// and doubled quotes, but unquoted fields must not contain quotes.
+	public static <T> List<T>	getCSVDataParallel(URL url,
+											   Function<List<String>, T> mapper)
+		throws IOException
+	{
+		ArrayList<T>	records = new ArrayList<T>();
+
+		getCSVDataParallel(url, mapper, (part, fraction) ->
+			{
+				records.addAll(part);
+
+				return true;
+			});
+
+		return records;
+	}
+
+	// Parses comma separated values (CSV) at the specified URL in parallel,
+	// as above, but hands the records in each segment to a consumer as soon
+	// as that segment and all of those before it have been parsed, along
+	// with the fraction of the file parsed up to the end of the segment. If
+	// the consumer returns false, the segments not handed over yet are
+	// cancelled and parsing stops. Local files are read in place, a segment
+	// at a time, and other URLs are copied to a temporary file first, so the
+	// file is never held in memory. Only a few segments are parsed ahead of
+	// the one being handed over.
+	public static <T> void	getCSVDataParallel(URL url,
+										   Function<List<String>, T> mapper,
+										   BiPredicate<List<T>, Double> consumer)
+		throws IOException
+	{
+		Path	path = getPath(url);
+		Path	temp = null;
+
+		try
+		{
+			if (path == null)
+			{
+				temp = Files.createTempFile("collection", ".csv");
+
+				try (InputStream is = url.openStream())
+				{
+					Files.copy(is, temp, StandardCopyOption.REPLACE_EXISTING);
+				}
+
+				path = temp;
+			}
+
+			try (FileChannel channel = FileChannel.open(path,
+													StandardOpenOption.READ))
+			{
+				parseCSVParallel(channel, mapper, consumer);
+			}
+		}
+		finally
+		{
+			if (temp != null)
+				Files.deleteIfExists(temp);
+		}
+	}
+
+	private static <T> void	parseCSVParallel(FileChannel channel,
+										 Function<List<String>, T> mapper,
+										 BiPredicate<List<T>, Double> consumer)
+		throws IOException
+	{
+		ForkJoinPool		pool = ForkJoinPool.commonPool();
+		int				parallelism = pool.getParallelism();
+		int				ahead = parallelism + 1;	// Segments parsed at once
+		long				length = channel.size();
+		List<ForkJoinTask<List<T>>>	tasks =
+			new ArrayList<ForkJoinTask<List<T>>>();
+
+		try
+		{
+			long[]	bounds = splitCSVData(channel,
+										  parallelism * SEGMENTS_PER_WORKER);
+			int	n = bounds.length - 1;
+
+			for (int i=0; i<n; i++)
+			{
+				while ((tasks.size() < n) && (tasks.size() < i + ahead))
+				{
+					long	from = bounds[tasks.size()];
+					long	to = bounds[tasks.size() + 1];
+
+					tasks.add(pool.submit(() -> parseCSVSegment(channel, from,
+																 to, mapper)));
+				}
+
+				List<T>	part = tasks.get(i).join();
+				double		fraction = (double)bounds[i + 1] / length;
+
+				tasks.set(i, null);					// Let the segment go
+
+				if (!consumer.test(part, fraction))
+					break;
+			}
+		}
+		catch (RuntimeException ex)
+		{
+			// Segment tasks wrap the parser's IOExceptions
+			for (Throwable t=ex; t!=null; t=t.getCause())
+				if (t instanceof IOException)
+					throw (IOException)t;
+
+			throw ex;
+		}
+		finally
+		{
+			for (ForkJoinTask<List<T>> task : tasks)
+				if (task != null)
+					task.cancel(false);
+		}
+	}
+
+	// Finds the start of every segment, plus the end of the file, so that
+	// each segment begins at a record boundary. Each pass is done in parallel
+	// over count stretches of equal length. The first pass counts the quotes
+	// in each stretch. Whether a stretch starts inside quotes follows from the
+	// number of quotes before it, including doubled quotes, which count as
+	// two. The second pass moves the start of each stretch past the first
+	// newline that isn't inside quotes.
+	private static long[]	splitCSVData(FileChannel channel, int count)
+		throws IOException
+	{
+		long		length = channel.size();
+		long		step = Math.max(1L, (length + count - 1) / count);
+		int		n = (int)((length + step - 1) / step);
+		int[]		quotes = new int[n];
+		long[]		starts = new long[n + 1];
+
+		IntStream.range(0, n).parallel().forEach(i ->
+			quotes[i] = countQuotes(channel, i * step,
+									Math.min(length, (i + 1) * step)));
+
+		boolean[]	quoted = new boolean[n];
+		boolean		inside = false;
+
+		for (int i=0; i<n; i++)
+		{
+			quoted[i] = inside;
+			inside ^= ((quotes[i] & 1) != 0);
+		}
+
+		IntStream.range(1, n).parallel().forEach(i ->
+			starts[i] = findRecordStart(channel, i * step, quoted[i]));
+
+		starts[n] = length;
+
+		// Drop empty segments, such as when a quoted field spans a stretch
+		long[]		bounds = new long[n + 1];
+		int		k = 0;
+
+		bounds[k++] = 0L;
+
+		for (int i=1; i<=n; i++)
+			if (starts[i] > bounds[k - 1])
+				bounds[k++] = starts[i];
+
+		if (bounds[k - 1] != length)
+			bounds[k++] = length;
+
+		return Arrays.copyOf(bounds, k);
+	}
+
+	private static int	countQuotes(FileChannel channel, long from, long to)
+	{
+		ByteBuffer	buffer = ByteBuffer.allocate(BUFFER);
+		int		count = 0;
+
+		for (long p=from; p<to; )
+		{
+			buffer.clear();
+			buffer.limit((int)Math.min(BUFFER, to - p));
+
+			int	k = read(channel, buffer, p);
+
+			if (k < 0)
+				break;
+
+			for (int i=0; i<k; i++)
+				if (buffer.get(i) == '"')
+					count++;
+
+			p += k;
+		}
+
+		return count;
+	}
+
+	// Returns the position after the first newline outside quotes at or after
+	// from, or the length of the file if there isn't one.
+	private static long	findRecordStart(FileChannel channel, long from,
+										boolean quoted)
+	{
+		ByteBuffer	buffer = ByteBuffer.allocate(BUFFER);
+
+		for (long p=from; ; )
+		{
+			buffer.clear();
+
+			int	k = read(channel, buffer, p);
+
+			if (k < 0)
+				return p;
+
+			for (int i=0; i<k; i++)
+			{
+				byte	b = buffer.get(i);
+
+				if (b == '"')
+					quoted = !quoted;
+				else if ((b == '\n') && !quoted)
+					return p + i + 1;
+			}
+
+			p += k;
+		}
+	}
+
+	// Reads from a position in a channel into a buffer, for the passes that
+	// split a file in parallel. Returns -1 at the end of the file.
+	private static int	read(FileChannel channel, ByteBuffer buffer,
+							 long position)
+	{
+		try
+		{
+			return channel.read(buffer, position);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static <T> List<T>	parseCSVSegment(FileChannel channel,
+											long from, long to,
+											Function<List<String>, T> mapper)
+		throws IOException
+	{
+		ArrayList<T>	records = new ArrayList<T>();
+		InputStream	is = new SegmentInputStream(channel, from, to);
+
+		try (CSVParser parser = getCSVParser(is))
+		{
+			for (CSVRecord item : parser)
+				records.add(mapper.apply(item.toList()));
+		}
+
+		return records;
+	}
+
+	// Returns the path of a file URL, or null if the URL isn't a file.
+	private static Path	getPath(URL url)
+	{
+		if (!"file".equals(url.getProtocol()))
+			return null;
+
+		try
+		{
+			return Paths.get(url.toURI());
+		}
+		catch (URISyntaxException | IllegalArgumentException ex)
+		{
+			return null;
+		}
+	}
+
 	// Slurps a comma separated values (CSV) file, at the specified URL, as a
 	// list of data records. Each data record is itself a list of strings. This
 	// version doesn't work when fields contain commas, even if inside quotes.
@@ -252,6 +561,50 @@ public final class Resources
 		}
 		while (line != null);
 	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Reads the bytes of a segment of a file, with positional reads so that
+	// segments can be read by several threads through the same channel.
+	private static final class SegmentInputStream extends InputStream
+	{
+		private final FileChannel	channel;
+		private final long			to;
+		private long				position;
+
+		public SegmentInputStream(FileChannel channel, long from, long to)
+		{
+			this.channel = channel;
+			this.to = to;
+
+			position = from;
+		}
+
+		public int	read()
+			throws IOException
+		{
+			byte[]	b = new byte[1];
+
+			return ((read(b, 0, 1) < 0) ? -1 : (b[0] & 0xFF));
+		}
+
+		public int	read(byte[] b, int off, int len)
+			throws IOException
+		{
+			if (position >= to)
+				return -1;
+
+			int	n = (int)Math.min(len, to - position);
+			int	k = channel.read(ByteBuffer.wrap(b, off, n), position);
+
+			if (k > 0)
+				position += k;
+
+			return k;
+		}
+	}
 }
 
 //******************************************************************************